@@ -0,0 +1,71 @@
+import java.time.Duration;
+
+// Entscheidet nach jeder Generation, ob die Suche beendet wird.
+// Die Suche liefert dann die besten bis dahin gefundenen Stellen.
+// Unabhängig davon endet die Suche immer spätestens nach BAParameter.t Generationen.
+@FunctionalInterface
+public interface Abbruchkriterium {
+
+    // true, wenn die Suche im übergebenen Stand beendet werden soll
+    boolean erreicht(Suchstand stand);
+
+    // Beendet, wenn dieses oder das andere Kriterium erreicht ist
+    default Abbruchkriterium oder(Abbruchkriterium anderes) {
+        return stand -> erreicht(stand) || anderes.erreicht(stand);
+    }
+
+    // Beendet, wenn dieses und das andere Kriterium erreicht sind
+    default Abbruchkriterium und(Abbruchkriterium anderes) {
+        return stand -> erreicht(stand) && anderes.erreicht(stand);
+    }
+
+    // Dasselbe Kriterium für den Bruchteil anteil eines Budgets: Generationen, Auswertungen und Laufzeit zählen
+    // 1/anteil-fach (z.B. endet bewertungen(1000).anteil(0.25) nach 250 Auswertungen)
+    default Abbruchkriterium anteil(double anteil) {
+        if (!(anteil > 0.0 && anteil <= 1.0))
+            throw new IllegalArgumentException("Der Anteil des Budgets muss größer 0 und höchstens 1 sein!");
+        if (anteil == 1.0)
+            return this;
+        return stand -> erreicht(new Suchstand((int) (stand.generation() / anteil), (long) (stand.bewertungen() / anteil),
+                stand.besterWert(), stand.stagnation(), (long) (stand.laufzeitNanos() / anteil)));
+    }
+
+    // Nach t Generationen
+    static Abbruchkriterium generationen(int t) {
+        if (t <= 0)
+            throw new IllegalArgumentException("Die Anzahl der Generationen muss größer 0 sein!");
+        return stand -> stand.generation() >= t;
+    }
+
+    // Wenn sich der beste Wert k Generationen lang nicht verbessert hat (Konvergenz).
+    // Bei verrauschter Zielfunktion zählt auch eine einzelne, zufällig günstige Messung als Verbesserung
+    static Abbruchkriterium stagnation(int k) {
+        if (k <= 0)
+            throw new IllegalArgumentException("Die Anzahl der Generationen ohne Verbesserung muss größer 0 sein!");
+        return stand -> stand.stagnation() >= k;
+    }
+
+    // Wenn f mindestens max-mal ausgewertet wurde (Budget; die laufende Generation wird noch fertig berechnet).
+    // Treffer im Bewertungscache und übersprungene Gitterpunkte zählen nicht
+    static Abbruchkriterium bewertungen(long max) {
+        if (max <= 0)
+            throw new IllegalArgumentException("Die maximale Anzahl an Auswertungen muss größer 0 sein!");
+        return stand -> stand.bewertungen() >= max;
+    }
+
+    // Wenn der beste Wert mindestens so gut wie ziel ist (bezüglich der Vergleichsfunktion c der Suche).
+    // Bei verrauschter Zielfunktion kann das eine einzelne, zufällig günstige Messung sein
+    static Abbruchkriterium zielwert(double ziel, Vergleichsfunktion c) {
+        if (c == null)
+            throw new IllegalArgumentException("Die Vergleichsfunktion darf nicht null sein!");
+        return stand -> Funktionen.vergleiche(c, stand.besterWert(), ziel) < 0;
+    }
+
+    // Wenn die Frist seit Start der Suche abgelaufen ist (anytime: geprüft wird jeweils nach einer Generation)
+    static Abbruchkriterium frist(Duration frist) {
+        if (frist == null || frist.isNegative() || frist.isZero())
+            throw new IllegalArgumentException("Die Frist muss größer 0 sein!");
+        final long nanos = frist.toNanos();
+        return stand -> stand.laufzeitNanos() >= nanos;
+    }
+}
@@ -0,0 +1,254 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+
+// Automatische Abstimmung der Steuergrößen n, m, e, p, q, s des BeesAlgorithm für ein Budget pro Suchlauf
+// (z.B. Abbruchkriterium.bewertungen(20_000) oder Abbruchkriterium.frist(...)).
+// Kandidaten: die Konfiguration der übergebenen Parameter und weitere, über eine Sobol-Folge im Suchraum der
+// Steuergrößen verteilte Konfigurationen (n, p und s logarithmisch, m, e und q relative zu n, m und p).
+// Auswahl durch sukzessives Halbieren (successive halving, racing): in jeder Runde führen die verbliebenen
+// Kandidaten doppelt so viele Suchläufe wie in der Runde zuvor aus, jeweils mit dem doppelten Anteil des Budgets
+// (budget / 2^(Runden - i) in Runde i, die letzte Runde mit den beiden Finalisten mit dem vollen Budget).
+// Die Suchläufe einer Runde werden pro Wiederholung nach dem besten gefundenen Wert (über c) geordnet, die Hälfte
+// mit der kleinsten Rangsumme kommt weiter. Runde i kostet so etwa 2^(i+1) Suchläufe mit vollem Budget,
+// insgesamt etwa 2 kandidaten.
+// Bewertet werden Ränge statt Werte, weil c nur eine Ordnung festlegt (z.B. Nähe zu 0).
+// Das Gesamtbudget beendet das Rennen vorzeitig: es wird vor jedem Suchlauf auf dem Stand der Abstimmung geprüft
+// (generation = Anzahl der Suchläufe, bewertungen = Auswertungen aller Suchläufe, besterWert = bester Wert aller
+// Suchläufe, stagnation = Suchläufe seit der letzten Verbesserung, laufzeitNanos = Dauer der Abstimmung).
+// Gewinner ist dann der beste Kandidat nach den bis dahin vollständigen Wiederholungen der laufenden Runde.
+// Die Suchläufe der Abstimmung verwenden weder Cache noch Archiv der Optionen, damit sie unabhängig bleiben, und
+// werden nicht verfeinert; t begrenzt weiterhin die Generationen und sollte so groß gewählt werden, dass das
+// Budget greift.
+public final class Abstimmung {
+
+    // Suchraum der Steuergrößen
+    private static final int N_MIN = 8, N_MAX = 200;
+    private static final int P_MIN = 2, P_MAX = 60;
+    private static final double S_MIN = 1e-3, S_MAX = 0.3;
+    private static final double ANTEIL_M_MIN = 0.05, ANTEIL_M_MAX = 0.6; // m relativ zu n
+
+    private static final String ENDUNG = ".batuning";
+
+    private Abstimmung() {}
+
+    // Die Konfiguration mit der besten Qualität nach einem Suchlauf mit budget, ausgewählt unter kandidaten
+    // Kandidaten (einschließlich der Konfiguration von parameter), höchstens bis das Gesamtbudget erreicht ist
+    public static BAKonfiguration abstimme(BAParameter parameter, Abbruchkriterium budget, int kandidaten,
+                                           Abbruchkriterium gesamt) {
+        if (budget == null)
+            throw new IllegalArgumentException("Das Budget eines Suchlaufs darf nicht null sein!");
+        if (gesamt == null)
+            throw new IllegalArgumentException("Das Gesamtbudget der Abstimmung darf nicht null sein!");
+        if (kandidaten < 2)
+            throw new IllegalArgumentException("Die Anzahl der Kandidaten muss mindestens 2 sein!");
+
+        final List<BAKonfiguration> konfigurationen = kandidaten(parameter, kandidaten, new SplittableRandom());
+        final Verbrauch verbrauch = new Verbrauch(parameter.c());
+        final int runden = 32 - Integer.numberOfLeadingZeros(kandidaten - 1); // Halbierungen bis zum Gewinner
+
+        int[] aktiv = new int[kandidaten];
+        Arrays.setAll(aktiv, i -> i);
+        int wiederholungen = 1;
+        for (int runde = 0; aktiv.length > 1; runde++, wiederholungen *= 2) {
+            final BAParameter basis = parameter.mit(ohneGedaechtnis(parameter.optionen(),
+                    budget.anteil(Math.scalb(1.0, runde - runden + 1))));
+
+            // Suchläufe reihum pro Wiederholung, damit beim Erreichen des Gesamtbudgets möglichst viele
+            // Wiederholungen für alle verbliebenen Kandidaten vollständig sind
+            final double[][] ergebnisse = new double[wiederholungen][aktiv.length];
+            int vollstaendig = 0;
+            boolean erschoepft = false;
+            while (vollstaendig < wiederholungen && !erschoepft) {
+                for (int i = 0; i < aktiv.length && !erschoepft; i++) {
+                    erschoepft = gesamt.erreicht(verbrauch.stand());
+                    if (!erschoepft)
+                        ergebnisse[vollstaendig][i] = verbrauch.verbuche(lauf(basis.mit(konfigurationen.get(aktiv[i]))));
+                }
+                if (!erschoepft)
+                    vollstaendig++;
+            }
+
+            // ohne vollständige Wiederholung gilt die Reihenfolge der vorigen Runde (bester Kandidat vorne)
+            if (vollstaendig == 0)
+                return konfigurationen.get(aktiv[0]);
+
+            // nach Rangsumme ordnen (bei Gleichstand der frühere Kandidat) und die bessere Hälfte behalten
+            final double[] rangsummen = rangsummen(ergebnisse, vollstaendig, parameter.c());
+            final int[] reihenfolge = aktiv;
+            Integer[] position = new Integer[aktiv.length];
+            Arrays.setAll(position, i -> i);
+            Arrays.sort(position, (a, b) -> Double.compare(rangsummen[a], rangsummen[b]));
+            aktiv = Arrays.stream(position).limit(erschoepft ? 1 : (aktiv.length + 1) / 2)
+                    .mapToInt(i -> reihenfolge[i]).toArray();
+        }
+        return konfigurationen.get(aktiv[0]);
+    }
+
+    // Wie oben, merkt sich das Ergebnis aber pro Familie von Zielfunktionen (Kennung) in der Datei
+    // <familie>.batuning im verzeichnis; ein späterer Aufruf mit derselben Familie überspringt die Abstimmung.
+    // Die Kennung sollte daher alles enthalten, was die Wahl beeinflusst (Funktion, Dimension, Budget).
+    public static BAKonfiguration abstimme(BAParameter parameter, Abbruchkriterium budget, int kandidaten,
+                                           Abbruchkriterium gesamt, Path verzeichnis, String familie) throws IOException {
+        if (familie == null || !familie.matches("[A-Za-z0-9._-]+"))
+            throw new IllegalArgumentException("Die Kennung der Familie darf nur aus Buchstaben, Ziffern, '.', '_' und '-' bestehen!");
+
+        Path datei = verzeichnis.resolve(familie + ENDUNG);
+        if (Files.exists(datei))
+            return lies(datei, parameter.w().length);
+
+        BAKonfiguration konfiguration = abstimme(parameter, budget, kandidaten, gesamt);
+        schreibe(verzeichnis, datei, konfiguration, parameter.w().length);
+        return konfiguration;
+    }
+
+    // Ein Suchlauf des BeesAlgorithm ohne Verfeinerung (im ForkJoinPool der Optionen, falls parallel);
+    // liefert den Stand am Ende mit dem Wert der besten Stelle als besterWert
+    private static Suchstand lauf(BAParameter parameter) {
+        if (parameter.optionen().istParallel())
+            return parameter.optionen().pool().invoke(ForkJoinTask.adapt(() -> sequentiellerLauf(parameter)));
+        return sequentiellerLauf(parameter);
+    }
+
+    private static Suchstand sequentiellerLauf(BAParameter parameter) {
+        Suchlauf lauf = new Suchlauf(parameter);
+        while (!lauf.istBeendet())
+            lauf.schritt();
+        Suchstand stand = lauf.suchstand();
+        return new Suchstand(stand.generation(), stand.bewertungen(), lauf.ergebnis(1).get(0).wert(),
+                stand.stagnation(), stand.laufzeitNanos());
+    }
+
+    // Rangsumme pro aktivem Kandidaten über die ersten wiederholungen Zeilen (gleiche Werte: mittlerer Rang)
+    private static double[] rangsummen(double[][] ergebnisse, int wiederholungen, Vergleichsfunktion c) {
+        final int anzahl = ergebnisse[0].length;
+        final double[] summen = new double[anzahl];
+        final Integer[] rang = new Integer[anzahl];
+        for (int j = 0; j < wiederholungen; j++) {
+            final double[] werte = ergebnisse[j];
+            Arrays.setAll(rang, i -> i);
+            Arrays.sort(rang, (a, b) -> werte[a] == werte[b] ? 0 : Funktionen.vergleiche(c, werte[a], werte[b]));
+            for (int i = 0; i < anzahl; ) {
+                int bis = i + 1;
+                while (bis < anzahl && werte[rang[bis]] == werte[rang[i]])
+                    bis++;
+                double mittlererRang = (i + bis - 1) / 2.0;
+                for (int k = i; k < bis; k++)
+                    summen[rang[k]] += mittlererRang;
+                i = bis;
+            }
+        }
+        return summen;
+    }
+
+    // Verbrauch der Abstimmung über alle Suchläufe (Grundlage für das Gesamtbudget)
+    private static final class Verbrauch {
+        private final Vergleichsfunktion c;
+        private final long startNanos = System.nanoTime();
+        private int laeufe;
+        private long bewertungen;
+        private double besterWert = Double.NaN;
+        private int stagnation;
+
+        Verbrauch(Vergleichsfunktion c) {
+            this.c = c;
+        }
+
+        // Verbucht einen Suchlauf und gibt seinen Wert zurück
+        double verbuche(Suchstand lauf) {
+            laeufe++;
+            bewertungen += lauf.bewertungen();
+            if (Funktionen.vergleiche(c, lauf.besterWert(), besterWert) < 0) {
+                besterWert = lauf.besterWert();
+                stagnation = 0;
+            } else {
+                stagnation++;
+            }
+            return lauf.besterWert();
+        }
+
+        Suchstand stand() {
+            return new Suchstand(laeufe, bewertungen, besterWert, stagnation, System.nanoTime() - startNanos);
+        }
+    }
+
+    // Die Konfiguration von parameter und anzahl - 1 über den Suchraum verteilte Konfigurationen
+    private static List<BAKonfiguration> kandidaten(BAParameter parameter, int anzahl, SplittableRandom zufall) {
+        List<BAKonfiguration> kandidaten = new ArrayList<>(anzahl);
+        kandidaten.add(BAKonfiguration.von(parameter));
+
+        final int dim = 6;
+        final double[] u = new double[dim * (anzahl - 1)];
+        Punktgenerator.sobol().folge(dim, zufall).naechste(u, anzahl - 1);
+        final double[] x = new double[dim];
+        for (int i = 0; i < anzahl - 1; i++) {
+            for (int d = 0; d < dim; d++)
+                x[d] = u[d * (anzahl - 1) + i];
+            int n = (int) Math.round(logarithmisch(x[0], N_MIN, N_MAX));
+            int m = Math.max(1, Math.min(n - 1,
+                    (int) Math.round(n * (ANTEIL_M_MIN + x[1] * (ANTEIL_M_MAX - ANTEIL_M_MIN)))));
+            int e = Math.min(m - 1, (int) (x[2] * m));
+            int p = (int) Math.round(logarithmisch(x[3], P_MIN, P_MAX));
+            int q = Math.max(1, Math.min(p - 1, (int) Math.round(x[4] * p)));
+            double s = logarithmisch(x[5], S_MIN, S_MAX);
+            kandidaten.add(new BAKonfiguration(n, m, e, p, q, s));
+        }
+        return kandidaten;
+    }
+
+    private static double logarithmisch(double u, double min, double max) {
+        return min * Math.pow(max / min, u);
+    }
+
+    // Optionen der Suchläufe: budget als (zusätzliches) Abbruchkriterium, ohne Cache, Archiv und Warmstart
+    private static BAOptionen ohneGedaechtnis(BAOptionen o, Abbruchkriterium budget) {
+        Abbruchkriterium abbruch = o.abbruch() == null ? budget : budget.oder(o.abbruch());
+        return o.ohneGedaechtnis().abbruch(abbruch);
+    }
+
+    private static BAKonfiguration lies(Path datei, int dim) throws IOException {
+        Properties werte = new Properties();
+        try (Reader leser = Files.newBufferedReader(datei, StandardCharsets.UTF_8)) {
+            werte.load(leser);
+        }
+        try {
+            if (Integer.parseInt(werte.getProperty("dim")) != dim)
+                throw new IllegalArgumentException("Die Abstimmung " + datei + " gilt für " + werte.getProperty("dim")
+                        + " statt " + dim + " Argumente!");
+            return new BAKonfiguration(Integer.parseInt(werte.getProperty("n")), Integer.parseInt(werte.getProperty("m")),
+                    Integer.parseInt(werte.getProperty("e")), Integer.parseInt(werte.getProperty("p")),
+                    Integer.parseInt(werte.getProperty("q")), Double.parseDouble(werte.getProperty("s")));
+        } catch (NullPointerException | NumberFormatException ex) {
+            throw new IOException(datei + " ist keine gültige Abstimmung!", ex);
+        }
+    }
+
+    // Schreibt zuerst eine temporäre Datei und benennt sie dann um (kein halb geschriebenes Ergebnis)
+    private static void schreibe(Path verzeichnis, Path datei, BAKonfiguration k, int dim) throws IOException {
+        Properties werte = new Properties();
+        werte.setProperty("dim", Integer.toString(dim));
+        werte.setProperty("n", Integer.toString(k.n()));
+        werte.setProperty("m", Integer.toString(k.m()));
+        werte.setProperty("e", Integer.toString(k.e()));
+        werte.setProperty("p", Integer.toString(k.p()));
+        werte.setProperty("q", Integer.toString(k.q()));
+        werte.setProperty("s", Double.toString(k.s()));
+
+        Files.createDirectories(verzeichnis);
+        Path temporaer = Files.createTempFile(verzeichnis, datei.getFileName().toString(), ".tmp");
+        try (Writer schreiber = Files.newBufferedWriter(temporaer, StandardCharsets.UTF_8)) {
+            werte.store(schreiber, "Abstimmung des BeesAlgorithm");
+        }
+        Files.move(temporaer, datei, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
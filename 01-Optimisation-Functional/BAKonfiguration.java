@@ -0,0 +1,35 @@
+// Die Steuergrößen des BeesAlgorithm (n, m, e, p, q, s), z.B. als Ergebnis der Abstimmung.
+// Es gelten dieselben Bedingungen wie in BAParameter.
+public record BAKonfiguration(int n, // Anzahl der Kundschafterinnen
+                              int m, // Anzahl der Felder, die (weiter) untersucht werden
+                              int e, // Anzahl exzellenter Felder
+                              int p, // Anzahl der für ein exzellentes Feld rekrutierten Bienen
+                              int q, // Anzahl der für ein anderes Feld rekrutierten Bienen
+                              double s) { // Größe der Felder relativ zum untersuchten Bereich
+
+    // Validierung
+    public BAKonfiguration {
+        pruefe(n, m, e, p, q, s);
+    }
+
+    // Prüft die Steuergrößen (auch für BAParameter, damit die Bedingungen nur hier stehen)
+    static void pruefe(int n, int m, int e, int p, int q, double s) {
+        if (n < 0)
+            throw new IllegalArgumentException("Die Anzahl der Kundschafterinnen darf nicht kleiner 0 sein!");
+        if (m < 0 || m >= n)
+            throw new IllegalArgumentException("Die Anzahl der Felder, die (weiter) untersucht werden muss mindestens 0 und < n sein!");
+        if (e < 0 || e >= m)
+            throw new IllegalArgumentException("Die Anzahl der exzellenten Felder muss mindestens 0 und < m sein!");
+        if (p < 0)
+            throw new IllegalArgumentException("Die Anzahl der für ein exzellentes Feld rekrutierten Bienen darf nicht kleiner 0 sein!");
+        if (q < 0 || q >= p)
+            throw new IllegalArgumentException("Die Anzahl der für ein anderes Feld rekrutierten Bienen muss mindestens 0 und < p sein!");
+        if (s <= 0.0 || s > 1)
+            throw new IllegalArgumentException("Die Größe der Felder relativ zum untersuchten Bereich muss größer 0 und <= 1 sein!");
+    }
+
+    // Die Konfiguration der übergebenen Parameter
+    public static BAKonfiguration von(BAParameter parameter) {
+        return new BAKonfiguration(parameter.n(), parameter.m(), parameter.e(), parameter.p(), parameter.q(), parameter.s());
+    }
+}
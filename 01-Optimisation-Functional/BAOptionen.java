@@ -0,0 +1,155 @@
+import java.util.concurrent.ForkJoinPool;
+
+// Bündelt optionale Einstellungen des BeesAlgorithm.
+// Alle Optionen sind standardmäßig deaktiviert (STANDARD), sodass sich der Algorithmus wie ursprünglich verhält.
+// Einzelne Optionen werden über die Methoden unten gesetzt, die jeweils eine neue (unveränderliche) Instanz liefern.
+public record BAOptionen(ForkJoinPool pool, // ForkJoinPool für den parallelen Modus, null = sequentiell
+                         Bewertungscache cache, // Cache für die lokale Suche, null = kein Cache
+                         Abbruchkriterium abbruch, // zusätzliches Abbruchkriterium, null = nur nach t Generationen
+                         double schrumpfung, // Faktor, um den ein Feld ohne Verbesserung schrumpft, 1 = keine Schrumpfung
+                         int aufgabeNach, // Generationen ohne Verbesserung, nach denen ein Feld aufgegeben wird, 0 = nie
+                         Punktgenerator punktgenerator, // Verteilung der Kundschafterinnen, null = gleichverteilt zufällig
+                         double mindestabstand, // relativer Mindestabstand der Felder, 0 = Felder dürfen sich überlappen
+                         Surrogat surrogat, // Vorauswahl der Kandidaten über ein Ersatzmodell, null = keine
+                         Bewertungsarchiv archiv, // Archiv aller Auswertungen, null = kein Archiv
+                         double warmstart, // Anteil der Startpopulation aus dem Archiv, 0 = kein Warmstart
+                         Verfeinerung verfeinerung, // Nachpolieren der Ergebnisse, null = keine Verfeinerung
+                         int teilraum, // Koordinaten, die eine rekrutierte Biene ändert, 0 = alle
+                         Rauschen rauschen) { // Racing für verrauschte Zielfunktionen, null = eine Auswertung genügt
+
+    // Validierung
+    public BAOptionen {
+        if (!(schrumpfung > 0.0 && schrumpfung <= 1.0))
+            throw new IllegalArgumentException("Der Schrumpfungsfaktor der Felder muss größer 0 und <= 1 sein!");
+        if (aufgabeNach < 0)
+            throw new IllegalArgumentException("Die Anzahl der Generationen bis zur Aufgabe eines Feldes darf nicht kleiner 0 sein!");
+        if (!(mindestabstand >= 0.0 && mindestabstand < 1.0))
+            throw new IllegalArgumentException("Der Mindestabstand der Felder muss >= 0 und kleiner 1 sein!");
+        if (!(warmstart >= 0.0 && warmstart <= 1.0))
+            throw new IllegalArgumentException("Der Anteil des Warmstarts muss zwischen 0 und 1 liegen!");
+        if (warmstart > 0.0 && archiv == null)
+            throw new IllegalArgumentException("Für einen Warmstart wird ein Archiv benötigt!");
+        if (teilraum < 0)
+            throw new IllegalArgumentException("Die Anzahl der Koordinaten der Teilraum-Suche darf nicht kleiner 0 sein!");
+    }
+
+    // Keine Option aktiv
+    public static final BAOptionen STANDARD = new BAOptionen(null, null, null, 1.0, 0, null, 0.0, null, null, 0.0, null, 0, null);
+
+    // Paralleler Modus auf dem gemeinsamen ForkJoinPool
+    public BAOptionen parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    // Paralleler Modus auf dem übergebenen ForkJoinPool
+    public BAOptionen parallel(ForkJoinPool pool) {
+        if (pool == null)
+            throw new IllegalArgumentException("Der ForkJoinPool für den parallelen Modus darf nicht null sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand, surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Lokale Suche wertet f über den übergebenen Cache aus
+    public BAOptionen cache(Bewertungscache cache) {
+        if (cache == null)
+            throw new IllegalArgumentException("Der Cache darf nicht null sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand, surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Suche endet zusätzlich (vor Ablauf der t Generationen), sobald das Kriterium erreicht ist
+    public BAOptionen abbruch(Abbruchkriterium abbruch) {
+        if (abbruch == null)
+            throw new IllegalArgumentException("Das Abbruchkriterium darf nicht null sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand, surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Felder ohne Verbesserung schrumpfen um faktor (z.B. 0.8) pro Generation (neighbourhood shrinking)
+    public BAOptionen schrumpfung(double faktor) {
+        return new BAOptionen(pool, cache, abbruch, faktor, aufgabeNach, punktgenerator, mindestabstand, surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Felder werden nach generationen Generationen ohne Verbesserung aufgegeben (site abandonment)
+    public BAOptionen aufgabe(int generationen) {
+        if (generationen <= 0)
+            throw new IllegalArgumentException("Die Anzahl der Generationen bis zur Aufgabe eines Feldes muss größer 0 sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, generationen, punktgenerator, mindestabstand, surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Kundschafterinnen werden nach dem übergebenen Generator verteilt (z.B. Punktgenerator.sobol())
+    public BAOptionen punktgenerator(Punktgenerator punktgenerator) {
+        if (punktgenerator == null)
+            throw new IllegalArgumentException("Der Punktgenerator darf nicht null sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand, surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Felder, deren Zentren in jeder Dimension näher als abstand (relativ zur Breite des Suchbereichs, z.B. 0.01)
+    // beieinanderliegen, werden zusammengelegt: nur das bessere Feld wird durchsucht, die frei gewordenen Bienen
+    // gehen an das nächste davon verschiedene Feld bzw. an Kundschafterinnen
+    public BAOptionen mindestabstand(double abstand) {
+        if (!(abstand > 0.0))
+            throw new IllegalArgumentException("Der Mindestabstand der Felder muss größer 0 sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, abstand, surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Nur die nach dem Surrogat vielversprechendsten Kandidaten werden ausgewertet (für teure Zielfunktionen)
+    public BAOptionen surrogat(Surrogat surrogat) {
+        if (surrogat == null)
+            throw new IllegalArgumentException("Das Surrogat darf nicht null sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand, surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Jede Auswertung von f wird im Archiv abgelegt
+    public BAOptionen archiv(Bewertungsarchiv archiv) {
+        if (archiv == null)
+            throw new IllegalArgumentException("Das Archiv darf nicht null sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand, surrogat, archiv, 0.0, verfeinerung, teilraum, rauschen);
+    }
+
+    // Wie archiv(archiv), zusätzlich wird der Anteil warmstart der Startpopulation mit den besten, voneinander
+    // verschiedenen Stellen des Archivs vorbelegt (Warmstart, z.B. für erneute Optimierung sich langsam
+    // ändernder Zielfunktionen); die übrigen Stellen sind wie gewohnt Kundschafterinnen
+    public BAOptionen archiv(Bewertungsarchiv archiv, double warmstart) {
+        if (archiv == null)
+            throw new IllegalArgumentException("Das Archiv darf nicht null sein!");
+        if (!(warmstart > 0.0))
+            throw new IllegalArgumentException("Der Anteil des Warmstarts muss größer 0 sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand, surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Die r Ergebnisse werden abschließend lokal verfeinert (z.B. Verfeinerung.nelderMead(200, 1e-12))
+    public BAOptionen verfeinerung(Verfeinerung verfeinerung) {
+        if (verfeinerung == null)
+            throw new IllegalArgumentException("Die Verfeinerung darf nicht null sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand,
+                surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Rekrutierte Bienen ändern nur k zufällig gewählte Koordinaten des Zentrums statt aller (Teilraum-Suche,
+    // für hochdimensionale Suchbereiche); ist f eine DeltaZielfunktion, wird jeder Zug inkrementell ausgewertet.
+    // Ein Surrogat wird in der Teilraum-Suche nicht verwendet; ist k >= dim, wird wie gewohnt gesucht
+    public BAOptionen teilraum(int k) {
+        if (k <= 0)
+            throw new IllegalArgumentException("Die Anzahl der Koordinaten der Teilraum-Suche muss größer 0 sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand,
+                surrogat, archiv, warmstart, verfeinerung, k, rauschen);
+    }
+
+    // Für verrauschte Zielfunktionen: Stellen nahe den Auswahlgrenzen werden nachgemessen, bis ihr Rang gesichert ist
+    // (z.B. new Rauschen(2.0, 10, 50), siehe Rauschen)
+    public BAOptionen rauschen(Rauschen rauschen) {
+        if (rauschen == null)
+            throw new IllegalArgumentException("Die Einstellungen für das Rauschen dürfen nicht null sein!");
+        return new BAOptionen(pool, cache, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand,
+                surrogat, archiv, warmstart, verfeinerung, teilraum, rauschen);
+    }
+
+    // Kopie ohne Cache, Archiv und Warmstart (z.B. für unabhängige Probeläufe in Abstimmung.abstimme)
+    public BAOptionen ohneGedaechtnis() {
+        return new BAOptionen(pool, null, abbruch, schrumpfung, aufgabeNach, punktgenerator, mindestabstand,
+                surrogat, null, 0.0, verfeinerung, teilraum, rauschen);
+    }
+
+    // Wird parallel gesucht?
+    public boolean istParallel() {
+        return pool != null;
+    }
+}
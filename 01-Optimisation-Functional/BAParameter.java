@@ -2,9 +2,9 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 // Bündelt alle Parameter des BeesAlgorithm
-public record BAParameter(Function<double[],Double> f, // Die zu untersuchende Funktion,
+public record BAParameter(Zielfunktion f, // Die zu untersuchende Funktion,
                           double[][] w, // Die zu untersuchenden Wertebereiche (Grenzen) aller Argumente
-                          BiFunction<Double, Double, Double> c, // Vergleichsfunktion, die die bessere von zwei Zahlen ermittelt
+                          Vergleichsfunktion c, // Vergleichsfunktion, die die bessere von zwei Zahlen ermittelt
                           // Anmerkung: implizit geht aus der Aufgabenstellung sowie der originalen Definition von BeesAlgorithms hervor,
                           // dass c auf einer totalen Ordnung basiert.
                           // Andernfalls wäre es nicht möglich, die e "besten" Felder o.ä. zu wählen.
@@ -15,7 +15,9 @@ public record BAParameter(Function<double[],Double> f, // Die zu untersuchende F
                           int p, // Anzahl der für ein exzellentes Feld rekrutierten Bienen
                           int q, // Anzahl der für ein anderes Feld rekrutierten Bienen
                           double s, // Größe der Felder relativ zum untersuchten Bereich
-                          int r) { // Anzahl der am Ende zurückzugebenden besten gefundenen Stellen
+                          int r, // Anzahl der am Ende zurückzugebenden besten gefundenen Stellen
+                          BAOptionen optionen, // Optionale Einstellungen (z.B. paralleler Modus)
+                          Domaene[] domaenen) { // Wertebereich pro Argument (z.B. ganzzahlig), null = alle kontinuierlich
 
     // Konstruktor
     public BAParameter {
@@ -28,19 +30,100 @@ public record BAParameter(Function<double[],Double> f, // Die zu untersuchende F
             throw new IllegalArgumentException("Die Vergleichsfunktion darf nicht null sein!");
         if (t <= 0)
             throw new IllegalArgumentException("Die Anzahl der Suchschritte nach denen abgebrochen wird muss größer 0 sein!");
-        if (n < 0)
-            throw new IllegalArgumentException("Die Anzahl der Kundschafterinnen darf nicht kleiner 0 sein!");
-        if (m < 0 || m >= n)
-            throw new IllegalArgumentException("Die Anzahl der Felder, die (weiter) untersucht werden muss mindestens 0 und < n sein!");
-        if (e < 0 || e >= m)
-            throw new IllegalArgumentException("Die Anzahl der exzellenten Felder muss mindestens 0 und < m sein!");
-        if (p < 0)
-            throw new IllegalArgumentException("Die Anzahl der für ein exzellentes Feld rekrutierten Bienen darf nicht kleiner 0 sein!");
-        if (q < 0 || q >= p)
-            throw new IllegalArgumentException("Die Anzahl der für ein anderes Feld rekrutierten Bienen muss mindestens 0 und < p sein!");
-        if (s <= 0.0 || s > 1)
-            throw new IllegalArgumentException("Die Größe der Felder relativ zum untersuchten Bereich muss größer 0 und <= 1 sein!");
+        BAKonfiguration.pruefe(n, m, e, p, q, s);
         if (r <= 0)
             throw new IllegalArgumentException("Die Anzahl der am Ende zurückzugebenden besten gefundenen Stellen muss größer 0 sein!");
+        if (optionen == null)
+            throw new IllegalArgumentException("Die Optionen dürfen nicht null sein (BAOptionen.STANDARD verwenden)!");
+        if (optionen.rauschen() != null && Orientierung.erkenne(c) == Orientierung.UNBEKANNT)
+            throw new IllegalArgumentException("Rauschen setzt eine Vergleichsfunktion bekannter Orientierung voraus "
+                    + "(Vergleichsfunktion.MINIMUM, MAXIMUM oder BETRAG)!");
+        if (domaenen != null) {
+            if (domaenen.length != w.length)
+                throw new IllegalArgumentException("Es muss für jedes Argument genau einen Wertebereich geben!");
+            for (int d = 0; d < domaenen.length; d++) {
+                if (domaenen[d] == null)
+                    throw new IllegalArgumentException("Der Wertebereich eines Arguments darf nicht null sein!");
+                if (!domaenen[d].enthaeltPunkt(w[d][0], w[d][1]))
+                    throw new IllegalArgumentException("Die Grenzen eines Arguments enthalten keinen Punkt seines Wertebereichs!");
+            }
+            if (optionen.verfeinerung() != null && !istKontinuierlich(domaenen))
+                throw new IllegalArgumentException("Die Verfeinerung setzt kontinuierliche Wertebereiche voraus!");
+        }
+        // Züge einer DeltaZielfunktion werden direkt über f bewertet, an Cache, Archiv und Gittermenge vorbei
+        if (f instanceof DeltaZielfunktion && optionen.teilraum() > 0) {
+            String umgangen = optionen.cache() != null ? "den Bewertungscache"
+                    : optionen.archiv() != null ? "das Bewertungsarchiv"
+                    : domaenen != null && istDiskret(domaenen) ? "die Menge der bewerteten Gitterpunkte" : null;
+            if (umgangen != null)
+                throw new IllegalArgumentException("Die Teilraum-Suche bewertet die Züge einer DeltaZielfunktion ohne "
+                        + umgangen + " (Option weglassen oder f als gewöhnliche Zielfunktion übergeben)!");
+        }
+    }
+
+    // Konstruktor mit Optionen, alle Argumente kontinuierlich
+    public BAParameter(Zielfunktion f, double[][] w, Vergleichsfunktion c,
+                       int t, int n, int m, int e, int p, int q, double s, int r, BAOptionen optionen) {
+        this(f, w, c, t, n, m, e, p, q, s, r, optionen, null);
+    }
+
+    // Konstruktor ohne Optionen (alle Optionen deaktiviert)
+    public BAParameter(Zielfunktion f, double[][] w, Vergleichsfunktion c,
+                       int t, int n, int m, int e, int p, int q, double s, int r) {
+        this(f, w, c, t, n, m, e, p, q, s, r, BAOptionen.STANDARD);
+    }
+
+    // Kopie mit anderen Optionen
+    public BAParameter mit(BAOptionen optionen) {
+        return new BAParameter(f, w, c, t, n, m, e, p, q, s, r, optionen, domaenen);
+    }
+
+    // Kopie mit anderen Steuergrößen n, m, e, p, q, s (z.B. aus Abstimmung.abstimme)
+    public BAParameter mit(BAKonfiguration k) {
+        if (k == null)
+            throw new IllegalArgumentException("Die Konfiguration darf nicht null sein!");
+        return new BAParameter(f, w, c, t, k.n(), k.m(), k.e(), k.p(), k.q(), k.s(), r, optionen, domaenen);
+    }
+
+    // Kopie mit einem Wertebereich pro Argument (z.B. Domaene.ganzzahlig() für ganzzahlige Parameter)
+    public BAParameter mit(Domaene... domaenen) {
+        if (domaenen == null)
+            throw new IllegalArgumentException("Die Wertebereiche dürfen nicht null sein!");
+        return new BAParameter(f, w, c, t, n, m, e, p, q, s, r, optionen, domaenen.clone());
+    }
+
+    // Wertebereich von Argument d
+    public Domaene domaene(int d) {
+        return domaenen == null ? Domaene.KONTINUIERLICH : domaenen[d];
+    }
+
+    // Sind alle Argumente kontinuierlich?
+    public boolean istKontinuierlich() {
+        return domaenen == null || istKontinuierlich(domaenen);
+    }
+
+    // Sind alle Argumente diskret (auf einem Gitter)?
+    public boolean istDiskret() {
+        return domaenen != null && istDiskret(domaenen);
+    }
+
+    private static boolean istDiskret(Domaene[] domaenen) {
+        for (Domaene domaene : domaenen)
+            if (domaene.istKontinuierlich())
+                return false;
+        return true;
+    }
+
+    private static boolean istKontinuierlich(Domaene[] domaenen) {
+        for (Domaene domaene : domaenen)
+            if (!domaene.istKontinuierlich())
+                return false;
+        return true;
+    }
+
+    // Adapter für die alten, geboxten Signaturen von f (Function) und c (BiFunction)
+    public static BAParameter vonBoxed(Function<double[], Double> f, double[][] w, BiFunction<Double, Double, Double> c,
+                                       int t, int n, int m, int e, int p, int q, double s, int r) {
+        return new BAParameter(Zielfunktion.von(f), w, Vergleichsfunktion.von(c), t, n, m, e, p, q, s, r);
     }
 }
\ No newline at end of file
@@ -0,0 +1,300 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Persistentes Archiv aller ausgewerteten Stellen einer Zielfunktion (nur Anhängen, über Suchläufe hinweg).
+// Pro Zielfunktion (Kennung) gibt es eine Datei <kennung>.baarchiv im Verzeichnis, die in Segmenten in den
+// Speicher abgebildet wird (memory-mapped); Anhängen ist damit ein Schreiben in den Speicher ohne Systemaufruf.
+// Aufbau: Kopf (Kennzahl, Version, dim, Anzahl gültiger Datensätze), danach Datensätze aus dim Koordinaten
+// und dem Wert (je double). Die Anzahl im Kopf wird erst nach den Datensätzen erhöht, ein abgebrochenes
+// Anhängen hinterlässt also höchstens ungültige Daten hinter dem Ende, die beim nächsten Öffnen ignoriert werden.
+// Das Archiv wird beim Suchen über BAOptionen.archiv(...) befüllt und kann eine neue Suche vorbelegen (Warmstart).
+// Gleichzeitiges Anhängen (paralleler Modus): jeder Schreiber reserviert seine Plätze atomar am Ende und schreibt
+// ohne Sperre und ohne Warten. Gültig werden die Datensätze, sobald alle bis dahin reservierten beschrieben sind;
+// unter Last kann die Anzahl also etwas nachlaufen, deckt aber nie Lücken ab.
+// Mehrere Prozesse (oder mehrere Archive derselben Datei in einer JVM) würden sich dagegen gegenseitig Plätze
+// überschreiben: oeffne sperrt die Datei daher exklusiv und scheitert sofort, falls sie schon geöffnet ist.
+// Die Sperre endet mit close.
+public final class Bewertungsarchiv implements AutoCloseable {
+
+    private static final int KENNZAHL = 0x42414152; // "BAAR"
+    private static final int VERSION = 1;
+    private static final int KOPF = 32; // Bytes
+    private static final int DATENSAETZE_PRO_SEGMENT = 1 << 14;
+
+    private final Path datei;
+    private final FileChannel kanal;
+    private final MappedByteBuffer kopf;
+    private volatile MappedByteBuffer[] segmente = new MappedByteBuffer[0]; // wächst nur (unter der Sperre)
+    private final int dim;
+    private final int satzgroesse; // Bytes pro Datensatz
+    private final AtomicLong reserviert = new AtomicLong(); // bisher vergebene Plätze
+    private final AtomicLong geschrieben = new AtomicLong(); // davon beschriebene Plätze
+    private final AtomicLong anzahl = new AtomicLong(); // gültige Datensätze
+    private volatile RuntimeException fehler; // erster Fehler beim Anhängen, danach werden keine Stellen mehr gültig
+
+    private Bewertungsarchiv(Path datei, FileChannel kanal, int dim) throws IOException {
+        this.datei = datei;
+        this.kanal = kanal;
+        this.dim = dim;
+        this.satzgroesse = (dim + 1) * Double.BYTES;
+        this.kopf = kanal.map(FileChannel.MapMode.READ_WRITE, 0, KOPF);
+        kopf.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Öffnet das Archiv der Zielfunktion kennung im verzeichnis (oder legt es an), für Stellen mit dim Koordinaten;
+    // IOException, falls die Datei bereits geöffnet ist (in diesem oder einem anderen Prozess)
+    public static Bewertungsarchiv oeffne(Path verzeichnis, String kennung, int dim) throws IOException {
+        if (kennung == null || !kennung.matches("[A-Za-z0-9._-]+"))
+            throw new IllegalArgumentException("Die Kennung des Archivs darf nur aus Buchstaben, Ziffern, '.', '_' und '-' bestehen!");
+        if (dim <= 0)
+            throw new IllegalArgumentException("Die Dimension des Archivs muss größer 0 sein!");
+
+        Files.createDirectories(verzeichnis);
+        Path datei = verzeichnis.resolve(kennung + ".baarchiv");
+        FileChannel kanal = FileChannel.open(datei,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock sperre;
+            try {
+                sperre = kanal.tryLock();
+            } catch (OverlappingFileLockException ex) {
+                sperre = null; // in dieser JVM bereits geöffnet
+            }
+            if (sperre == null)
+                throw new IOException("Das Archiv " + datei + " ist bereits geöffnet!");
+
+            boolean neu = kanal.size() == 0;
+            Bewertungsarchiv archiv = new Bewertungsarchiv(datei, kanal, dim);
+            if (neu) {
+                archiv.kopf.putInt(0, KENNZAHL).putInt(4, VERSION).putInt(8, dim).putLong(16, 0L);
+            } else {
+                if (archiv.kopf.getInt(0) != KENNZAHL || archiv.kopf.getInt(4) != VERSION)
+                    throw new IOException(datei + " ist keine Archivdatei (Version " + VERSION + ")!");
+                if (archiv.kopf.getInt(8) != dim)
+                    throw new IllegalArgumentException("Das Archiv " + datei + " enthält Stellen mit "
+                            + archiv.kopf.getInt(8) + " statt " + dim + " Koordinaten!");
+                long anzahl = archiv.kopf.getLong(16);
+                archiv.anzahl.set(anzahl);
+                archiv.reserviert.set(anzahl);
+                archiv.geschrieben.set(anzahl);
+            }
+            return archiv;
+        } catch (IOException | RuntimeException e) {
+            kanal.close();
+            throw e;
+        }
+    }
+
+    public int dim() {
+        return dim;
+    }
+
+    // Anzahl der archivierten Stellen
+    public long anzahl() {
+        return anzahl.get();
+    }
+
+    // Hängt die anzahl Stellen eines dimensionsweise abgelegten Batches an (siehe Zielfunktion.werte)
+    public void fuegeHinzu(double[] punkte, int anzahl, double[] werte) {
+        if (fehler != null)
+            throw new IllegalStateException("Das Archiv " + datei + " ist nach einem Fehler nicht mehr beschreibbar!", fehler);
+        final long beginn = reserviert.getAndAdd(anzahl);
+        try {
+            for (int i = 0; i < anzahl; i++) {
+                MappedByteBuffer segment = segment(beginn + i);
+                int position = (int) ((beginn + i) % DATENSAETZE_PRO_SEGMENT) * satzgroesse;
+                for (int d = 0; d < dim; d++)
+                    segment.putDouble(position + d * Double.BYTES, punkte[d * anzahl + i]);
+                segment.putDouble(position + dim * Double.BYTES, werte[i]);
+            }
+        } catch (RuntimeException ex) {
+            fehler = ex; // die reservierten Plätze bleiben leer, geschrieben erreicht reserviert also nie mehr
+            throw ex;
+        }
+
+        // Sind alle bisher reservierten Plätze beschrieben, sind sie gültig (die Anzahl wächst dabei nur)
+        final long beschrieben = geschrieben.addAndGet(anzahl);
+        if (beschrieben == reserviert.get() && erhoeheAnzahl(beschrieben))
+            kopf.putLong(16, beschrieben); // ein gleichzeitig kleinerer Wert wird spätestens von close() überschrieben
+    }
+
+    // Erhöht die Anzahl gültiger Datensätze auf wert, falls sie kleiner ist
+    private boolean erhoeheAnzahl(long wert) {
+        for (long alt = anzahl.get(); alt < wert; alt = anzahl.get())
+            if (anzahl.compareAndSet(alt, wert))
+                return true;
+        return false;
+    }
+
+    // Zielfunktion, die jede Auswertung von f im Archiv ablegt
+    public Zielfunktion umhuelle(Zielfunktion f) {
+        return new Zielfunktion() {
+            @Override
+            public double wert(double[] args) {
+                double wert = f.wert(args);
+                fuegeHinzu(args, 1, new double[]{wert});
+                return wert;
+            }
+
+            @Override
+            public void werte(double[] punkte, int dim, int anzahl, double[] werte) {
+                f.werte(punkte, dim, anzahl, werte);
+                fuegeHinzu(punkte, anzahl, werte);
+            }
+        };
+    }
+
+    // Archivierte Stelle index
+    public Stelle stelle(long index) {
+        if (index < 0 || index >= anzahl.get())
+            throw new IllegalArgumentException("Das Archiv enthält keine Stelle " + index + "!");
+        MappedByteBuffer segment = segment(index);
+        int position = (int) (index % DATENSAETZE_PRO_SEGMENT) * satzgroesse;
+        double[] args = new double[dim];
+        for (int d = 0; d < dim; d++)
+            args[d] = segment.getDouble(position + d * Double.BYTES);
+        return new Stelle(args, segment.getDouble(position + dim * Double.BYTES));
+    }
+
+    // Die (höchstens) anzahl besten archivierten Stellen nach c, die paarweise in mindestens einer Dimension
+    // mindestens abstand (relativ zur Breite des Suchbereichs w) voneinander entfernt liegen (bestes vorne)
+    public List<Stelle> beste(int anzahl, Vergleichsfunktion c, double abstand, double[][] w) {
+        final long gueltig = this.anzahl.get(); // Schnappschuss, später angehängte Stellen bleiben unberücksichtigt
+        if (gueltig > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Das Archiv ist zu groß für eine Auswahl!");
+
+        final int gesamt = (int) gueltig;
+        final double[] werte = new double[gesamt];
+        for (int i = 0; i < gesamt; i++)
+            werte[i] = segment(i).getDouble((i % DATENSAETZE_PRO_SEGMENT) * satzgroesse + dim * Double.BYTES);
+
+        // Nur die k besten Stellen auswählen (statt alle zu sortieren); liegen darunter zu viele benachbarte,
+        // mit doppelt so vielen erneut versuchen
+        List<Stelle> ergebnis = new ArrayList<>(anzahl);
+        for (int k = Math.min(gesamt, Math.max(4 * anzahl, 64)); ; k = (int) Math.min(gesamt, 2L * k)) {
+            final int[] reihenfolge = beste(werte, k, c);
+
+            // der Reihe nach übernehmen, Stellen nahe einer bereits übernommenen (besseren) überspringen
+            ergebnis.clear();
+            for (int i = 0; i < k && ergebnis.size() < anzahl; i++) {
+                Stelle stelle = stelle(reihenfolge[i]);
+                if (ergebnis.stream().noneMatch(s -> benachbart(s, stelle, abstand, w)))
+                    ergebnis.add(stelle);
+            }
+            if (ergebnis.size() == anzahl || k == gesamt)
+                return List.copyOf(ergebnis);
+        }
+    }
+
+    // Indizes der k besten Werte nach c (bestes vorne), über einen Heap aus int-Indizes mit dem schlechtesten
+    // der bisher k besten an der Wurzel
+    private static int[] beste(double[] werte, int k, Vergleichsfunktion c) {
+        final int[] heap = new int[k];
+        int groesse = 0;
+        for (int i = 0; i < werte.length && k > 0; i++) {
+            if (groesse < k) {
+                heap[groesse++] = i;
+                hoch(heap, groesse - 1, werte, c);
+            } else if (Funktionen.vergleiche(c, werte[i], werte[heap[0]]) < 0) {
+                heap[0] = i;
+                runter(heap, groesse, werte, c);
+            }
+        }
+
+        // schlechtesten jeweils nach hinten: danach aufsteigend von bestem zu schlechtestem
+        for (int ende = groesse - 1; ende > 0; ende--) {
+            int wurzel = heap[0];
+            heap[0] = heap[ende];
+            heap[ende] = wurzel;
+            runter(heap, ende, werte, c);
+        }
+        return heap;
+    }
+
+    private static void hoch(int[] heap, int i, double[] werte, Vergleichsfunktion c) {
+        while (i > 0) {
+            int eltern = (i - 1) / 2;
+            if (Funktionen.vergleiche(c, werte[heap[i]], werte[heap[eltern]]) <= 0)
+                return;
+            tausche(heap, i, eltern);
+            i = eltern;
+        }
+    }
+
+    private static void runter(int[] heap, int groesse, double[] werte, Vergleichsfunktion c) {
+        int i = 0;
+        while (true) {
+            int schlechter = i;
+            for (int kind = 2 * i + 1; kind <= 2 * i + 2 && kind < groesse; kind++)
+                if (Funktionen.vergleiche(c, werte[heap[kind]], werte[heap[schlechter]]) > 0)
+                    schlechter = kind;
+            if (schlechter == i)
+                return;
+            tausche(heap, i, schlechter);
+            i = schlechter;
+        }
+    }
+
+    private static void tausche(int[] heap, int i, int j) {
+        int x = heap[i];
+        heap[i] = heap[j];
+        heap[j] = x;
+    }
+
+    // Liegen a und b in jeder Dimension näher als abstand (relativ zur Breite des Suchbereichs) beieinander?
+    private static boolean benachbart(Stelle a, Stelle b, double abstand, double[][] w) {
+        for (int d = 0; d < w.length; d++)
+            if (Math.abs(a.args()[d] - b.args()[d]) >= abstand * (w[d][1] - w[d][0]))
+                return false;
+        return true;
+    }
+
+    // Segment, in dem Datensatz index liegt (wird bei Bedarf abgebildet, die Datei wächst dabei mit)
+    private MappedByteBuffer segment(long index) {
+        int nummer = (int) (index / DATENSAETZE_PRO_SEGMENT);
+        MappedByteBuffer[] abgebildet = segmente;
+        return nummer < abgebildet.length ? abgebildet[nummer] : erweitere(nummer);
+    }
+
+    // Bildet die Segmente bis einschließlich nummer ab (selten, daher unter der Sperre)
+    private synchronized MappedByteBuffer erweitere(int nummer) {
+        MappedByteBuffer[] abgebildet = segmente;
+        if (nummer < abgebildet.length)
+            return abgebildet[nummer];
+        List<MappedByteBuffer> neu = new ArrayList<>(List.of(abgebildet));
+        try {
+            while (neu.size() <= nummer) {
+                long beginn = KOPF + (long) neu.size() * DATENSAETZE_PRO_SEGMENT * satzgroesse;
+                MappedByteBuffer segment = kanal.map(FileChannel.MapMode.READ_WRITE, beginn,
+                        (long) DATENSAETZE_PRO_SEGMENT * satzgroesse);
+                segment.order(ByteOrder.LITTLE_ENDIAN);
+                neu.add(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Das Archiv " + datei + " konnte nicht erweitert werden!", e);
+        }
+        segmente = neu.toArray(MappedByteBuffer[]::new);
+        return segmente[nummer];
+    }
+
+    // Schreibt alle Änderungen auf den Datenträger und schließt die Datei (gibt damit auch die Sperre frei)
+    @Override
+    public synchronized void close() throws IOException {
+        kopf.putLong(16, anzahl.get());
+        for (MappedByteBuffer segment : segmente)
+            segment.force();
+        kopf.force();
+        kanal.close();
+    }
+}
@@ -0,0 +1,132 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Zwischenspeicher (Memoisierung) für teure Zielfunktionen.
+// Schlüssel sind die auf eine Toleranz gerundeten (quantisierten) Koordinaten, d.h. Stellen, die sich in jeder
+// Koordinate um weniger als die Toleranz unterscheiden, teilen sich typischerweise einen Eintrag.
+// Der Speicher ist beschränkt und verdrängt den am längsten nicht verwendeten Eintrag (LRU).
+// Er ist in Segmente mit je eigenem Lock aufgeteilt, damit auch der parallele Modus nicht an einem Lock hängt.
+// Ein Cache gehört immer zu genau einer Zielfunktion (der Schlüssel enthält nur die Koordinaten).
+public final class Bewertungscache {
+
+    private static final int SEGMENTE = 16; // Zweierpotenz
+
+    // Statistik einer Cache-Nutzung
+    public record Statistik(long treffer, long fehlschlaege, long verdraengt) {
+        // Anteil der Anfragen, die aus dem Cache beantwortet wurden
+        public double trefferquote() {
+            long anfragen = treffer + fehlschlaege;
+            return anfragen == 0 ? 0.0 : (double) treffer / anfragen;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Cache: %d Treffer, %d Fehlschläge (Trefferquote %.1f %%), %d verdrängt",
+                    treffer, fehlschlaege, 100.0 * trefferquote(), verdraengt);
+        }
+    }
+
+    private final double toleranz;
+    private final Segment[] segmente;
+
+    private final LongAdder treffer = new LongAdder();
+    private final LongAdder fehlschlaege = new LongAdder();
+    private final LongAdder verdraengt = new LongAdder();
+
+    // toleranz: Rasterweite der Quantisierung (> 0), kapazitaet: maximale Anzahl an Einträgen
+    public Bewertungscache(double toleranz, int kapazitaet) {
+        if (!(toleranz > 0.0) || Double.isInfinite(toleranz))
+            throw new IllegalArgumentException("Die Toleranz des Caches muss größer 0 und endlich sein!");
+        if (kapazitaet < SEGMENTE)
+            throw new IllegalArgumentException("Die Kapazität des Caches muss mindestens " + SEGMENTE + " sein!");
+
+        this.toleranz = toleranz;
+        this.segmente = new Segment[SEGMENTE];
+        for (int i = 0; i < SEGMENTE; i++)
+            segmente[i] = new Segment(kapazitaet / SEGMENTE);
+    }
+
+    // Wert von f an der Stelle args, aus dem Cache oder (bei Fehlschlag) neu berechnet und gespeichert
+    public double wert(double[] args, Zielfunktion f) {
+        Schluessel schluessel = new Schluessel(quantisiere(args));
+        Segment segment = segmente[schluessel.hash & (SEGMENTE - 1)];
+
+        synchronized (segment) {
+            Double wert = segment.get(schluessel);
+            if (wert != null) {
+                treffer.increment();
+                return wert;
+            }
+        }
+
+        // Auswertung außerhalb des Locks (f ist teuer); berechnen zwei Threads gleichzeitig denselben Schlüssel,
+        // gewinnt einfach der zuletzt geschriebene, gleichwertige Eintrag
+        fehlschlaege.increment();
+        double wert = f.wert(args);
+        synchronized (segment) {
+            segment.put(schluessel, wert);
+        }
+        return wert;
+    }
+
+    // Zielfunktion, die über diesen Cache auswertet
+    public Zielfunktion umhuelle(Zielfunktion f) {
+        return args -> wert(args, f);
+    }
+
+    // Momentaufnahme der Statistik
+    public Statistik statistik() {
+        return new Statistik(treffer.sum(), fehlschlaege.sum(), verdraengt.sum());
+    }
+
+    // Rastert die Koordinaten auf Vielfache der Toleranz
+    private long[] quantisiere(double[] args) {
+        long[] q = new long[args.length];
+        for (int d = 0; d < args.length; d++)
+            q[d] = Math.round(args[d] / toleranz);
+        return q;
+    }
+
+    // Schlüssel mit vorberechnetem Hash (gestreut, damit benachbarte Rasterpunkte in verschiedene Segmente fallen)
+    private static final class Schluessel {
+        private final long[] q;
+        private final int hash;
+
+        Schluessel(long[] q) {
+            this.q = q;
+            int h = Arrays.hashCode(q);
+            this.hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Schluessel s && Arrays.equals(q, s.q);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // Ein Segment: LinkedHashMap in Zugriffsreihenfolge, die den ältesten Eintrag verdrängt (wird nie serialisiert)
+    @SuppressWarnings("serial")
+    private final class Segment extends LinkedHashMap<Schluessel, Double> {
+        private final int kapazitaet;
+
+        Segment(int kapazitaet) {
+            super(16, 0.75f, true);
+            this.kapazitaet = kapazitaet;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Schluessel, Double> eldest) {
+            if (size() <= kapazitaet)
+                return false;
+            verdraengt.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.concurrent.atomic.LongAdder;
+
+// Auswertung von f in einem Suchlauf als Kette von Zielfunktion-Dekoratoren, von innen nach außen:
+//   f -> Zählung -> Archiv (Option) -> Gittermenge (alle Argumente diskret) -> Cache (Option)
+// Gezählt wird direkt an f, Treffer im Cache und übersprungene Gitterpunkte zählen also von selbst nicht.
+// Der Suchlauf wählt je nach Phase das passende Glied und kennt die einzelnen Optionen nicht.
+final class Bewertungskette {
+
+    // Höchstanzahl an Gitterpunkten, die sich ein Suchlauf merkt (bei Füllgrad 1/2 höchstens 32 MiB)
+    private static final int GITTERPUNKTE = 1 << 20;
+
+    private final LongAdder anzahl = new LongAdder(); // Auswertungen von f (auch parallel)
+    private final Zielfunktion gezaehlt;
+    private final Zielfunktion gemessen;
+    private final Zielfunktion global;
+    private final Zielfunktion lokal;
+    private final Gittermenge gittermenge; // null, falls nicht alle Argumente diskret
+
+    Bewertungskette(BAParameter parameter, Domaene[] domaenen) {
+        final Zielfunktion f = parameter.f();
+        this.gezaehlt = new Zielfunktion() {
+            @Override
+            public double wert(double[] args) {
+                anzahl.increment();
+                return f.wert(args);
+            }
+
+            @Override
+            public void werte(double[] punkte, int dim, int n, double[] werte) {
+                anzahl.add(n);
+                f.werte(punkte, dim, n, werte);
+            }
+        };
+
+        Bewertungsarchiv archiv = parameter.optionen().archiv();
+        if (archiv != null && archiv.dim() != domaenen.length)
+            throw new IllegalArgumentException("Das Archiv passt nicht zur Dimension des Suchbereichs!");
+        this.gemessen = archiv == null ? gezaehlt : archiv.umhuelle(gezaehlt);
+        this.gittermenge = parameter.istDiskret() ? new Gittermenge(domaenen, GITTERPUNKTE) : null;
+        this.global = gittermenge == null ? gemessen : gittermenge.umhuelle(gemessen);
+        Bewertungscache cache = parameter.optionen().cache();
+        this.lokal = cache == null ? global : cache.umhuelle(global);
+    }
+
+    // Für Kundschafterinnen: ohne bereits ausgewertete Gitterpunkte, jede Auswertung archiviert
+    Zielfunktion global() {
+        return global;
+    }
+
+    // Für die lokale Suche: wie global, zusätzlich über den Cache (dort liegen die Stellen nahe beieinander)
+    Zielfunktion lokal() {
+        return lokal;
+    }
+
+    // Für Nachmessungen bei Rauschen: jede Messung wird ausgewertet und archiviert (kein Cache, keine Gittermenge)
+    Zielfunktion gemessen() {
+        return gemessen;
+    }
+
+    // Für den Warmstart: wie global, aber ohne Archiv (die Stellen stammen ja aus dem Archiv)
+    Zielfunktion ohneArchiv() {
+        return gittermenge == null ? gezaehlt : gittermenge.umhuelle(gezaehlt);
+    }
+
+    // Zählt Auswertungen, die an der Kette vorbeilaufen (Züge einer DeltaZielfunktion)
+    void zaehle(long n) {
+        anzahl.add(n);
+    }
+
+    // Anzahl der tatsächlichen Auswertungen von f
+    long anzahl() {
+        return anzahl.sum();
+    }
+}
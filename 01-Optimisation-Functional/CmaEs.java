@@ -0,0 +1,245 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Evolutionsstrategie mit Kovarianzmatrix-Adaption (CMA-ES, nach Hansen) über die Schnittstelle des BeesAlgorithm.
+// Pro Generation werden lambda Stellen aus einer Normalverteilung gezogen; Mittelpunkt, Schrittweite und
+// Kovarianzmatrix wandern mit den besten mu = lambda / 2 Stellen. Die Verteilung lernt so die Form der Zielfunktion
+// (z.B. das gekrümmte Tal von Rosenbrock) und konvergiert auf glatten, schlecht konditionierten Aufgaben mit weit
+// weniger Auswertungen als der BeesAlgorithm. Verglichen wird nur über die Rangfolge nach c.
+// Gesucht wird in auf [0, 1] normierten Koordinaten, Startpunkt zufällig, Startschrittweite s (wie die Feldgröße);
+// Stellen außerhalb von w werden auf den Rand (bzw. den nächsten Punkt des Wertebereichs) gesetzt und so übernommen.
+// Ist eine Verteilung konvergiert, beginnt ein Neustart mit doppelter Populationsgröße (IPOP), bis das
+// Abbruchkriterium erreicht ist (t zählt die Generationen aller Neustarts zusammen).
+// Von den Optionen werden paralleler Modus, Abbruchkriterium, Archiv und Verfeinerung berücksichtigt.
+public record CmaEs(int lambda) implements Suchverfahren { // Populationsgröße, 0 = 4 + 3 ln(dim)
+
+    // Standardeinstellungen
+    public static final CmaEs STANDARD = new CmaEs(0);
+
+    // Neustart, sobald die Verteilung in jeder Richtung kleiner ist (in normierten Koordinaten)
+    private static final double TOLERANZ = 1e-12;
+    // Neustart, sobald die Kondition der Kovarianzmatrix größer ist
+    private static final double KONDITION = 1e14;
+
+    // Validierung
+    public CmaEs {
+        if (lambda != 0 && lambda < 4)
+            throw new IllegalArgumentException("Die Populationsgröße der CMA-ES muss mindestens 4 sein (0 = Standard)!");
+    }
+
+    @Override
+    public List<Stelle> search(BAParameter parameter) {
+        return Suchprotokoll.fuehreAus(parameter, this::suche);
+    }
+
+    private void suche(BAParameter parameter, Suchprotokoll protokoll) {
+        final SplittableRandom zufall = new SplittableRandom();
+        final int dim = parameter.w().length;
+        int groesse = lambda > 0 ? lambda : 4 + (int) (3.0 * Math.log(dim));
+        while (!protokoll.istBeendet()) {
+            lauf(parameter, protokoll, zufall, groesse);
+            groesse *= 2;
+        }
+    }
+
+    // Ein Lauf bis zur Konvergenz der Verteilung (oder bis zum Abbruch)
+    private static void lauf(BAParameter parameter, Suchprotokoll protokoll, SplittableRandom zufall, int lambda) {
+        final double[][] w = parameter.w();
+        final int n = w.length;
+
+        // Gewichte der mu besten Stellen und Lernraten (Standardwerte nach Hansen)
+        final int mu = lambda / 2;
+        final double[] gewichte = new double[mu];
+        double summe = 0.0;
+        for (int i = 0; i < mu; i++)
+            summe += gewichte[i] = Math.log(mu + 0.5) - Math.log(i + 1);
+        double quadratsumme = 0.0;
+        for (int i = 0; i < mu; i++) {
+            gewichte[i] /= summe;
+            quadratsumme += gewichte[i] * gewichte[i];
+        }
+        final double mueff = 1.0 / quadratsumme;
+        final double cs = (mueff + 2.0) / (n + mueff + 5.0);
+        final double ds = 1.0 + 2.0 * Math.max(0.0, Math.sqrt((mueff - 1.0) / (n + 1.0)) - 1.0) + cs;
+        final double cc = (4.0 + mueff / n) / (n + 4.0 + 2.0 * mueff / n);
+        final double c1 = 2.0 / ((n + 1.3) * (n + 1.3) + mueff);
+        final double cmu = Math.min(1.0 - c1, 2.0 * (mueff - 2.0 + 1.0 / mueff) / ((n + 2.0) * (n + 2.0) + mueff));
+        final double chiN = Math.sqrt(n) * (1.0 - 1.0 / (4.0 * n) + 1.0 / (21.0 * n * n));
+
+        // Zustand der Verteilung
+        final double[] mitte = new double[n];
+        for (int d = 0; d < n; d++)
+            mitte[d] = zufall.nextDouble();
+        double sigma = parameter.s();
+        final double[] pc = new double[n], ps = new double[n];
+        final double[][] c = einheitsmatrix(n), b = einheitsmatrix(n), invWurzelC = einheitsmatrix(n);
+        final double[] diagonale = new double[n]; // Wurzeln der Eigenwerte von c
+        Arrays.fill(diagonale, 1.0);
+
+        final double[][] schritte = new double[lambda][n]; // y = (x - mitte) / sigma, normiert
+        final double[][] stellen = new double[lambda][n]; // x in Originalkoordinaten
+        final double[] werte = new double[lambda];
+        final double[] z = new double[n], ymittel = new double[n], hilf = new double[n];
+        int generation = 0, zerlegt = 0;
+
+        while (!protokoll.istBeendet()) {
+            // lambda Stellen ziehen: y = B D z, x = mitte + sigma y (auf w bzw. den Wertebereich gesetzt)
+            for (int k = 0; k < lambda; k++) {
+                for (int i = 0; i < n; i++)
+                    z[i] = diagonale[i] * zufall.nextGaussian();
+                for (int d = 0; d < n; d++) {
+                    double y = 0.0;
+                    for (int i = 0; i < n; i++)
+                        y += b[d][i] * z[i];
+                    stellen[k][d] = w[d][0] + (mitte[d] + sigma * y) * (w[d][1] - w[d][0]);
+                }
+                protokoll.beschraenke(stellen[k]);
+                for (int d = 0; d < n; d++)
+                    schritte[k][d] = (normiere(stellen[k][d], w[d]) - mitte[d]) / sigma;
+            }
+            protokoll.werte(stellen, lambda, werte);
+            final Integer[] rang = protokoll.rangfolge(werte, lambda);
+
+            // neue Mitte aus den mu besten Schritten
+            for (int d = 0; d < n; d++) {
+                double y = 0.0;
+                for (int i = 0; i < mu; i++)
+                    y += gewichte[i] * schritte[rang[i]][d];
+                ymittel[d] = y;
+                mitte[d] += sigma * y;
+            }
+
+            // Evolutionspfade
+            double normPs = 0.0;
+            for (int d = 0; d < n; d++) {
+                double y = 0.0;
+                for (int i = 0; i < n; i++)
+                    y += invWurzelC[d][i] * ymittel[i];
+                hilf[d] = y;
+            }
+            for (int d = 0; d < n; d++) {
+                ps[d] = (1.0 - cs) * ps[d] + Math.sqrt(cs * (2.0 - cs) * mueff) * hilf[d];
+                normPs += ps[d] * ps[d];
+            }
+            normPs = Math.sqrt(normPs);
+            generation++;
+            final boolean hsig = normPs / Math.sqrt(1.0 - Math.pow(1.0 - cs, 2.0 * generation)) / chiN
+                    < 1.4 + 2.0 / (n + 1.0);
+            for (int d = 0; d < n; d++)
+                pc[d] = (1.0 - cc) * pc[d] + (hsig ? Math.sqrt(cc * (2.0 - cc) * mueff) * ymittel[d] : 0.0);
+
+            // Kovarianzmatrix (Rang-1- und Rang-mu-Aktualisierung) und Schrittweite
+            final double korrektur = hsig ? 0.0 : cc * (2.0 - cc);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j <= i; j++) {
+                    double rangMu = 0.0;
+                    for (int k = 0; k < mu; k++)
+                        rangMu += gewichte[k] * schritte[rang[k]][i] * schritte[rang[k]][j];
+                    c[i][j] = (1.0 - c1 - cmu) * c[i][j] + c1 * (pc[i] * pc[j] + korrektur * c[i][j]) + cmu * rangMu;
+                    c[j][i] = c[i][j];
+                }
+            }
+            sigma *= Math.exp((cs / ds) * (normPs / chiN - 1.0));
+            protokoll.naechsteGeneration();
+
+            // Eigenzerlegung nur alle paar Generationen (O(n³)), wie bei Hansen
+            if (generation - zerlegt > lambda / (c1 + cmu) / n / 10.0) {
+                zerlegt = generation;
+                zerlege(c, b, diagonale, invWurzelC);
+            }
+
+            // Konvergenz: Verteilung zu klein, Kovarianzmatrix entartet oder alle besten Werte gleich
+            double groesste = 0.0, kleinste = Double.POSITIVE_INFINITY;
+            for (double dd : diagonale) {
+                groesste = Math.max(groesste, dd);
+                kleinste = Math.min(kleinste, dd);
+            }
+            if (sigma * groesste < TOLERANZ || groesste * groesste > KONDITION * kleinste * kleinste
+                    || werte[rang[0]] == werte[rang[(int) Math.ceil(0.7 * lambda) - 1]]
+                    || !Double.isFinite(sigma))
+                return;
+        }
+    }
+
+    // Koordinate x auf [0, 1] bezogen auf die Grenzen grenze (bei leerem Intervall 0)
+    private static double normiere(double x, double[] grenze) {
+        double breite = grenze[1] - grenze[0];
+        return breite > 0.0 ? (x - grenze[0]) / breite : 0.0;
+    }
+
+    // c = B diag(diagonale)² Bᵀ, dazu c^(-1/2) = B diag(1 / diagonale) Bᵀ
+    private static void zerlege(double[][] c, double[][] b, double[] diagonale, double[][] invWurzelC) {
+        final int n = c.length;
+        final double[][] a = new double[n][];
+        for (int i = 0; i < n; i++)
+            a[i] = c[i].clone();
+        final double[] eigenwerte = new double[n];
+        jacobi(a, eigenwerte, b);
+        for (int i = 0; i < n; i++)
+            diagonale[i] = Math.sqrt(Math.max(eigenwerte[i], 1e-300));
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double summe = 0.0;
+                for (int k = 0; k < n; k++)
+                    summe += b[i][k] * b[j][k] / diagonale[k];
+                invWurzelC[i][j] = summe;
+            }
+        }
+    }
+
+    // Eigenzerlegung der symmetrischen Matrix a (wird dabei zerstört) nach Jacobi:
+    // eigenwerte und die zugehörigen Eigenvektoren als Spalten von v
+    private static void jacobi(double[][] a, double[] eigenwerte, double[][] v) {
+        final int n = a.length;
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(v[i], 0.0);
+            v[i][i] = 1.0;
+        }
+        for (int durchlauf = 0; durchlauf < 100; durchlauf++) {
+            double aussen = 0.0;
+            for (int p = 0; p < n; p++)
+                for (int q = p + 1; q < n; q++)
+                    aussen += a[p][q] * a[p][q];
+            if (aussen < 1e-30)
+                break;
+
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    if (Math.abs(a[p][q]) < 1e-300)
+                        continue;
+                    // Drehung, die a[p][q] zu 0 macht
+                    double theta = (a[q][q] - a[p][p]) / (2.0 * a[p][q]);
+                    double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1.0));
+                    if (theta == 0.0)
+                        t = 1.0;
+                    double cos = 1.0 / Math.sqrt(t * t + 1.0), sin = t * cos;
+                    for (int k = 0; k < n; k++) {
+                        double akp = a[k][p], akq = a[k][q];
+                        a[k][p] = cos * akp - sin * akq;
+                        a[k][q] = sin * akp + cos * akq;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double apk = a[p][k], aqk = a[q][k];
+                        a[p][k] = cos * apk - sin * aqk;
+                        a[q][k] = sin * apk + cos * aqk;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double vkp = v[k][p], vkq = v[k][q];
+                        v[k][p] = cos * vkp - sin * vkq;
+                        v[k][q] = sin * vkp + cos * vkq;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < n; i++)
+            eigenwerte[i] = a[i][i];
+    }
+
+    private static double[][] einheitsmatrix(int n) {
+        double[][] m = new double[n][n];
+        for (int i = 0; i < n; i++)
+            m[i][i] = 1.0;
+        return m;
+    }
+}
@@ -0,0 +1,13 @@
+// Zielfunktion, die einen Zug (Änderung weniger Koordinaten) relativ zu einer bereits bewerteten Stelle
+// inkrementell auswerten kann. Für summenartige Funktionen (f = Summe von Termen, die jeweils nur von wenigen
+// Koordinaten abhängen, z.B. separable Funktionen oder Rosenbrock) genügt es, die betroffenen Terme neu zu
+// berechnen: ein Zug mit k Koordinaten kostet dann O(k) statt O(dim).
+// Verwendet wird das von der lokalen Suche in Teilräumen (siehe BAOptionen.teilraum). Die Züge gehen dabei an
+// Bewertungscache, Bewertungsarchiv und der Menge der Gitterpunkte vorbei; diese Kombinationen lehnt BAParameter ab.
+// Gerechnet wird über Differenzen; Rundungsfehler können sich daher über viele Züge geringfügig aufsummieren.
+public interface DeltaZielfunktion extends Zielfunktion {
+
+    // Wert der Stelle, die aus args (mit dem Wert wert) entsteht, wenn die Koordinaten indizes[0..anzahl-1]
+    // auf neu[0..anzahl-1] gesetzt werden (die Indizes sind paarweise verschieden); args bleibt unverändert
+    double wertNachZug(double[] args, double wert, int[] indizes, double[] neu, int anzahl);
+}
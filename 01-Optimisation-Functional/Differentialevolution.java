@@ -0,0 +1,97 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Differentialevolution (Storn und Price) über die Schnittstelle des BeesAlgorithm, Variante current-to-pbest/1/bin
+// (wie in JADE): jede der n Stellen erzeugt pro Generation einen Versuch
+//   v = x + gewicht (x_pbest - x) + gewicht (x_r1 - x_r2),
+// wobei x_pbest zufällig aus dem besten Anteil anteilBeste der Population stammt; jede Koordinate wird mit
+// Wahrscheinlichkeit kreuzung (mindestens eine) aus v übernommen, sonst aus x. Der Versuch ersetzt x, wenn er laut c
+// nicht schlechter ist. Die Differenzen passen die Schrittweiten von selbst an die Form der Zielfunktion an.
+// Populationsgröße ist n (Anzahl der Kundschafterinnen), t begrenzt die Generationen. Koordinaten außerhalb von w
+// werden zur Mitte zwischen x und der Grenze gesetzt, diskrete Argumente auf den nächsten Punkt ihres Wertebereichs.
+// Von den Optionen werden paralleler Modus, Abbruchkriterium, Archiv und Verfeinerung berücksichtigt.
+public record Differentialevolution(double gewicht, // Skalierung der Differenzen (F)
+                                    double kreuzung, // Wahrscheinlichkeit, eine Koordinate aus v zu übernehmen (CR)
+                                    double anteilBeste) implements Suchverfahren { // Anteil für x_pbest (p)
+
+    // Standardeinstellungen für nicht separierbare Funktionen: die Streuung um x_pbest ändert sich pro Generation
+    // etwa um den Faktor (1 - F)² + 2 F²; erst ab F ≈ 2/3 schrumpft die Population nicht von selbst zusammen
+    // (mit F = 0.5 bleibt sie z.B. im lokalen Minimum von Rosenbrock hängen)
+    public static final Differentialevolution STANDARD = new Differentialevolution(0.7, 0.9, 0.2);
+
+    // Validierung
+    public Differentialevolution {
+        if (!(gewicht > 0.0 && gewicht <= 2.0))
+            throw new IllegalArgumentException("Das Gewicht der Differentialevolution muss größer 0 und <= 2 sein!");
+        if (!(kreuzung >= 0.0 && kreuzung <= 1.0))
+            throw new IllegalArgumentException("Die Kreuzungswahrscheinlichkeit muss zwischen 0 und 1 liegen!");
+        if (!(anteilBeste > 0.0 && anteilBeste <= 1.0))
+            throw new IllegalArgumentException("Der Anteil der besten Stellen muss größer 0 und <= 1 sein!");
+    }
+
+    @Override
+    public List<Stelle> search(BAParameter parameter) {
+        if (parameter.n() < 4)
+            throw new IllegalArgumentException("Die Differentialevolution benötigt mindestens 4 Stellen (n)!");
+        return Suchprotokoll.fuehreAus(parameter, this::suche);
+    }
+
+    private void suche(BAParameter parameter, Suchprotokoll protokoll) {
+        final SplittableRandom zufall = new SplittableRandom();
+        final double[][] w = parameter.w();
+        final int dim = w.length;
+        final int n = parameter.n();
+        final int pbest = Math.max(2, (int) Math.round(anteilBeste * n));
+
+        // Startpopulation gleichverteilt im Suchbereich (bzw. auf den Punkten der Wertebereiche)
+        double[][] population = new double[n][dim];
+        double[] werte = new double[n];
+        for (double[] x : population)
+            for (int d = 0; d < dim; d++)
+                x[d] = parameter.domaene(d).ziehe(zufall.nextDouble(), w[d][0], w[d][1]);
+        protokoll.werte(population, n, werte);
+
+        double[][] versuche = new double[n][dim];
+        final double[] versuchsWerte = new double[n];
+        while (!protokoll.istBeendet()) {
+            final Integer[] rang = protokoll.rangfolge(werte, n);
+
+            for (int i = 0; i < n; i++) {
+                final double[] x = population[i];
+                final double[] beste = population[rang[zufall.nextInt(pbest)]];
+                int r1, r2;
+                do r1 = zufall.nextInt(n); while (r1 == i);
+                do r2 = zufall.nextInt(n); while (r2 == i || r2 == r1);
+                final double[] a = population[r1], b = population[r2];
+
+                final double[] v = versuche[i];
+                final int sicher = zufall.nextInt(dim); // diese Koordinate kommt immer aus v
+                for (int d = 0; d < dim; d++) {
+                    if (d != sicher && zufall.nextDouble() >= kreuzung) {
+                        v[d] = x[d];
+                        continue;
+                    }
+                    double y = x[d] + gewicht * (beste[d] - x[d]) + gewicht * (a[d] - b[d]);
+                    if (y < w[d][0])
+                        y = (w[d][0] + x[d]) / 2.0;
+                    else if (y > w[d][1])
+                        y = (w[d][1] + x[d]) / 2.0;
+                    v[d] = y;
+                }
+                protokoll.beschraenke(v);
+            }
+            protokoll.werte(versuche, n, versuchsWerte);
+
+            // Auswahl: ein nicht schlechterer Versuch ersetzt seine Stelle (Zeilen tauschen, nichts kopieren)
+            for (int i = 0; i < n; i++) {
+                if (!protokoll.istBesser(werte[i], versuchsWerte[i])) {
+                    double[] h = population[i];
+                    population[i] = versuche[i];
+                    versuche[i] = h;
+                    werte[i] = versuchsWerte[i];
+                }
+            }
+            protokoll.naechsteGeneration();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+// Wertebereich eines einzelnen Arguments: kontinuierlich (jede Zahl zwischen den Grenzen aus w) oder ein Gitter
+// ursprung + k * schritt (ganzzahlig k), z.B. ganze Zahlen oder Werte mit fester Schrittweite.
+// Auf einem Gitter werden Kundschafterinnen und rekrutierte Bienen direkt auf den Gitterpunkten innerhalb der
+// Grenzen bzw. des Feldes gezogen (gleichverteilt), statt kontinuierlich gezogene Werte nachträglich zu runden.
+// Ein Feld umfasst dabei mindestens die beiden Nachbarpunkte, auch wenn es kleiner als ein Schritt geschrumpft ist.
+public record Domaene(double schritt, // Abstand der Gitterpunkte, 0 = kontinuierlich
+                      double ursprung) { // ein Gitterpunkt (Verschiebung des Gitters)
+
+    // Rundungstoleranz (in Schritten) bei der Bestimmung der Gitterpunkte innerhalb von Grenzen
+    private static final double TOLERANZ = 1e-9;
+
+    // Validierung
+    public Domaene {
+        if (!(schritt >= 0.0) || Double.isInfinite(schritt))
+            throw new IllegalArgumentException("Die Schrittweite des Wertebereichs muss >= 0 und endlich sein!");
+        if (!Double.isFinite(ursprung))
+            throw new IllegalArgumentException("Der Ursprung des Wertebereichs muss endlich sein!");
+    }
+
+    // Jede Zahl zwischen den Grenzen
+    public static final Domaene KONTINUIERLICH = new Domaene(0.0, 0.0);
+
+    // Ganze Zahlen
+    public static Domaene ganzzahlig() {
+        return stufen(1.0);
+    }
+
+    // Vielfache von schritt
+    public static Domaene stufen(double schritt) {
+        return stufen(schritt, 0.0);
+    }
+
+    // ursprung + k * schritt
+    public static Domaene stufen(double schritt, double ursprung) {
+        if (!(schritt > 0.0))
+            throw new IllegalArgumentException("Die Schrittweite der Stufen muss größer 0 sein!");
+        return new Domaene(schritt, ursprung);
+    }
+
+    public boolean istKontinuierlich() {
+        return schritt == 0.0;
+    }
+
+    // Nummer k des Gitterpunkts, der x am nächsten liegt
+    public long stufe(double x) {
+        return Math.round((x - ursprung) / schritt);
+    }
+
+    // Gitterpunkt k
+    public double punkt(long k) {
+        return ursprung + k * schritt;
+    }
+
+    // Nächster Gitterpunkt zu x innerhalb von [lo, hi] (kontinuierlich: x auf [lo, hi] beschränkt)
+    public double naechster(double x, double lo, double hi) {
+        if (istKontinuierlich())
+            return Math.max(lo, Math.min(hi, x));
+        return punkt(Math.max(unterste(lo), Math.min(oberste(hi), stufe(x))));
+    }
+
+    // Wert zu u aus [0, 1) gleichverteilt in [lo, hi]: kontinuierlich lo + (hi - lo) * u, sonst einer der
+    // Gitterpunkte in [lo, hi] (jeder mit gleicher Wahrscheinlichkeit)
+    public double ziehe(double u, double lo, double hi) {
+        if (istKontinuierlich())
+            return lo + (hi - lo) * u;
+        long a = unterste(lo), b = oberste(hi);
+        return punkt(a + Math.min(b - a, (long) (u * (b - a + 1))));
+    }
+
+    // Enthält [lo, hi] mindestens einen Gitterpunkt? (kontinuierlich immer)
+    public boolean enthaeltPunkt(double lo, double hi) {
+        return istKontinuierlich() || unterste(lo) <= oberste(hi);
+    }
+
+    // Kleinster Gitterpunkt >= lo bzw. größter <= hi (mit Toleranz für Rundungsfehler)
+    private long unterste(double lo) {
+        return (long) Math.ceil((lo - ursprung) / schritt - TOLERANZ);
+    }
+
+    private long oberste(double hi) {
+        return (long) Math.floor((hi - ursprung) / schritt + TOLERANZ);
+    }
+}
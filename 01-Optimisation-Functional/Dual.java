@@ -0,0 +1,140 @@
+import java.util.Arrays;
+
+// Duale Zahl für die automatische Differentiation im Vorwärtsmodus: ein Wert zusammen mit seinen partiellen
+// Ableitungen nach allen Variablen. Jede Rechenoperation wendet die Kettenregel an, eine Auswertung einer mit
+// Dual geschriebenen Funktion liefert also Wert und Gradient zugleich (siehe DualZielfunktion).
+// Konstanten haben keine Ableitungen (leeres Array) und kosten daher nur den Wert.
+public final class Dual {
+
+    private static final double[] KEINE = new double[0];
+
+    private final double wert;
+    private final double[] ableitungen; // leer = Konstante (alle Ableitungen 0)
+
+    private Dual(double wert, double[] ableitungen) {
+        this.wert = wert;
+        this.ableitungen = ableitungen;
+    }
+
+    // Konstante c
+    public static Dual konstante(double c) {
+        return new Dual(c, KEINE);
+    }
+
+    // Variable index (von anzahl Variablen) mit dem Wert wert
+    public static Dual variable(double wert, int index, int anzahl) {
+        if (index < 0 || index >= anzahl)
+            throw new IllegalArgumentException("Der Index der Variablen muss zwischen 0 und anzahl - 1 liegen!");
+        double[] a = new double[anzahl];
+        a[index] = 1.0;
+        return new Dual(wert, a);
+    }
+
+    public double wert() {
+        return wert;
+    }
+
+    // Partielle Ableitung nach Variable index
+    public double ableitung(int index) {
+        return index < ableitungen.length ? ableitungen[index] : 0.0;
+    }
+
+    public Dual plus(Dual b) {
+        return verbinde(wert + b.wert, 1.0, b, 1.0);
+    }
+
+    public Dual plus(double b) {
+        return new Dual(wert + b, ableitungen);
+    }
+
+    public Dual minus(Dual b) {
+        return verbinde(wert - b.wert, 1.0, b, -1.0);
+    }
+
+    public Dual minus(double b) {
+        return new Dual(wert - b, ableitungen);
+    }
+
+    public Dual mal(Dual b) {
+        return verbinde(wert * b.wert, b.wert, b, wert);
+    }
+
+    public Dual mal(double b) {
+        return kette(wert * b, b);
+    }
+
+    public Dual durch(Dual b) {
+        return verbinde(wert / b.wert, 1.0 / b.wert, b, -wert / (b.wert * b.wert));
+    }
+
+    public Dual durch(double b) {
+        return kette(wert / b, 1.0 / b);
+    }
+
+    public Dual negiere() {
+        return kette(-wert, -1.0);
+    }
+
+    public Dual quadrat() {
+        return kette(wert * wert, 2.0 * wert);
+    }
+
+    // Potenz mit konstantem Exponenten
+    public Dual hoch(double exponent) {
+        return kette(Math.pow(wert, exponent), exponent * Math.pow(wert, exponent - 1.0));
+    }
+
+    public Dual wurzel() {
+        double w = Math.sqrt(wert);
+        return kette(w, 0.5 / w);
+    }
+
+    public Dual exp() {
+        double e = Math.exp(wert);
+        return kette(e, e);
+    }
+
+    public Dual log() {
+        return kette(Math.log(wert), 1.0 / wert);
+    }
+
+    public Dual sin() {
+        return kette(Math.sin(wert), Math.cos(wert));
+    }
+
+    public Dual cos() {
+        return kette(Math.cos(wert), -Math.sin(wert));
+    }
+
+    public Dual abs() {
+        return kette(Math.abs(wert), Math.signum(wert));
+    }
+
+    // Ergebnis einer einstelligen Funktion mit Ableitung faktor (Kettenregel)
+    private Dual kette(double ergebnis, double faktor) {
+        if (ableitungen.length == 0)
+            return new Dual(ergebnis, KEINE);
+        double[] a = new double[ableitungen.length];
+        for (int i = 0; i < a.length; i++)
+            a[i] = faktor * ableitungen[i];
+        return new Dual(ergebnis, a);
+    }
+
+    // Ergebnis einer zweistelligen Funktion mit den Ableitungen fa nach diesem und fb nach b
+    private Dual verbinde(double ergebnis, double fa, Dual b, double fb) {
+        int laenge = Math.max(ableitungen.length, b.ableitungen.length);
+        if (laenge == 0)
+            return new Dual(ergebnis, KEINE);
+        double[] a = new double[laenge];
+        for (int i = 0; i < ableitungen.length; i++)
+            a[i] = fa * ableitungen[i];
+        for (int i = 0; i < b.ableitungen.length; i++)
+            a[i] += fb * b.ableitungen[i];
+        return new Dual(ergebnis, a);
+    }
+
+    @Override
+    public String toString() {
+        return "Dual{wert=" + wert + ", ableitungen=" + Arrays.toString(ableitungen) + "}";
+    }
+}
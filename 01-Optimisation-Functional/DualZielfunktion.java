@@ -0,0 +1,31 @@
+// Zielfunktion, die mit dualen Zahlen geschrieben ist (siehe Dual); liefert Wert und Gradient in einer Auswertung.
+// Dieselbe Funktion dient über zielfunktion() auch als gewöhnliche Zielfunktion für die Suche.
+@FunctionalInterface
+public interface DualZielfunktion {
+
+    // Wert der Funktion an der Stelle args
+    Dual wert(Dual[] args);
+
+    // Wert an der Stelle args, die partiellen Ableitungen kommen nach gradient
+    default double wert(double[] args, double[] gradient) {
+        final int dim = args.length;
+        Dual[] variablen = new Dual[dim];
+        for (int d = 0; d < dim; d++)
+            variablen[d] = Dual.variable(args[d], d, dim);
+
+        Dual ergebnis = wert(variablen);
+        for (int d = 0; d < dim; d++)
+            gradient[d] = ergebnis.ableitung(d);
+        return ergebnis.wert();
+    }
+
+    // Als Zielfunktion ohne Ableitungen (alle Argumente sind Konstanten)
+    default Zielfunktion zielfunktion() {
+        return args -> {
+            Dual[] konstanten = new Dual[args.length];
+            for (int d = 0; d < args.length; d++)
+                konstanten[d] = Dual.konstante(args[d]);
+            return wert(konstanten).wert();
+        };
+    }
+}
@@ -0,0 +1,90 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.lang.management.ManagementFactory;
+
+// JDK-Flight-Recorder-Ereignis für eine Generation eines Suchlaufs (Dauer = gesamter Schritt).
+// Wird nur erfasst, wenn eine Aufzeichnung mit diesem Ereignis läuft (z.B. java -XX:StartFlightRecording ...
+// oder jcmd <pid> JFR.start); sonst ist isEnabled() false und der Suchlauf misst nichts.
+// Die Dauern der lokalen Suche sind über alle Felder summiert (im parallelen Modus also Rechenzeit, nicht Wanduhrzeit).
+@Name("BeesAlgorithm.Generation")
+@Label("Generation")
+@Category("BeesAlgorithm")
+@Description("Ein Schritt des BeesAlgorithm mit Auswertungen, Dauer der Phasen und bestem Wert")
+@StackTrace(false)
+final class GenerationEreignis extends Event {
+
+    @Label("Generation")
+    int generation;
+
+    @Label("Felder")
+    @Description("Anzahl der lokal durchsuchten Felder (ggf. nach Zusammenlegen naher Felder)")
+    int felder;
+
+    @Label("Auswertungen")
+    @Description("Auswertungen der Zielfunktion in dieser Generation")
+    long bewertungen;
+
+    @Label("Auswertungen gesamt")
+    long bewertungenGesamt;
+
+    @Label("Bester Wert")
+    @Description("Bester bisher gefundener Wert nach dieser Generation")
+    double besterWert;
+
+    @Label("Nachmessungen")
+    @Description("Erneute Auswertungen an den Auswahlgrenzen (Racing bei verrauschter Zielfunktion)")
+    int nachmessungen;
+
+    @Label("Auswahl")
+    @Description("Auswahl und Sortierung der Felder (einschließlich Nachmessungen)")
+    @Timespan(Timespan.NANOSECONDS)
+    long auswahl;
+
+    @Label("Lokale Suche (Elite)")
+    @Description("Lokale Suche der e besten Felder, über alle Felder summiert")
+    @Timespan(Timespan.NANOSECONDS)
+    long lokaleSucheElite;
+
+    @Label("Lokale Suche (übrige)")
+    @Description("Lokale Suche der übrigen Felder, über alle Felder summiert")
+    @Timespan(Timespan.NANOSECONDS)
+    long lokaleSucheUebrige;
+
+    @Label("Kundschafterinnen")
+    @Description("Erzeugen und Auswerten der Kundschafterinnen (globale Suche)")
+    @Timespan(Timespan.NANOSECONDS)
+    long kundschafterinnen;
+
+    @Label("Allokiert")
+    @Description("Vom ausführenden Thread allokierter Speicher (ohne Hilfsthreads des parallelen Modus)")
+    @DataAmount(DataAmount.BYTES)
+    long allokiert;
+
+    // Bisher vom aktuellen Thread allokierter Speicher in Bytes, 0 falls die JVM das nicht unterstützt
+    static long allokiertVomThread() {
+        com.sun.management.ThreadMXBean threads = Speichermessung.THREADS;
+        return threads != null && threads.isThreadAllocatedMemoryEnabled() ? threads.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    // Erst bei der ersten Messung initialisiert (also nur während einer Aufzeichnung, nicht bei jedem Ereignis);
+    // THREADS ist null, wenn die JVM die Messung des allokierten Speichers nicht anbietet
+    private static final class Speichermessung {
+        static final com.sun.management.ThreadMXBean THREADS = threads();
+
+        private static com.sun.management.ThreadMXBean threads() {
+            try {
+                return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                        && threads.isThreadAllocatedMemorySupported() ? threads : null;
+            } catch (LinkageError ex) {
+                return null; // JVM ohne com.sun.management
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+import java.util.List;
+
+// Momentaufnahme nach einer Generation, wie sie Suchverlauf veröffentlicht
+public record Generationsbericht(Suchstand stand, // Generation, Auswertungen, bester Wert, Stagnation, Laufzeit
+                                 List<Stelle> beste) { // die r besten bisher gefundenen Stellen (bestes vorne)
+}
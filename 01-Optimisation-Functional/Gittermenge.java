@@ -0,0 +1,226 @@
+import java.util.Arrays;
+
+// Menge der bereits ausgewerteten Gitterpunkte eines Suchlaufs (alle Argumente diskret, siehe Domaene) samt Wert.
+// Auf einem Gitter treffen Kundschafterinnen und vor allem rekrutierte Bienen kleiner Felder immer wieder dieselben
+// Punkte; ein solches Duplikat wird nicht erneut ausgewertet, sondern erhält den gespeicherten Wert.
+// Schlüssel ist ein 64-Bit-Fingerabdruck der Gitterkoordinaten (Verwechslungen sind bei Millionen von Punkten
+// praktisch ausgeschlossen), gespeichert in offener Adressierung auf long[] und double[] (16 Bytes pro Punkt,
+// keine Objekte pro Eintrag). Die Tabelle ist in Segmente mit je eigenem Lock aufgeteilt (paralleler Modus) und
+// wächst bis zur Kapazität; danach werden neue Punkte noch ausgewertet, aber nicht mehr gespeichert.
+// Batches werden im Arbeitsspeicher des jeweiligen Threads bearbeitet, ohne neue Arrays pro Batch.
+final class Gittermenge {
+
+    private static final int SEGMENTE = 16; // Zweierpotenz
+    private static final long LEER = 0L; // Fingerabdruck 0 wird auf 1 abgebildet
+
+    private final Domaene[] domaenen;
+    private final Segment[] segmente;
+    private final ThreadLocal<Puffer> puffer = ThreadLocal.withInitial(Puffer::new);
+
+    // kapazitaet: höchstens so viele gespeicherte Punkte
+    Gittermenge(Domaene[] domaenen, int kapazitaet) {
+        this.domaenen = domaenen;
+        this.segmente = new Segment[SEGMENTE];
+        for (int i = 0; i < SEGMENTE; i++)
+            segmente[i] = new Segment(Math.max(1, kapazitaet / SEGMENTE));
+    }
+
+    // Zielfunktion, die nur bisher unbekannte Gitterpunkte mit f auswertet (Batches bleiben Batches)
+    Zielfunktion umhuelle(Zielfunktion f) {
+        return new Zielfunktion() {
+            @Override
+            public double wert(double[] args) {
+                long schluessel = fingerabdruck(args);
+                Segment segment = segment(schluessel);
+                synchronized (segment) {
+                    int i = segment.suche(schluessel);
+                    if (segment.schluessel[i] == schluessel) {
+                        return segment.werte[i];
+                    }
+                }
+                // Auswertung außerhalb des Locks (wie im Bewertungscache)
+                double wert = f.wert(args);
+                synchronized (segment) {
+                    segment.fuegeEin(schluessel, wert);
+                }
+                return wert;
+            }
+
+            @Override
+            public void werte(double[] punkte, int dim, int anzahl, double[] werte) {
+                // belegt: erneuter Aufruf im selben Thread während f.werte (Work-Stealing im Pool)
+                Puffer p = puffer.get();
+                if (p.belegt)
+                    p = new Puffer();
+                p.belegt = true;
+                try {
+                    Gittermenge.this.werte(f, p, punkte, dim, anzahl, werte);
+                } finally {
+                    p.belegt = false;
+                }
+            }
+        };
+    }
+
+    // Batch über die Menge: bekannte Punkte direkt beantworten, nur die unbekannten als (verdichteter) Batch mit f
+    // auswerten; mehrfach im Batch vorkommende Punkte werden nur einmal ausgewertet (imBatch: Fingerabdruck ->
+    // Position des ersten Vorkommens)
+    private void werte(Zielfunktion f, Puffer p, double[] punkte, int dim, int anzahl, double[] werte) {
+        p.reserviere(anzahl, dim);
+        final long[] schluessel = p.schluessel;
+        final int[] unbekannt = p.unbekannt;
+        final int[] doppelt = p.doppelt;
+        final Segment imBatch = p.imBatch;
+        int fehlend = 0, doppelte = 0;
+        for (int i = 0; i < anzahl; i++) {
+            schluessel[i] = fingerabdruck(punkte, dim, anzahl, i);
+            Segment segment = segment(schluessel[i]);
+            boolean bekannt;
+            synchronized (segment) {
+                int j = segment.suche(schluessel[i]);
+                bekannt = segment.schluessel[j] == schluessel[i];
+                if (bekannt)
+                    werte[i] = segment.werte[j];
+            }
+            if (bekannt)
+                continue;
+            int j = imBatch.suche(schluessel[i]);
+            if (imBatch.schluessel[j] == schluessel[i]) {
+                doppelt[doppelte++] = i;
+            } else {
+                imBatch.fuegeEin(schluessel[i], i);
+                unbekannt[fehlend++] = i;
+            }
+        }
+        if (fehlend == 0)
+            return;
+
+        if (fehlend == anzahl) {
+            f.werte(punkte, dim, anzahl, werte);
+        } else {
+            final double[] verdichtet = p.verdichtet;
+            final double[] neueWerte = p.neueWerte;
+            for (int d = 0; d < dim; d++)
+                for (int j = 0; j < fehlend; j++)
+                    verdichtet[d * fehlend + j] = punkte[d * anzahl + unbekannt[j]];
+            f.werte(verdichtet, dim, fehlend, neueWerte);
+            for (int j = 0; j < fehlend; j++)
+                werte[unbekannt[j]] = neueWerte[j];
+        }
+        for (int j = 0; j < doppelte; j++) {
+            int i = doppelt[j];
+            werte[i] = werte[(int) imBatch.werte[imBatch.suche(schluessel[i])]];
+        }
+        for (int j = 0; j < fehlend; j++) {
+            int i = unbekannt[j];
+            Segment segment = segment(schluessel[i]);
+            synchronized (segment) {
+                segment.fuegeEin(schluessel[i], werte[i]);
+            }
+        }
+    }
+
+    private Segment segment(long schluessel) {
+        return segmente[(int) (schluessel >>> 60) & (SEGMENTE - 1)];
+    }
+
+    // Fingerabdruck der Gitterkoordinaten einer Stelle
+    private long fingerabdruck(double[] args) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (int d = 0; d < args.length; d++)
+            h = mische(h ^ domaenen[d].stufe(args[d]));
+        return h == LEER ? 1L : h;
+    }
+
+    // Fingerabdruck der Stelle i eines dimensionsweise abgelegten Batches
+    private long fingerabdruck(double[] punkte, int dim, int anzahl, int i) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (int d = 0; d < dim; d++)
+            h = mische(h ^ domaenen[d].stufe(punkte[d * anzahl + i]));
+        return h == LEER ? 1L : h;
+    }
+
+    // Finalisierer von SplitMix64 (jedes Eingabebit beeinflusst jedes Ausgabebit)
+    private static long mische(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Arbeitsspeicher eines Threads für Batches; wächst mit dem größten Batch und wird danach wiederverwendet
+    private static final class Puffer {
+        boolean belegt;
+        long[] schluessel = new long[0];
+        int[] unbekannt = new int[0];
+        int[] doppelt = new int[0];
+        double[] verdichtet = new double[0];
+        double[] neueWerte = new double[0];
+        final Segment imBatch = new Segment(Integer.MAX_VALUE); // Fingerabdruck -> Position im Batch
+
+        // Für einen Batch von anzahl Stellen mit dim Koordinaten vorbereiten (imBatch geleert)
+        void reserviere(int anzahl, int dim) {
+            if (schluessel.length < anzahl) {
+                schluessel = new long[anzahl];
+                unbekannt = new int[anzahl];
+                doppelt = new int[anzahl];
+                neueWerte = new double[anzahl];
+            }
+            if (verdichtet.length < anzahl * dim)
+                verdichtet = new double[anzahl * dim];
+            imBatch.leere();
+        }
+    }
+
+    // Ein Segment: offene Adressierung mit linearem Sondieren, Füllgrad höchstens 1/2
+    private static final class Segment {
+        private final int kapazitaet;
+        long[] schluessel = new long[16];
+        double[] werte = new double[16];
+        int anzahl;
+
+        Segment(int kapazitaet) {
+            this.kapazitaet = kapazitaet;
+        }
+
+        // Position von schluessel bzw. der freien Position, an die er gehört
+        int suche(long gesucht) {
+            int maske = schluessel.length - 1;
+            int i = (int) gesucht & maske;
+            while (schluessel[i] != LEER && schluessel[i] != gesucht)
+                i = (i + 1) & maske;
+            return i;
+        }
+
+        void leere() {
+            if (anzahl > 0)
+                Arrays.fill(schluessel, LEER);
+            anzahl = 0;
+        }
+
+        void fuegeEin(long neu, double wert) {
+            int i = suche(neu);
+            if (schluessel[i] == neu)
+                return; // gleichzeitig von einem anderen Thread ausgewertet
+            if (anzahl >= kapazitaet)
+                return;
+            schluessel[i] = neu;
+            werte[i] = wert;
+            if (++anzahl * 2 > schluessel.length)
+                vergroessere();
+        }
+
+        private void vergroessere() {
+            long[] alteSchluessel = schluessel;
+            double[] alteWerte = werte;
+            schluessel = new long[alteSchluessel.length * 2];
+            werte = new double[alteWerte.length * 2];
+            for (int j = 0; j < alteSchluessel.length; j++) {
+                if (alteSchluessel[j] != LEER) {
+                    int i = suche(alteSchluessel[j]);
+                    schluessel[i] = alteSchluessel[j];
+                    werte[i] = alteWerte[j];
+                }
+            }
+        }
+    }
+}
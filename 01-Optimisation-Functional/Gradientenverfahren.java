@@ -0,0 +1,162 @@
+// Quasi-Newton-Verfahren (BFGS) mit Gradienten aus der automatischen Differentiation, innerhalb der Grenzen w.
+// Minimiert wird der Schlüssel der Orientierung: f (MINIMUM), -f (MAXIMUM) bzw. f² (BETRAG; gleiche Nullstellen
+// wie |f|, aber differenzierbar). Jeder Schritt sucht entlang der Quasi-Newton-Richtung mit Rückverfolgung
+// (Armijo-Bedingung); Punkte außerhalb von w werden auf den Rand projiziert.
+// Im Einzugsbereich eines glatten Optimums konvergiert das superlinear, also mit wenigen Auswertungen.
+final class Gradientenverfahren {
+
+    private static final double ARMIJO = 1e-4;
+    private static final int RUECKVERFOLGUNG = 40; // höchstens so viele Halbierungen pro Schritt
+
+    private Gradientenverfahren() {}
+
+    // Verfeinert start mit den Ableitungen von f (ausgewertet über auswertung);
+    // schrittweiten: größter erster Schritt pro Dimension
+    static Stelle verfeinere(DualZielfunktion f, Verfeinerung.Auswertung auswertung, Stelle start, double[][] w, Orientierung orientierung,
+                             double[] schrittweiten, int budget, double toleranz) {
+        final int dim = w.length;
+        double[] x = start.args().clone();
+        for (int d = 0; d < dim; d++)
+            x[d] = Math.max(w[d][0], Math.min(w[d][1], x[d]));
+
+        if (auswertung.erschoepft())
+            return start;
+        double[] g = new double[dim];
+        double wert = auswertung.wert(f, x, g);
+        double ziel = ziel(wert, g, orientierung);
+        int bewertet = 1;
+
+        double[][] h = einheitsmatrix(dim); // Näherung der inversen Hesse-Matrix
+        boolean ersterSchritt = true;
+        final double[] richtung = new double[dim];
+        final double[] gNeu = new double[dim];
+
+        while (bewertet < budget && !auswertung.erschoepft() && projizierteNorm(x, g, w) > toleranz) {
+            // Richtung -H g, bei fehlendem Abstieg der Gradient
+            double abstieg = 0.0;
+            for (int i = 0; i < dim; i++) {
+                double summe = 0.0;
+                for (int j = 0; j < dim; j++)
+                    summe -= h[i][j] * g[j];
+                richtung[i] = summe;
+                abstieg += summe * g[i];
+            }
+            if (!(abstieg < 0.0)) {
+                h = einheitsmatrix(dim);
+                for (int i = 0; i < dim; i++)
+                    richtung[i] = -g[i];
+                ersterSchritt = true;
+            }
+
+            // der erste Schritt (ohne Krümmungsinformation) höchstens eine Schrittweite pro Dimension
+            double eta = 1.0;
+            if (ersterSchritt)
+                for (int d = 0; d < dim; d++)
+                    if (Math.abs(richtung[d]) * eta > schrittweiten[d])
+                        eta = schrittweiten[d] / Math.abs(richtung[d]);
+
+            // Rückverfolgung entlang der (auf w projizierten) Richtung
+            double[] xNeu = null;
+            double wertNeu = 0.0, zielNeu = 0.0;
+            boolean angenommen = false;
+            for (int k = 0; k < RUECKVERFOLGUNG && bewertet < budget; k++, eta *= 0.5) {
+                xNeu = new double[dim];
+                double erwartet = 0.0;
+                for (int d = 0; d < dim; d++) {
+                    xNeu[d] = Math.max(w[d][0], Math.min(w[d][1], x[d] + eta * richtung[d]));
+                    erwartet += g[d] * (xNeu[d] - x[d]);
+                }
+                wertNeu = auswertung.wert(f, xNeu, gNeu);
+                zielNeu = ziel(wertNeu, gNeu, orientierung);
+                bewertet++;
+                if (zielNeu <= ziel + ARMIJO * erwartet) {
+                    angenommen = true;
+                    break;
+                }
+            }
+            if (!angenommen)
+                break; // kein Fortschritt mehr möglich (Genauigkeit der Gleitkommazahlen erreicht)
+
+            // BFGS-Aktualisierung mit s = xNeu - x, y = gNeu - g (nur bei positiver Krümmung)
+            double[] s = new double[dim], y = new double[dim];
+            double sy = 0.0;
+            for (int d = 0; d < dim; d++) {
+                s[d] = xNeu[d] - x[d];
+                y[d] = gNeu[d] - g[d];
+                sy += s[d] * y[d];
+            }
+            if (sy > 1e-300) {
+                if (ersterSchritt) {
+                    // Startskalierung der Matrix mit sy / yy (übliche Heuristik)
+                    double yy = 0.0;
+                    for (int d = 0; d < dim; d++)
+                        yy += y[d] * y[d];
+                    h = einheitsmatrix(dim);
+                    for (int d = 0; d < dim; d++)
+                        h[d][d] = sy / yy;
+                }
+                aktualisiere(h, s, y, sy);
+                ersterSchritt = false;
+            }
+
+            x = xNeu;
+            wert = wertNeu;
+            ziel = zielNeu;
+            System.arraycopy(gNeu, 0, g, 0, dim);
+        }
+
+        return orientierung.besser(start.wert(), wert) ? start : new Stelle(x, wert);
+    }
+
+    // Schlüssel der Orientierung (kleiner = besser); der Gradient wird dabei auf den Schlüssel umgerechnet
+    private static double ziel(double wert, double[] g, Orientierung orientierung) {
+        switch (orientierung) {
+            case MAXIMUM:
+                for (int d = 0; d < g.length; d++)
+                    g[d] = -g[d];
+                return -wert;
+            case BETRAG:
+                for (int d = 0; d < g.length; d++)
+                    g[d] = 2.0 * wert * g[d];
+                return wert * wert;
+            default:
+                return wert;
+        }
+    }
+
+    // H = (I - ρ s yᵀ) H (I - ρ y sᵀ) + ρ s sᵀ mit ρ = 1 / sᵀy
+    private static void aktualisiere(double[][] h, double[] s, double[] y, double sy) {
+        final int dim = s.length;
+        final double rho = 1.0 / sy;
+        double[] hy = new double[dim];
+        double yhy = 0.0;
+        for (int i = 0; i < dim; i++) {
+            double summe = 0.0;
+            for (int j = 0; j < dim; j++)
+                summe += h[i][j] * y[j];
+            hy[i] = summe;
+            yhy += y[i] * summe;
+        }
+        for (int i = 0; i < dim; i++)
+            for (int j = 0; j < dim; j++)
+                h[i][j] += rho * ((1.0 + rho * yhy) * s[i] * s[j] - hy[i] * s[j] - s[i] * hy[j]);
+    }
+
+    // Norm des Gradienten ohne Anteile, die am Rand von w nach außen zeigen
+    private static double projizierteNorm(double[] x, double[] g, double[][] w) {
+        double summe = 0.0;
+        for (int d = 0; d < x.length; d++) {
+            boolean blockiert = (x[d] <= w[d][0] && g[d] > 0.0) || (x[d] >= w[d][1] && g[d] < 0.0);
+            if (!blockiert)
+                summe += g[d] * g[d];
+        }
+        return Math.sqrt(summe);
+    }
+
+    private static double[][] einheitsmatrix(int dim) {
+        double[][] h = new double[dim][dim];
+        for (int d = 0; d < dim; d++)
+            h[d][d] = 1.0;
+        return h;
+    }
+}
@@ -0,0 +1,71 @@
+import java.util.SplittableRandom;
+
+// Halton-Folge: Dimension d ist die Radikalinverse des Index zur d-ten Primzahl.
+// Verwürfelt durch eine zufällige Permutation der Ziffern pro Dimension (die 0 bleibt fest, sonst wären
+// unendlich viele führende Nullen betroffen) und einen zufälligen Startindex.
+// Die Permutationen brechen die Korrelation zwischen Dimensionen mit großen, benachbarten Basen auf.
+final class Haltonfolge implements Punktgenerator.Folge {
+
+    private final int dim;
+    private final int[] basen;
+    private final int[][] permutationen;
+    private long index;
+
+    Haltonfolge(int dim, SplittableRandom zufall) {
+        this.dim = dim;
+        this.basen = primzahlen(dim);
+        this.permutationen = new int[dim][];
+        for (int d = 0; d < dim; d++) {
+            int b = basen[d];
+            int[] p = new int[b];
+            for (int z = 0; z < b; z++)
+                p[z] = z;
+            for (int z = b - 1; z > 1; z--) {
+                int j = 1 + zufall.nextInt(z);
+                int h = p[z];
+                p[z] = p[j];
+                p[j] = h;
+            }
+            permutationen[d] = p;
+        }
+        this.index = 1 + zufall.nextInt(1 << 20);
+    }
+
+    @Override
+    public void naechste(double[] punkte, int anzahl) {
+        for (int i = 0; i < anzahl; i++) {
+            for (int d = 0; d < dim; d++)
+                punkte[d * anzahl + i] = radikalinverse(index, basen[d], permutationen[d]);
+            index++;
+        }
+    }
+
+    // Ziffern von k zur Basis b (permutiert) hinter das Komma gespiegelt
+    private static double radikalinverse(long k, int b, int[] permutation) {
+        double kehrwert = 1.0 / b, stelle = kehrwert, ergebnis = 0.0;
+        while (k > 0) {
+            ergebnis += permutation[(int) (k % b)] * stelle;
+            k /= b;
+            stelle *= kehrwert;
+        }
+        return ergebnis;
+    }
+
+    // Die ersten anzahl Primzahlen
+    private static int[] primzahlen(int anzahl) {
+        int[] p = new int[anzahl];
+        int gefunden = 0;
+        for (int z = 2; gefunden < anzahl; z++) {
+            boolean prim = true;
+            for (int i = 0; i < gefunden && p[i] * p[i] <= z; i++) {
+                if (z % p[i] == 0) {
+                    prim = false;
+                    break;
+                }
+            }
+            if (prim)
+                p[gefunden++] = z;
+        }
+        return p;
+    }
+}
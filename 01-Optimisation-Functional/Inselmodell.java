@@ -0,0 +1,146 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+// Inselmodell: mehrere unabhängige Suchläufe (Inseln) laufen gleichzeitig im ForkJoinPool.
+// Alle intervall Generationen wandern die besten Stellen gemäß Topologie auf andere Inseln aus und ersetzen dort
+// die schlechtesten. Eine einzelne Population konzentriert sich oft auf wenige Optima;
+// getrennte Inseln erhalten die Vielfalt und skalieren über mehrere Kerne.
+// Jede Insel sucht mit den übergebenen BAParameter (n ist also die Anzahl der Kundschafterinnen pro Insel).
+// Das Abbruchkriterium der Optionen gilt zusätzlich für alle Inseln gemeinsam: Auswertungen werden über alle Inseln
+// summiert, bester Wert und Stagnation beziehen sich auf die beste Insel, die Frist auf den Start des Inselmodells.
+// Ein Budget (z.B. Abbruchkriterium.bewertungen) ist also das Budget aller Inseln zusammen.
+public final class Inselmodell {
+
+    private Inselmodell() {}
+
+    // Führt BeesAlgorithm auf mehreren Inseln aus und gibt die r besten Stellen aller Inseln zurück
+    public static List<Stelle> search(BAParameter parameter, Inselparameter inseln) {
+        if (inseln.migranten() >= parameter.n())
+            throw new IllegalArgumentException("Die Anzahl der Migranten muss kleiner n sein!");
+
+        ForkJoinPool pool = parameter.optionen().istParallel() ? parameter.optionen().pool() : ForkJoinPool.commonPool();
+        return pool.invoke(ForkJoinTask.adapt(() -> suche(parameter, inseln)));
+    }
+
+    private static List<Stelle> suche(BAParameter parameter, Inselparameter inseln) {
+        final int k = inseln.inseln();
+        final SplittableRandom zufall = new SplittableRandom();
+
+        final Gesamtstand gesamt = new Gesamtstand(parameter);
+
+        // Startinitialisierung aller Inseln (parallel)
+        Suchlauf[] laeufe = IntStream.range(0, k).parallel()
+                .mapToObj(i -> new Suchlauf(parameter))
+                .toArray(Suchlauf[]::new);
+
+        boolean beendet = gesamt.istBeendet(laeufe);
+        while (!beendet) {
+            // Jede Insel sucht bis zur nächsten Migration für sich (parallel, je Generation,
+            // damit das gemeinsame Abbruchkriterium nach jeder Generation geprüft wird)
+            for (int g = 0; g < inseln.intervall() && !beendet; g++) {
+                IntStream.range(0, k).parallel()
+                        .filter(i -> !laeufe[i].istBeendet())
+                        .forEach(i -> laeufe[i].schritt());
+                beendet = gesamt.istBeendet(laeufe);
+            }
+
+            // Migration (sequentiell, zwischen den Generationen)
+            if (k > 1 && inseln.migranten() > 0 && !beendet)
+                migriere(laeufe, inseln, parameter, zufall);
+        }
+
+        // Die r besten Stellen aller Inseln zurückgeben. Jede Insel nimmt nur neue Stellen auf, ein Migrant kann
+        // aber auf seiner Herkunftsinsel und auf der Zielinsel liegen: bei gleichem Wert nach den Koordinaten
+        // sortiert, stehen gleiche Stellen nebeneinander und zählen nur einmal
+        List<Stelle> alle = new ArrayList<>();
+        for (Suchlauf lauf : laeufe)
+            alle.addAll(lauf.ergebnis(parameter.r()));
+        alle.sort(Funktionen.stellenComparator(parameter.c()).thenComparing(Stelle::args, Arrays::compare));
+        List<Stelle> beste = new ArrayList<>(parameter.r());
+        for (int i = 0; i < alle.size() && beste.size() < parameter.r(); i++)
+            if (i == 0 || !Arrays.equals(alle.get(i).args(), alle.get(i - 1).args()))
+                beste.add(alle.get(i));
+        beste = List.copyOf(beste);
+
+        // ggf. abschließend verfeinern
+        Verfeinerung verfeinerung = parameter.optionen().verfeinerung();
+        return verfeinerung == null ? beste : verfeinerung.verfeinere(beste, parameter, gesamt.stand(laeufe));
+    }
+
+    // Stand aller Inseln zusammen, für das gemeinsame Abbruchkriterium
+    private static final class Gesamtstand {
+        private final Abbruchkriterium abbruch; // null = nur die Kriterien der einzelnen Inseln
+        private final Vergleichsfunktion c;
+        private final long startNanos = System.nanoTime();
+        private double besterWert = Double.NaN;
+        private int letzteVerbesserung; // Generation
+
+        Gesamtstand(BAParameter parameter) {
+            this.abbruch = parameter.optionen().abbruch();
+            this.c = parameter.c();
+        }
+
+        // Sind alle Inseln beendet oder ist das gemeinsame Kriterium erreicht?
+        boolean istBeendet(Suchlauf[] laeufe) {
+            boolean alleBeendet = true;
+            for (Suchlauf lauf : laeufe)
+                alleBeendet &= lauf.istBeendet();
+            if (alleBeendet || abbruch == null)
+                return alleBeendet;
+            return abbruch.erreicht(stand(laeufe));
+        }
+
+        // Gemeinsamer Stand: höchste Generation, Auswertungen aller Inseln, bester Wert der besten Insel
+        Suchstand stand(Suchlauf[] laeufe) {
+            int generation = 0;
+            long bewertungen = 0;
+            double besterWert = this.besterWert;
+            for (Suchlauf lauf : laeufe) {
+                Suchstand stand = lauf.suchstand();
+                generation = Math.max(generation, stand.generation());
+                bewertungen += stand.bewertungen();
+                if (Double.isNaN(besterWert) || Funktionen.vergleiche(c, stand.besterWert(), besterWert) < 0)
+                    besterWert = stand.besterWert();
+            }
+            if (Double.isNaN(this.besterWert) || Funktionen.vergleiche(c, besterWert, this.besterWert) < 0) {
+                this.besterWert = besterWert;
+                letzteVerbesserung = generation;
+            }
+            return new Suchstand(generation, bewertungen, this.besterWert, generation - letzteVerbesserung,
+                    System.nanoTime() - startNanos);
+        }
+    }
+
+    // Die besten Stellen wandern gemäß Topologie aus und ersetzen die schlechtesten Stellen der Zielinsel
+    private static void migriere(Suchlauf[] laeufe, Inselparameter inseln, BAParameter parameter, SplittableRandom zufall) {
+        final int k = laeufe.length;
+
+        // Erst alle Auswanderer bestimmen, damit Migranten nicht in derselben Migration weiterwandern
+        List<List<Stelle>> auswanderer = new ArrayList<>(k);
+        for (Suchlauf lauf : laeufe)
+            auswanderer.add(lauf.beste(inseln.migranten()));
+
+        for (int i = 0; i < k; i++) {
+            List<Stelle> kandidaten = new ArrayList<>();
+            switch (inseln.topologie()) {
+                case RING -> kandidaten.addAll(auswanderer.get((i - 1 + k) % k));
+                case VOLLSTAENDIG -> {
+                    for (int j = 0; j < k; j++)
+                        if (j != i)
+                            kandidaten.addAll(auswanderer.get(j));
+                }
+                case ZUFAELLIG -> {
+                    int j = zufall.nextInt(k - 1);
+                    kandidaten.addAll(auswanderer.get(j >= i ? j + 1 : j)); // eine andere Insel als i
+                }
+            }
+            kandidaten.sort(Funktionen.stellenComparator(parameter.c()));
+            laeufe[i].nimmAuf(kandidaten.subList(0, Math.min(inseln.migranten(), kandidaten.size())));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+// Bündelt die Parameter des Inselmodells
+public record Inselparameter(int inseln, // Anzahl der unabhängigen Populationen (Inseln)
+                             int intervall, // Anzahl der Generationen zwischen zwei Migrationen
+                             int migranten, // Anzahl der besten Stellen, die pro Migration auf eine Insel einwandern
+                             Topologie topologie) { // von welchen Inseln eine Insel Migranten bekommt
+
+    // Verbindungen zwischen den Inseln
+    public enum Topologie {
+        RING, // Insel i bekommt Migranten von Insel i-1
+        VOLLSTAENDIG, // Insel i bekommt die besten Migranten aller anderen Inseln
+        ZUFAELLIG // Insel i bekommt Migranten von einer bei jeder Migration neu gewählten anderen Insel
+    }
+
+    // Konstruktor
+    public Inselparameter {
+        // Validierung aller Parameter
+        if (inseln <= 0)
+            throw new IllegalArgumentException("Die Anzahl der Inseln muss größer 0 sein!");
+        if (intervall <= 0)
+            throw new IllegalArgumentException("Die Anzahl der Generationen zwischen zwei Migrationen muss größer 0 sein!");
+        if (migranten < 0)
+            throw new IllegalArgumentException("Die Anzahl der Migranten darf nicht kleiner 0 sein!");
+        if (topologie == null)
+            throw new IllegalArgumentException("Die Topologie darf nicht null sein!");
+    }
+}
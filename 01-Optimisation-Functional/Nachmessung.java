@@ -0,0 +1,148 @@
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+// Racing eines Suchlaufs für verrauschte Zielfunktionen (siehe Rauschen): Stellen, deren Rang an einer
+// Auswahlgrenze noch nicht mit der Sicherheit des Rauschens feststeht, werden erneut gemessen; die Werte der
+// Population sind dann Mittelwerte. Die Streuung des Rauschens wird über alle Stellen gepoolt geschätzt (auch
+// parallel). Benötigt eine bekannte Orientierung von c (Abstände zwischen Werten, geprüft in BAParameter).
+final class Nachmessung {
+
+    private final Rauschen rauschen;
+    private final BAParameter parameter;
+    private final Population population;
+    private final Orientierung orientierung;
+    private final Zielfunktion f; // jede Messung eine Auswertung (kein Cache, keine Gittermenge)
+    private final boolean parallel;
+
+    // Arbeitsspeicher: Indizes der offenen Stellen, deren Koordinaten und neue Messungen
+    private final int[] offen;
+    private final double[][] stellen;
+    private final double[] messwerte;
+
+    // über alle Stellen gepoolte Quadratsumme mit ihren Freiheitsgraden
+    private final DoubleAdder gepoolteQuadratsumme = new DoubleAdder();
+    private final LongAdder freiheitsgrade = new LongAdder();
+
+    Nachmessung(Rauschen rauschen, BAParameter parameter, Population population, Zielfunktion f) {
+        this.rauschen = rauschen;
+        this.parameter = parameter;
+        this.population = population;
+        this.orientierung = Orientierung.erkenne(parameter.c());
+        this.f = f;
+        this.parallel = parameter.optionen().istParallel();
+        this.offen = new int[parameter.n()];
+        this.stellen = new double[parameter.n()][parameter.w().length];
+        this.messwerte = new double[parameter.n()];
+    }
+
+    // Stellen, deren Rang an einer Auswahlgrenze (vor Rang e, m bzw. r) noch offen ist, werden erneut ausgewertet;
+    // danach wird neu sortiert und wieder geprüft, bis keine Stelle mehr offen ist oder das Budget der Generation
+    // verbraucht ist. Gibt die Anzahl der Nachmessungen zurück. abschluss: nur die Grenzen des Ergebnisses
+    // (vor Rang 1 und r) prüfen
+    int nachmessen(boolean abschluss) {
+        final int n = parameter.n();
+        int verbraucht = 0;
+        while (verbraucht < rauschen.budget()) {
+            population.waehle(n, parameter.c(), orientierung);
+            final double gepoolteVarianz = gepoolteVarianz();
+
+            int anzahl = 0;
+            for (int platz = 0; platz < n && verbraucht + anzahl < rauschen.budget(); platz++) {
+                int index = population.index(platz);
+                if (population.messungen(index) < rauschen.messungen()
+                        && (offen(platz, index, parameter.r(), gepoolteVarianz)
+                        || (abschluss ? offen(platz, index, 1, gepoolteVarianz)
+                                : offen(platz, index, parameter.e(), gepoolteVarianz)
+                                || offen(platz, index, parameter.m(), gepoolteVarianz))))
+                    offen[anzahl++] = index;
+            }
+            if (anzahl == 0)
+                break;
+
+            // die offenen Stellen erneut auswerten (im parallelen Modus parallel) und die Messungen aufnehmen
+            for (int i = 0; i < anzahl; i++)
+                population.leseKoordinaten(offen[i], stellen[i]);
+            IntStream nummern = IntStream.range(0, anzahl);
+            (parallel ? nummern.parallel() : nummern).forEach(i -> messwerte[i] = f.wert(stellen[i]));
+            for (int i = 0; i < anzahl; i++)
+                poole(population.messe(offen[i], messwerte[i]));
+            verbraucht += anzahl;
+        }
+        return verbraucht;
+    }
+
+    // Racing zwischen dem Zentrum und der besten rekrutierten Biene (Stelle platz der nächsten Generation mit einer
+    // Messung): beide werden nachgemessen, bis der Unterschied ihrer Mittelwerte mit der Sicherheit des Rauschens
+    // feststeht oder ihre Messungen erschöpft sind. Bleibt die Biene besser, erhält sie ihren Mittelwert, sonst wird
+    // das (nun genauer gemessene) Zentrum übernommen; true, wenn die Biene besser bleibt.
+    // biene und stelleZentrum: Arbeitsspeicher des Feldes für die Koordinaten (je mindestens dim lang)
+    boolean bestaetige(int platz, int zentrum, double[] biene, double[] stelleZentrum) {
+        population.leseNeueKoordinaten(platz, biene);
+        population.leseKoordinaten(zentrum, stelleZentrum);
+
+        int anzahl = 1;
+        double mittel = population.neuerWert(platz), quadratsumme = 0.0;
+        while (true) {
+            final boolean zentrumOffen = population.messungen(zentrum) < rauschen.messungen();
+            final boolean bieneOffen = anzahl < rauschen.messungen();
+            if (!zentrumOffen && !bieneOffen)
+                break;
+            final double gepoolteVarianz = gepoolteVarianz();
+            final double fehlerZentrum = rauschen.standardfehler(population.messungen(zentrum),
+                    population.quadratsumme(zentrum), gepoolteVarianz);
+            final double fehlerBiene = rauschen.standardfehler(anzahl, quadratsumme, gepoolteVarianz);
+            final double abstand = orientierung.schluessel(population.wert(zentrum)) - orientierung.schluessel(mittel);
+            if (Math.abs(abstand) >= rauschen.sicherheit() * Math.hypot(fehlerZentrum, fehlerBiene))
+                break; // entschieden (ohne Schätzung der Streuung ist der Fehler NaN und es wird gemessen)
+
+            if (bieneOffen) {
+                double wert = f.wert(biene);
+                double abweichung = wert - mittel;
+                mittel += abweichung / ++anzahl;
+                double zuwachs = abweichung * (wert - mittel);
+                quadratsumme += zuwachs;
+                poole(zuwachs);
+            }
+            if (zentrumOffen)
+                poole(population.messe(zentrum, f.wert(stelleZentrum)));
+        }
+
+        if (orientierung.besser(mittel, population.wert(zentrum))) {
+            population.setze(platz, biene, mittel);
+            population.setzeMessungen(platz, anzahl, quadratsumme);
+            return true;
+        }
+        population.uebernehme(zentrum, platz);
+        return false;
+    }
+
+    // Nimmt den Zuwachs einer Quadratsumme durch eine weitere Messung in die gepoolte Schätzung auf
+    private void poole(double zuwachs) {
+        gepoolteQuadratsumme.add(zuwachs);
+        freiheitsgrade.increment();
+    }
+
+    // Über alle Stellen gepoolte Varianz des Rauschens, NaN solange keine Stelle mehrfach gemessen wurde
+    private double gepoolteVarianz() {
+        long n = freiheitsgrade.sum();
+        return n > 0 ? gepoolteQuadratsumme.sum() / n : Double.NaN;
+    }
+
+    // Ist der Rang der Stelle index (auf Platz platz der vollständigen Sortierung) an der Grenze zwischen
+    // grenze - 1 und grenze noch offen? Ohne Schätzung der Streuung sind es nur die beiden Stellen an der Grenze
+    private boolean offen(int platz, int index, int grenze, double gepoolteVarianz) {
+        if (grenze <= 0 || grenze >= parameter.n())
+            return false;
+        final double fehler = rauschen.standardfehler(population.messungen(index), population.quadratsumme(index),
+                gepoolteVarianz);
+        if (Double.isNaN(fehler))
+            return platz == grenze - 1 || platz == grenze;
+
+        // die Grenze liegt zwischen den Schlüsseln der Stellen auf den Plätzen grenze - 1 und grenze
+        final double schwelle = (orientierung.schluessel(population.wert(population.index(grenze - 1)))
+                + orientierung.schluessel(population.wert(population.index(grenze)))) / 2.0;
+        return Math.abs(orientierung.schluessel(population.wert(index)) - schwelle)
+                < rauschen.sicherheit() * fehler;
+    }
+}
@@ -0,0 +1,137 @@
+// Simplex-Verfahren nach Nelder und Mead (ohne Ableitungen) innerhalb der Grenzen w.
+// Ein Simplex aus dim + 1 Stellen wird durch Spiegeln, Strecken und Stauchen der schlechtesten Stelle
+// verschoben, bis er klein genug ist oder das Budget an Auswertungen (pro Stelle oder das der Suche) verbraucht ist.
+// Verglichen wird ausschließlich über c, das Verfahren funktioniert also für jede Vergleichsfunktion.
+final class NelderMead {
+
+    private static final double SPIEGELN = 1.0, STRECKEN = 2.0, STAUCHEN = 0.5, SCHRUMPFEN = 0.5;
+
+    private NelderMead() {}
+
+    // Verfeinert start; schrittweiten: Kantenlängen des Startsimplex pro Dimension
+    static Stelle verfeinere(Verfeinerung.Auswertung f, Stelle start, double[][] w, Vergleichsfunktion c,
+                             double[] schrittweiten, int budget, double toleranz) {
+        final int dim = w.length;
+        final double[][] ecken = new double[dim + 1][];
+        final double[] werte = new double[dim + 1];
+        if (f.erschoepft())
+            return start;
+
+        // Startsimplex: start und je ein Schritt pro Dimension (nach innen, falls start am Rand liegt)
+        ecken[0] = start.args().clone();
+        werte[0] = start.wert();
+        for (int i = 1; i <= dim; i++) {
+            double[] ecke = start.args().clone();
+            int d = i - 1;
+            ecke[d] += ecke[d] + schrittweiten[d] <= w[d][1] ? schrittweiten[d] : -schrittweiten[d];
+            beschraenke(ecke, w);
+            ecken[i] = ecke;
+            werte[i] = f.wert(ecke);
+        }
+        int bewertet = dim;
+
+        final double[] mitte = new double[dim];
+        while (bewertet < budget && !f.erschoepft()) {
+            sortiere(ecken, werte, c);
+            if (klein(ecken, w, toleranz))
+                break;
+
+            // Schwerpunkt aller Ecken außer der schlechtesten
+            for (int d = 0; d < dim; d++) {
+                double summe = 0.0;
+                for (int i = 0; i < dim; i++)
+                    summe += ecken[i][d];
+                mitte[d] = summe / dim;
+            }
+
+            final double[] schlechteste = ecken[dim];
+            double[] gespiegelt = punkt(mitte, schlechteste, -SPIEGELN, w);
+            double wertGespiegelt = f.wert(gespiegelt);
+            bewertet++;
+
+            if (besser(c, wertGespiegelt, werte[0])) {
+                // sehr gut: weiter in diese Richtung strecken
+                double[] gestreckt = punkt(mitte, schlechteste, -STRECKEN, w);
+                double wertGestreckt = f.wert(gestreckt);
+                bewertet++;
+                if (besser(c, wertGestreckt, wertGespiegelt))
+                    ersetze(ecken, werte, dim, gestreckt, wertGestreckt);
+                else
+                    ersetze(ecken, werte, dim, gespiegelt, wertGespiegelt);
+            } else if (besser(c, wertGespiegelt, werte[dim - 1])) {
+                ersetze(ecken, werte, dim, gespiegelt, wertGespiegelt);
+            } else {
+                // stauchen (außen, falls die Spiegelung immerhin besser als die schlechteste Ecke ist, sonst innen)
+                boolean aussen = besser(c, wertGespiegelt, werte[dim]);
+                double[] gestaucht = punkt(mitte, schlechteste, aussen ? -STAUCHEN : STAUCHEN, w);
+                double wertGestaucht = f.wert(gestaucht);
+                bewertet++;
+                if (besser(c, wertGestaucht, aussen ? wertGespiegelt : werte[dim])) {
+                    ersetze(ecken, werte, dim, gestaucht, wertGestaucht);
+                } else {
+                    // alles zur besten Ecke hin schrumpfen
+                    for (int i = 1; i <= dim && bewertet < budget && !f.erschoepft(); i++) {
+                        for (int d = 0; d < dim; d++)
+                            ecken[i][d] = ecken[0][d] + SCHRUMPFEN * (ecken[i][d] - ecken[0][d]);
+                        werte[i] = f.wert(ecken[i]);
+                        bewertet++;
+                    }
+                }
+            }
+        }
+
+        sortiere(ecken, werte, c);
+        return besser(c, start.wert(), werte[0]) ? start : new Stelle(ecken[0], werte[0]);
+    }
+
+    // mitte + faktor * (ecke - mitte), auf w beschränkt
+    private static double[] punkt(double[] mitte, double[] ecke, double faktor, double[][] w) {
+        double[] p = new double[mitte.length];
+        for (int d = 0; d < p.length; d++)
+            p[d] = mitte[d] + faktor * (ecke[d] - mitte[d]);
+        beschraenke(p, w);
+        return p;
+    }
+
+    private static void beschraenke(double[] p, double[][] w) {
+        for (int d = 0; d < p.length; d++)
+            p[d] = Math.max(w[d][0], Math.min(w[d][1], p[d]));
+    }
+
+    private static void ersetze(double[][] ecken, double[] werte, int i, double[] ecke, double wert) {
+        ecken[i] = ecke;
+        werte[i] = wert;
+    }
+
+    // Ist der Simplex in jeder Dimension kleiner als toleranz (relativ zur Breite des Suchbereichs)?
+    private static boolean klein(double[][] ecken, double[][] w, double toleranz) {
+        for (int d = 0; d < w.length; d++) {
+            double grenze = toleranz * (w[d][1] - w[d][0]);
+            for (int i = 1; i < ecken.length; i++)
+                if (Math.abs(ecken[i][d] - ecken[0][d]) > grenze)
+                    return false;
+        }
+        return true;
+    }
+
+    // Ecken nach c sortieren (bestes vorne, Einfügen: der Simplex ist fast sortiert)
+    private static void sortiere(double[][] ecken, double[] werte, Vergleichsfunktion c) {
+        for (int i = 1; i < werte.length; i++) {
+            double[] ecke = ecken[i];
+            double wert = werte[i];
+            int j = i - 1;
+            while (j >= 0 && besser(c, wert, werte[j])) {
+                ecken[j + 1] = ecken[j];
+                werte[j + 1] = werte[j];
+                j--;
+            }
+            ecken[j + 1] = ecke;
+            werte[j + 1] = wert;
+        }
+    }
+
+    // Ist a echt besser als b? (bei gleichen Werten wählt c den ersten, also b)
+    private static boolean besser(Vergleichsfunktion c, double a, double b) {
+        return Funktionen.vergleiche(c, b, a) > 0;
+    }
+}
@@ -0,0 +1,109 @@
+// Richtung einer Vergleichsfunktion c, einmal pro Suche ermittelt.
+// Ist die Richtung bekannt, wird jeder Wert auf einen Schlüssel abgebildet (kleinerer Schlüssel = besser),
+// sodass Vergleiche ohne Aufruf von c als einfacher Vergleich zweier double-Werte erfolgen.
+// Bekannt ist die Richtung nur für Vergleichsfunktion.MINIMUM, MAXIMUM und BETRAG (ausdrücklich angegeben);
+// jede andere Vergleichsfunktion gilt als UNBEKANNT, auch wenn sie sich wie eine dieser verhält.
+public enum Orientierung {
+
+    // c wählt den kleineren Wert (Vergleichsfunktion.MINIMUM)
+    MINIMUM {
+        @Override
+        double roherSchluessel(double wert) {
+            return wert;
+        }
+
+        @Override
+        Vergleichsfunktion vergleichsfunktion() {
+            return Vergleichsfunktion.MINIMUM;
+        }
+    },
+
+    // c wählt den größeren Wert (Vergleichsfunktion.MAXIMUM)
+    MAXIMUM {
+        @Override
+        double roherSchluessel(double wert) {
+            return -wert;
+        }
+
+        @Override
+        Vergleichsfunktion vergleichsfunktion() {
+            return Vergleichsfunktion.MAXIMUM;
+        }
+    },
+
+    // c wählt den Wert mit kleinerem Betrag (näher an 0, z.B. für Nullstellen; Vergleichsfunktion.BETRAG)
+    BETRAG {
+        @Override
+        double roherSchluessel(double wert) {
+            return Math.abs(wert);
+        }
+
+        @Override
+        Vergleichsfunktion vergleichsfunktion() {
+            return Vergleichsfunktion.BETRAG;
+        }
+    },
+
+    // c entspricht keiner der obigen Formen; es muss über c selbst verglichen werden
+    UNBEKANNT {
+        @Override
+        double roherSchluessel(double wert) {
+            throw new UnsupportedOperationException("Für eine unbekannte Orientierung gibt es keinen Schlüssel!");
+        }
+
+        @Override
+        Vergleichsfunktion vergleichsfunktion() {
+            throw new UnsupportedOperationException("Für eine unbekannte Orientierung gibt es keine Vergleichsfunktion!");
+        }
+    };
+
+    // Testwerte zur Erkennung (paarweise verschiedene Beträge, damit BETRAG eindeutig ist)
+    private static final double[] PROBEN = {-12.0, -7.0, -3.0, -0.5, -1e-3, 0.25, 1.0, 2.0, 5.0, 9.0, 1e6};
+
+    abstract double roherSchluessel(double wert);
+
+    abstract Vergleichsfunktion vergleichsfunktion();
+
+    // Schlüssel eines Wertes: kleiner = besser; NaN ist immer am schlechtesten
+    public double schluessel(double wert) {
+        double k = roherSchluessel(wert);
+        return k != k ? Double.POSITIVE_INFINITY : k;
+    }
+
+    // Ist kandidat echt besser als bisher?
+    public boolean besser(double kandidat, double bisher) {
+        return schluessel(kandidat) < schluessel(bisher);
+    }
+
+    // Orientierung von c: bekannt nur für die Konstanten in Vergleichsfunktion
+    public static Orientierung erkenne(Vergleichsfunktion c) {
+        for (Orientierung o : new Orientierung[]{MINIMUM, MAXIMUM, BETRAG}) {
+            if (c == o.vergleichsfunktion())
+                return o;
+        }
+        return UNBEKANNT;
+    }
+
+    // Errät die Orientierung von c anhand aller Paare von Testwerten (nur über Vergleichsfunktion.erkenne, Opt-in)
+    static Orientierung ausProben(Vergleichsfunktion c) {
+        for (Orientierung o : new Orientierung[]{MINIMUM, MAXIMUM, BETRAG}) {
+            if (passt(o, c))
+                return o;
+        }
+        return UNBEKANNT;
+    }
+
+    // Wählt c für alle Testpaare denselben Wert wie o?
+    private static boolean passt(Orientierung o, Vergleichsfunktion c) {
+        for (double a : PROBEN) {
+            for (double b : PROBEN) {
+                if (a == b)
+                    continue;
+                double erwartet = o.roherSchluessel(a) < o.roherSchluessel(b) ? a : b;
+                if (Double.doubleToLongBits(c.besser(a, b)) != Double.doubleToLongBits(erwartet))
+                    return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,331 @@
+import java.util.Arrays;
+
+// Population einer Generation als Struktur aus flachen Arrays (structure-of-arrays):
+// die Koordinaten aller Stellen liegen hintereinander in einem double[] (Stelle i ab Index i * dim),
+// die Werte in einem zweiten double[], der Zustand der lokalen Suche (Feldgröße, Stillstand) und die Messungen
+// (Anzahl und Quadratsumme, für verrauschte Zielfunktionen) in weiteren Arrays.
+// Es gibt zwei solche Puffer (aktuelle und nächste Generation), die nach jedem Schritt getauscht werden.
+// Dadurch wird pro Generation kein Speicher neu angelegt.
+public final class Population {
+
+    private final int dim; // Anzahl der Argumente pro Stelle
+    private final int groesse; // Anzahl der Stellen pro Generation
+
+    // aktuelle Generation (wird gelesen)
+    private double[] koordinaten;
+    private double[] werte;
+    private double[] faktoren; // Feldgröße relativ zu s (Schrumpfung), pro Stelle
+    private int[] stillstand; // Generationen ohne Verbesserung durch lokale Suche, pro Stelle
+    private int[] messungen; // Anzahl der Auswertungen, deren Mittelwert der Wert ist, pro Stelle
+    private double[] quadratsummen; // Summe der quadrierten Abweichungen der Messungen vom Mittelwert, pro Stelle
+
+    // nächste Generation (wird beschrieben)
+    private double[] neueKoordinaten;
+    private double[] neueWerte;
+    private double[] neueFaktoren;
+    private int[] neuerStillstand;
+    private int[] neueMessungen;
+    private double[] neueQuadratsummen;
+
+    // Indizes der aktuellen Generation, nach "besser" sortiert (bestes vorne)
+    private final int[] rang;
+    private final int[] hilfsRang; // Zwischenspeicher für Mergesort
+    private final double[] schluessel; // Schlüssel der aktuellen Generation für die Auswahl (kleiner = besser)
+    private int kleinerBis, groesserAb; // Ergebnis der letzten Dreiteilung (siehe teile)
+
+    public Population(int dim, int groesse) {
+        this.dim = dim;
+        this.groesse = groesse;
+        this.koordinaten = new double[groesse * dim];
+        this.werte = new double[groesse];
+        this.neueKoordinaten = new double[groesse * dim];
+        this.neueWerte = new double[groesse];
+        this.faktoren = new double[groesse];
+        this.stillstand = new int[groesse];
+        this.neueFaktoren = new double[groesse];
+        this.neuerStillstand = new int[groesse];
+        this.messungen = new int[groesse];
+        this.quadratsummen = new double[groesse];
+        this.neueMessungen = new int[groesse];
+        this.neueQuadratsummen = new double[groesse];
+        this.rang = new int[groesse];
+        this.hilfsRang = new int[groesse];
+        this.schluessel = new double[groesse];
+    }
+
+    public int dim() {
+        return dim;
+    }
+
+    public int groesse() {
+        return groesse;
+    }
+
+    // Wert der Stelle index der aktuellen Generation
+    public double wert(int index) {
+        return werte[index];
+    }
+
+    // Koordinate d der Stelle index der aktuellen Generation
+    public double koordinate(int index, int d) {
+        return koordinaten[index * dim + d];
+    }
+
+    // Gibt es in der aktuellen Generation eine Stelle mit genau den Koordinaten args?
+    public boolean enthaelt(double[] args) {
+        for (int index = 0; index < groesse; index++)
+            if (Arrays.equals(koordinaten, index * dim, (index + 1) * dim, args, 0, dim))
+                return true;
+        return false;
+    }
+
+    // Feldgröße der Stelle index der aktuellen Generation relativ zu s (1 = ungeschrumpft)
+    public double faktor(int index) {
+        return faktoren[index];
+    }
+
+    // Generationen ohne Verbesserung der Stelle index der aktuellen Generation
+    public int stillstand(int index) {
+        return stillstand[index];
+    }
+
+    // Anzahl der Messungen der Stelle index der aktuellen Generation (der Wert ist ihr Mittelwert)
+    public int messungen(int index) {
+        return messungen[index];
+    }
+
+    // Summe der quadrierten Abweichungen der Messungen der Stelle index der aktuellen Generation vom Mittelwert
+    public double quadratsumme(int index) {
+        return quadratsummen[index];
+    }
+
+    // Nimmt eine weitere Messung wert der Stelle index der aktuellen Generation auf: der Wert der Stelle wird
+    // zum laufenden Mittelwert aller Messungen (Welford); gibt den Zuwachs der Quadratsumme zurück
+    public double messe(int index, double wert) {
+        int anzahl = ++messungen[index];
+        double abweichung = wert - werte[index];
+        werte[index] += abweichung / anzahl;
+        double zuwachs = abweichung * (wert - werte[index]);
+        quadratsummen[index] += zuwachs;
+        return zuwachs;
+    }
+
+    // Index der Stelle mit Rang platz (0 = beste) der aktuellen Generation; gültig nach sortiere(...)
+    public int index(int platz) {
+        return rang[platz];
+    }
+
+    // Kopiert die Koordinaten der Stelle index der aktuellen Generation nach ziel
+    public void leseKoordinaten(int index, double[] ziel) {
+        System.arraycopy(koordinaten, index * dim, ziel, 0, dim);
+    }
+
+    // Kopiert die Koordinaten der Stelle index der nächsten Generation nach ziel
+    public void leseNeueKoordinaten(int index, double[] ziel) {
+        System.arraycopy(neueKoordinaten, index * dim, ziel, 0, dim);
+    }
+
+    // Übernimmt Stelle quelle der aktuellen Generation (samt Zustand und Messungen) als Stelle ziel in die nächste Generation
+    public void uebernehme(int quelle, int ziel) {
+        System.arraycopy(koordinaten, quelle * dim, neueKoordinaten, ziel * dim, dim);
+        neueWerte[ziel] = werte[quelle];
+        neueFaktoren[ziel] = faktoren[quelle];
+        neuerStillstand[ziel] = stillstand[quelle];
+        neueMessungen[ziel] = messungen[quelle];
+        neueQuadratsummen[ziel] = quadratsummen[quelle];
+    }
+
+    // Ersetzt Stelle index der aktuellen Generation (Zustand und Messungen werden zurückgesetzt)
+    public void ersetze(int index, double[] args, double wert) {
+        System.arraycopy(args, 0, koordinaten, index * dim, dim);
+        werte[index] = wert;
+        faktoren[index] = 1.0;
+        stillstand[index] = 0;
+        messungen[index] = 1;
+        quadratsummen[index] = 0.0;
+    }
+
+    // Setzt Koordinaten und Wert (eine Messung) der Stelle ziel der nächsten Generation (Zustand bleibt unverändert)
+    public void setze(int ziel, double[] args, double wert) {
+        System.arraycopy(args, 0, neueKoordinaten, ziel * dim, dim);
+        neueWerte[ziel] = wert;
+        neueMessungen[ziel] = 1;
+        neueQuadratsummen[ziel] = 0.0;
+    }
+
+    // Setzt Stelle ziel der nächsten Generation auf Stelle i eines dimensionsweise abgelegten Batches
+    // (Koordinate d der Stelle i an punkte[d * anzahl + i], siehe Zielfunktion.werte)
+    public void setzeAusBatch(int ziel, double[] punkte, int i, int anzahl, double wert) {
+        int basis = ziel * dim;
+        for (int d = 0; d < dim; d++)
+            neueKoordinaten[basis + d] = punkte[d * anzahl + i];
+        neueWerte[ziel] = wert;
+        neueMessungen[ziel] = 1;
+        neueQuadratsummen[ziel] = 0.0;
+    }
+
+    // Setzt die Messungen der Stelle ziel der nächsten Generation (ihr Wert ist der Mittelwert aus anzahl Messungen)
+    public void setzeMessungen(int ziel, int anzahl, double quadratsumme) {
+        neueMessungen[ziel] = anzahl;
+        neueQuadratsummen[ziel] = quadratsumme;
+    }
+
+    // Setzt den Zustand der Stelle ziel der nächsten Generation
+    public void setzeZustand(int ziel, double faktor, int stillstand) {
+        neueFaktoren[ziel] = faktor;
+        neuerStillstand[ziel] = stillstand;
+    }
+
+    // Wert der Stelle ziel der nächsten Generation
+    public double neuerWert(int ziel) {
+        return neueWerte[ziel];
+    }
+
+    // Die nächste Generation wird zur aktuellen (Puffer tauschen, nichts kopieren)
+    public void tausche() {
+        double[] k = koordinaten;
+        koordinaten = neueKoordinaten;
+        neueKoordinaten = k;
+
+        double[] w = werte;
+        werte = neueWerte;
+        neueWerte = w;
+
+        double[] f = faktoren;
+        faktoren = neueFaktoren;
+        neueFaktoren = f;
+
+        int[] st = stillstand;
+        stillstand = neuerStillstand;
+        neuerStillstand = st;
+
+        int[] me = messungen;
+        messungen = neueMessungen;
+        neueMessungen = me;
+
+        double[] q = quadratsummen;
+        quadratsummen = neueQuadratsummen;
+        neueQuadratsummen = q;
+    }
+
+    // Sortiert die Indizes der aktuellen Generation nach "besser" (stabiler Mergesort auf int[], ohne Boxing)
+    public void sortiere(Vergleichsfunktion c) {
+        for (int i = 0; i < groesse; i++)
+            rang[i] = i;
+
+        int[] von = rang, nach = hilfsRang;
+        for (int breite = 1; breite < groesse; breite *= 2) {
+            for (int links = 0; links < groesse; links += 2 * breite) {
+                int mitte = Math.min(links + breite, groesse);
+                int rechts = Math.min(links + 2 * breite, groesse);
+                int i = links, j = mitte, k = links;
+                while (i < mitte && j < rechts)
+                    // rechts nur vorziehen, wenn echt besser (stabil bei gleichen Werten)
+                    nach[k++] = Funktionen.vergleiche(c, werte[von[i]], werte[von[j]]) > 0 ? von[j++] : von[i++];
+                while (i < mitte)
+                    nach[k++] = von[i++];
+                while (j < rechts)
+                    nach[k++] = von[j++];
+            }
+            int[] h = von;
+            von = nach;
+            nach = h;
+        }
+        // Ergebnis liegt nach ungerader Anzahl an Durchläufen im Hilfsarray
+        if (von != rang)
+            System.arraycopy(von, 0, rang, 0, groesse);
+    }
+
+    // Bringt die anzahl besten Stellen der aktuellen Generation sortiert auf die Ränge 0..anzahl-1,
+    // die Ränge dahinter bleiben unsortiert.
+    // Bei bekannter Orientierung per Quickselect + Sortieren der ersten anzahl Ränge über primitive Schlüssel,
+    // also O(groesse + anzahl log anzahl) ohne Aufruf von c; sonst vollständige Sortierung über c.
+    public void waehle(int anzahl, Vergleichsfunktion c, Orientierung orientierung) {
+        if (orientierung == Orientierung.UNBEKANNT) {
+            sortiere(c);
+            return;
+        }
+
+        for (int i = 0; i < groesse; i++) {
+            rang[i] = i;
+            schluessel[i] = orientierung.schluessel(werte[i]);
+        }
+        int k = Math.min(anzahl, groesse);
+        if (k < groesse)
+            quickselect(0, groesse - 1, k);
+        quicksort(0, k - 1);
+    }
+
+    // Ordnet rang[lo..hi] so, dass die k kleinsten Schlüssel auf den Plätzen 0..k-1 liegen
+    private void quickselect(int lo, int hi, int k) {
+        while (hi > lo) {
+            teile(lo, hi);
+            if (k < kleinerBis)
+                hi = kleinerBis - 1;
+            else if (k > groesserAb)
+                lo = groesserAb;
+            else
+                return; // Grenze liegt im Bereich gleicher Schlüssel
+        }
+    }
+
+    // Sortiert rang[lo..hi] aufsteigend nach Schlüssel
+    private void quicksort(int lo, int hi) {
+        while (hi - lo > 16) {
+            teile(lo, hi);
+            int linksBis = kleinerBis - 1, rechtsAb = groesserAb;
+            // kleinere Hälfte rekursiv, größere iterativ (Rekursionstiefe O(log n))
+            if (linksBis - lo < hi - rechtsAb) {
+                quicksort(lo, linksBis);
+                lo = rechtsAb;
+            } else {
+                quicksort(rechtsAb, hi);
+                hi = linksBis;
+            }
+        }
+        // kleine Bereiche: Insertionsort
+        for (int i = lo + 1; i <= hi; i++) {
+            int idx = rang[i];
+            double key = schluessel[idx];
+            int j = i - 1;
+            while (j >= lo && schluessel[rang[j]] > key) {
+                rang[j + 1] = rang[j];
+                j--;
+            }
+            rang[j + 1] = idx;
+        }
+    }
+
+    // Dreiteilung von rang[lo..hi] um den Median aus drei: danach gilt
+    // rang[lo..kleinerBis-1] < Pivot, rang[kleinerBis..groesserAb-1] == Pivot, rang[groesserAb..hi] > Pivot
+    // (gleiche Schlüssel, z.B. auf Plateaus, führen so nicht zu quadratischer Laufzeit)
+    private void teile(int lo, int hi) {
+        int mitte = (lo + hi) >>> 1;
+        double a = schluessel[rang[lo]], b = schluessel[rang[mitte]], c = schluessel[rang[hi]];
+        double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+        int lt = lo, i = lo, gt = hi;
+        while (i <= gt) {
+            double key = schluessel[rang[i]];
+            if (key < pivot)
+                tauscheRang(lt++, i++);
+            else if (key > pivot)
+                tauscheRang(i, gt--);
+            else
+                i++;
+        }
+        kleinerBis = lt;
+        groesserAb = gt + 1;
+    }
+
+    private void tauscheRang(int i, int j) {
+        int h = rang[i];
+        rang[i] = rang[j];
+        rang[j] = h;
+    }
+
+    // Stelle index der aktuellen Generation als (eigenständiges) Stelle-Objekt
+    public Stelle stelle(int index) {
+        return new Stelle(Arrays.copyOfRange(koordinaten, index * dim, (index + 1) * dim), werte[index]);
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.SplittableRandom;
+
+// Strategie, nach der die Kundschafterinnen (Startpopulation und globale Suche auf den Plätzen m..n-1)
+// im Suchbereich verteilt werden.
+// Gleichverteilte Zufallspunkte bilden Häufungen und Lücken; Folgen mit geringer Diskrepanz (Sobol, Halton)
+// und Latin Hypercube Sampling überdecken den Suchbereich mit derselben Anzahl an Auswertungen gleichmäßiger.
+// Ein Generator erzeugt pro Suchlauf eine eigene Folge (mit eigener zufälliger Verwürfelung),
+// die Punkte im Einheitswürfel [0,1)^dim liefert; sie werden anschließend auf die Grenzen w abgebildet.
+@FunctionalInterface
+public interface Punktgenerator {
+
+    // Neue Folge für einen Suchlauf in dim Dimensionen
+    Folge folge(int dim, SplittableRandom zufall);
+
+    // Folge von Punkten im Einheitswürfel, wird von einem Suchlauf nacheinander (nicht parallel) abgefragt
+    @FunctionalInterface
+    interface Folge {
+        // Schreibt die nächsten anzahl Punkte dimensionsweise nach punkte
+        // (Koordinate d des Punktes i an punkte[d * anzahl + i], siehe Zielfunktion.werte)
+        void naechste(double[] punkte, int anzahl);
+    }
+
+    // Gleichverteilte Zufallspunkte
+    static Punktgenerator zufall() {
+        return (dim, zufall) -> (punkte, anzahl) -> {
+            for (int j = 0; j < dim * anzahl; j++)
+                punkte[j] = zufall.nextDouble();
+        };
+    }
+
+    // Sobol-Folge mit Owen-Verwürfelung (höchstens Sobolfolge.MAX_DIM Dimensionen)
+    static Punktgenerator sobol() {
+        return Sobolfolge::new;
+    }
+
+    // Halton-Folge mit zufälligen Ziffernpermutationen und zufälligem Startindex
+    static Punktgenerator halton() {
+        return Haltonfolge::new;
+    }
+
+    // Latin Hypercube Sampling: jede Dimension wird pro Abfrage in anzahl gleich breite Schichten geteilt,
+    // in jeder Schicht liegt genau ein Punkt
+    static Punktgenerator lateinischerHyperwuerfel() {
+        return (dim, zufall) -> new Punktgenerator.Folge() {
+            private int[] schichten = new int[0];
+
+            @Override
+            public void naechste(double[] punkte, int anzahl) {
+                if (schichten.length < anzahl)
+                    schichten = new int[anzahl];
+                for (int d = 0; d < dim; d++) {
+                    // zufällige Permutation der Schichten (Fisher-Yates)
+                    for (int i = 0; i < anzahl; i++)
+                        schichten[i] = i;
+                    for (int i = anzahl - 1; i > 0; i--) {
+                        int j = zufall.nextInt(i + 1);
+                        int h = schichten[i];
+                        schichten[i] = schichten[j];
+                        schichten[j] = h;
+                    }
+                    for (int i = 0; i < anzahl; i++)
+                        punkte[d * anzahl + i] = (schichten[i] + zufall.nextDouble()) / anzahl;
+                }
+            }
+        };
+    }
+}
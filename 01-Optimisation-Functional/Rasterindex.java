@@ -0,0 +1,100 @@
+import java.util.Arrays;
+
+// Räumlicher Index (Gitter-Hash) über Stellen einer Population, um nahe beieinanderliegende Stellen zu finden.
+// Abstände werden relativ zur Breite des Suchbereichs in jeder Dimension gemessen (Maximumsnorm):
+// zwei Stellen sind benachbart, wenn sie sich in jeder Dimension um weniger als radius * (w[d][1] - w[d][0])
+// unterscheiden. Das Gitter hat die Zellbreite radius, Nachbarn liegen also höchstens eine Zelle entfernt.
+// Gehasht werden nur die ersten HASH_DIM Dimensionen (3^HASH_DIM Nachbarzellen statt 3^dim),
+// die übrigen Dimensionen werden bei den Kandidaten direkt geprüft.
+// Buckets sind verkettete Listen in int-Arrays, der Index legt nach dem Erzeugen keinen Speicher mehr an.
+final class Rasterindex {
+
+    private static final int HASH_DIM = 3;
+
+    private final double[][] w;
+    private final double radius;
+    private final int hashDim;
+
+    private final int[] kopf; // erster Eintrag pro Bucket, -1 = leer
+    private final int[] naechster; // nächster Eintrag im selben Bucket, -1 = Ende
+    private final int[] stellen; // Index der Stelle in der Population pro Eintrag
+    private final long[] basis; // Zelle des aktuellen Anfragepunktes
+    private final long[] zellen; // gerade durchsuchte Nachbarzelle
+    private int eintraege;
+
+    // w: Suchbereich, radius: relativer Abstand in (0, 1), kapazitaet: maximale Anzahl an Einträgen
+    Rasterindex(double[][] w, double radius, int kapazitaet) {
+        this.w = w;
+        this.radius = radius;
+        this.hashDim = Math.min(HASH_DIM, w.length);
+
+        int buckets = Integer.highestOneBit(Math.max(1, 2 * kapazitaet - 1)) << 1;
+        this.kopf = new int[buckets];
+        this.naechster = new int[kapazitaet];
+        this.stellen = new int[kapazitaet];
+        this.basis = new long[hashDim];
+        this.zellen = new long[hashDim];
+        leere();
+    }
+
+    // Entfernt alle Einträge
+    void leere() {
+        Arrays.fill(kopf, -1);
+        eintraege = 0;
+    }
+
+    // Nimmt Stelle index der aktuellen Generation auf
+    void fuegeEin(Population population, int index) {
+        for (int d = 0; d < hashDim; d++)
+            zellen[d] = zelle(population.koordinate(index, d), d);
+        int bucket = bucket(zellen);
+        stellen[eintraege] = index;
+        naechster[eintraege] = kopf[bucket];
+        kopf[bucket] = eintraege++;
+    }
+
+    // Liegt eine bereits aufgenommene Stelle näher als radius an Stelle index?
+    boolean hatNachbarn(Population population, int index) {
+        for (int d = 0; d < hashDim; d++) {
+            basis[d] = zelle(population.koordinate(index, d), d);
+            zellen[d] = basis[d] - 1;
+        }
+
+        // alle 3^hashDim Nachbarzellen durchlaufen (Zähler zur Basis 3 über die Zellkoordinaten)
+        while (true) {
+            for (int e = kopf[bucket(zellen)]; e >= 0; e = naechster[e])
+                if (benachbart(population, index, stellen[e]))
+                    return true;
+
+            int d = 0;
+            while (d < hashDim && zellen[d] == basis[d] + 1) {
+                zellen[d] -= 2;
+                d++;
+            }
+            if (d == hashDim)
+                return false;
+            zellen[d]++;
+        }
+    }
+
+    // Vergleich in allen Dimensionen (verschiedene Zellen können sich einen Bucket teilen)
+    private boolean benachbart(Population population, int a, int b) {
+        for (int d = 0; d < w.length; d++) {
+            double breite = w[d][1] - w[d][0];
+            if (Math.abs(population.koordinate(a, d) - population.koordinate(b, d)) >= radius * breite)
+                return false;
+        }
+        return true;
+    }
+
+    private long zelle(double x, int d) {
+        return (long) Math.floor((x - w[d][0]) / ((w[d][1] - w[d][0]) * radius));
+    }
+
+    private int bucket(long[] z) {
+        long h = 0;
+        for (long k : z)
+            h = (h + k) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (kopf.length - 1);
+    }
+}
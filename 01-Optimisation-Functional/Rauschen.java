@@ -0,0 +1,46 @@
+// Behandlung verrauschter Zielfunktionen (z.B. stochastischer Simulationen) durch Racing an den Auswahlgrenzen.
+// Ohne diese Option vertraut der Algorithmus einer einzelnen Auswertung: eine Stelle mit zufällig günstigem
+// Rauschen rückt unter die e bzw. m besten auf. Statt jede Auswertung mehrfach zu mitteln, wird
+// nur nachgemessen, wo es für eine Entscheidung darauf ankommt (sequentieller Test):
+// - Auswahl: Stellen, deren Mittelwert näher als sicherheit Standardfehler an einer der Grenzen (Rang e, m bzw. r)
+//   liegt, werden erneut ausgewertet, danach wird neu sortiert und wieder geprüft, bis alle Stellen entschieden,
+//   ihre Messungen oder das Budget der Generation erschöpft sind
+// - lokale Suche: die beste rekrutierte Biene ersetzt das Zentrum nur, wenn sie nach Nachmessen beider Stellen
+//   gesichert besser ist
+// Die Population führt pro Stelle den laufenden Mittelwert (als Wert der Stelle) und die Anzahl der Messungen;
+// eine Stelle, die von Generation zu Generation übernommen wird, behält ihre Messungen.
+// - Ergebnis: vor der Rückgabe werden die Ränge an den Grenzen des Ergebnisses (Rang 1 und r) ebenso abgesichert
+// Nachgemessen wird direkt mit f (ein Cache würde denselben Wert liefern).
+// Abbruchkriterium.zielwert und stagnation sehen dagegen den besten bisher gemessenen Wert, der eine einzelne,
+// zufällig günstige Messung sein kann: ein Ziel gilt dann zu früh als erreicht, Stagnation wird zu spät erkannt.
+// Benötigt eine Vergleichsfunktion bekannter Orientierung (Vergleichsfunktion.MINIMUM, MAXIMUM oder BETRAG).
+public record Rauschen(double sicherheit, // Abstand zur Grenze in Standardfehlern, ab dem eine Stelle entschieden ist
+                       int messungen, // Höchstanzahl an Messungen pro Stelle
+                       int budget) { // Höchstanzahl an Nachmessungen pro Generation
+
+    // Pseudo-Freiheitsgrade, mit denen die Streuung einer Stelle zur gemeinsamen Streuung hin gezogen wird
+    private static final double VORWISSEN = 2.0;
+
+    // Validierung
+    public Rauschen {
+        if (!(sicherheit > 0.0) || Double.isInfinite(sicherheit))
+            throw new IllegalArgumentException("Die Sicherheit des Racings muss größer 0 und endlich sein!");
+        if (messungen < 2)
+            throw new IllegalArgumentException("Die Höchstanzahl an Messungen pro Stelle muss mindestens 2 sein!");
+        if (budget <= 0)
+            throw new IllegalArgumentException("Das Budget an Nachmessungen pro Generation muss größer 0 sein!");
+    }
+
+    // Standardfehler des Mittelwerts einer Stelle mit anzahl Messungen und der Quadratsumme quadratsumme
+    // (Summe der quadrierten Abweichungen vom Mittelwert); gepoolteVarianz: Varianz über alle Stellen, NaN = unbekannt.
+    // Einzelne Stellen haben nur wenige Messungen, ihre Varianz wird daher mit der gepoolten gemischt.
+    // NaN, solange es weder für die Stelle noch insgesamt eine Schätzung gibt
+    double standardfehler(int anzahl, double quadratsumme, double gepoolteVarianz) {
+        final double varianz;
+        if (Double.isNaN(gepoolteVarianz))
+            varianz = anzahl > 1 ? quadratsumme / (anzahl - 1) : Double.NaN;
+        else
+            varianz = (quadratsumme + VORWISSEN * gepoolteVarianz) / (anzahl - 1 + VORWISSEN);
+        return Math.sqrt(varianz / anzahl);
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.SplittableRandom;
+
+// Sobol-Folge (32 Bit, Gray-Code-Konstruktion) mit Richtungszahlen nach Joe und Kuo.
+// Die Punkte werden pro Dimension mit einer Hash-basierten Owen-Verwürfelung (nach Burley) randomisiert:
+// die Gleichverteilung der Folge bleibt erhalten, verschiedene Suchläufe erhalten aber verschiedene Punkte.
+final class Sobolfolge implements Punktgenerator.Folge {
+
+    // Primitive Polynome (Grad s, Koeffizienten a) und Startwerte m_1..m_s der Dimensionen 2, 3, ...
+    private static final int[][] RICHTUNGEN = {
+            {1, 0, 1},
+            {2, 1, 1, 3},
+            {3, 1, 1, 3, 1},
+            {3, 2, 1, 1, 1},
+            {4, 1, 1, 1, 3, 3},
+            {4, 4, 1, 3, 5, 13},
+            {5, 2, 1, 1, 5, 5, 17},
+            {5, 4, 1, 1, 5, 5, 5},
+            {5, 7, 1, 1, 7, 11, 19},
+            {5, 11, 1, 1, 5, 1, 1},
+            {5, 13, 1, 1, 1, 3, 11},
+            {5, 14, 1, 3, 5, 5, 31},
+            {6, 1, 1, 3, 3, 9, 7, 49},
+            {6, 13, 1, 1, 1, 15, 21, 21},
+            {6, 16, 1, 3, 1, 13, 27, 49},
+            {6, 19, 1, 1, 1, 15, 7, 5},
+            {6, 22, 1, 3, 1, 15, 13, 25},
+            {6, 25, 1, 1, 5, 5, 19, 61},
+            {7, 1, 1, 3, 7, 11, 23, 15, 103},
+            {7, 4, 1, 3, 7, 13, 13, 15, 69},
+    };
+
+    public static final int MAX_DIM = RICHTUNGEN.length + 1;
+
+    private static final int BITS = 32;
+
+    private final int dim;
+    private final int[][] v; // Richtungszahlen pro Dimension und Bit
+    private final int[] x; // aktueller (unverwürfelter) Punkt
+    private final int[] saat; // Saat der Verwürfelung pro Dimension
+    private int index; // Index des nächsten Punktes
+
+    Sobolfolge(int dim, SplittableRandom zufall) {
+        if (dim > MAX_DIM)
+            throw new IllegalArgumentException("Die Sobol-Folge unterstützt höchstens " + MAX_DIM + " Dimensionen!");
+
+        this.dim = dim;
+        this.v = new int[dim][BITS];
+        this.x = new int[dim];
+        this.saat = new int[dim];
+
+        for (int j = 0; j < BITS; j++)
+            v[0][j] = 1 << (BITS - 1 - j);
+        for (int d = 1; d < dim; d++) {
+            int[] r = RICHTUNGEN[d - 1];
+            int s = r[0], a = r[1];
+            for (int j = 0; j < BITS; j++) {
+                if (j < s) {
+                    v[d][j] = r[2 + j] << (BITS - 1 - j);
+                } else {
+                    int w = v[d][j - s] ^ (v[d][j - s] >>> s);
+                    for (int k = 1; k < s; k++)
+                        if (((a >>> (s - 1 - k)) & 1) != 0)
+                            w ^= v[d][j - k];
+                    v[d][j] = w;
+                }
+            }
+        }
+        for (int d = 0; d < dim; d++)
+            saat[d] = zufall.nextInt();
+    }
+
+    @Override
+    public void naechste(double[] punkte, int anzahl) {
+        for (int i = 0; i < anzahl; i++) {
+            for (int d = 0; d < dim; d++)
+                punkte[d * anzahl + i] = (verwuerfle(x[d], saat[d]) & 0xFFFFFFFFL) * 0x1p-32;
+
+            // Gray-Code: nächster Punkt unterscheidet sich in der Richtungszahl des niedrigsten 0-Bits von index
+            int bit = Integer.numberOfTrailingZeros(~index);
+            for (int d = 0; d < dim; d++)
+                x[d] ^= v[d][bit];
+            index++;
+        }
+    }
+
+    // Owen-Verwürfelung über eine Hash-Permutation auf den bitweise umgekehrten Wert
+    private static int verwuerfle(int wert, int saat) {
+        int y = Integer.reverse(wert);
+        y += saat;
+        y ^= y * 0x6c50b47c;
+        y ^= y * 0xb82f1e52;
+        y ^= y * 0xc7afe638;
+        y ^= y * 0x8d22f6e6;
+        return Integer.reverse(y);
+    }
+}
@@ -0,0 +1,625 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+// Ein einzelner Lauf des BeesAlgorithm, Generation für Generation materialisiert.
+// Jede Generation wird vollständig in die flachen Puffer der Population geschrieben (statt verschachtelter,
+// lazy ausgewerteter Ströme), die Puffer und alle Arbeitsarrays werden über alle Generationen wiederverwendet.
+// Dadurch wächst weder Speicherbedarf noch Aufruftiefe mit der Anzahl der Generationen t.
+public final class Suchlauf {
+
+    private final BAParameter parameter;
+    private final Population population;
+    private final boolean parallel;
+
+    // Einmal ermittelte Richtung von c; bei bekannter Richtung wird ohne Aufruf von c verglichen
+    private final Orientierung orientierung;
+
+    // Auswertung von f (gezählt, je nach Optionen über Archiv, Gittermenge und Cache, siehe Bewertungskette)
+    private final Bewertungskette bewertung;
+
+    // Wertebereich pro Argument
+    private final Domaene[] domaenen;
+
+    // Anzahl der Koordinaten, die eine rekrutierte Biene ändert (Teilraum-Suche), 0 = alle
+    private final int teilraum;
+
+    // halbe Feldbreite pro Dimension (ohne double[][] pro Feld)
+    private final double[] halbeBreiten;
+
+    // Höchstanzahl an Stellen, die in einem Aufruf von Zielfunktion.werte ausgewertet werden
+    private static final int BATCH = 256;
+
+    // Zufallsgenerator und Arbeitsspeicher einer Aufgabe (Feld oder Block von Kundschafterinnen),
+    // einmal pro Lauf angelegt, damit Aufgaben unabhängig (auch parallel) und ohne neue Arrays laufen
+    private static final class Arbeitsbereich {
+        final SplittableRandom zufall;
+        final double[] args; // eine einzelne Stelle
+        final double[] punkte; // Batch von Stellen, dimensionsweise abgelegt
+        final double[] werte; // Werte des Batches
+
+        // nur mit Surrogat: Vorauswahl aus dem Batch
+        final Surrogatmodell.Vorauswahl vorauswahl;
+
+        // nur bei Teilraum-Suche: Permutation der Koordinaten (die ersten k sind die gewählten), neue und alte Werte
+        // des aktuellen Zugs, bester Zug
+        final int[] koordinaten;
+        final double[] neu;
+        final double[] alt;
+        final int[] besteKoordinaten;
+        final double[] besteNeu;
+
+        Arbeitsbereich(SplittableRandom zufall, int dim, int batch, Surrogatmodell.Vorauswahl vorauswahl,
+                int teilraum) {
+            this.zufall = zufall;
+            this.args = new double[dim];
+            this.punkte = new double[batch * dim];
+            this.werte = new double[batch];
+            this.vorauswahl = vorauswahl;
+            this.koordinaten = teilraum > 0 ? IntStream.range(0, dim).toArray() : null;
+            this.neu = teilraum > 0 ? new double[teilraum] : null;
+            this.alt = teilraum > 0 ? new double[teilraum] : null;
+            this.besteKoordinaten = teilraum > 0 ? new int[teilraum] : null;
+            this.besteNeu = teilraum > 0 ? new double[teilraum] : null;
+        }
+    }
+
+    // Pro Feld (m) ein eigener Arbeitsbereich
+    private final Arbeitsbereich[] feldBereiche;
+
+    // Kundschafterinnen werden in Blöcken erzeugt, pro Block ebenfalls ein eigener Arbeitsbereich
+    private final Arbeitsbereich[] blockBereiche;
+
+    // Folge des Punktgenerators der Optionen (null = jeder Block zieht gleichverteilte Zufallspunkte) und Puffer
+    // für die Punkte einer Generation im Einheitswürfel; die Folge wird vor den Blöcken am Stück abgefragt,
+    // damit aufeinanderfolgende Punkte (und damit die gleichmäßige Überdeckung) über alle Blöcke erhalten bleiben
+    private final Punktgenerator.Folge folge;
+    private final double[] einheitspunkte;
+
+    // Vorauswahl der Kandidaten über ein Surrogat der Optionen und dessen Modell für diesen Lauf, null = keine
+    private final Surrogat surrogat;
+    private final Surrogatmodell modell;
+
+    // Indizes der Zentren der Felder der laufenden Generation (Platz -> Index der aktuellen Generation)
+    private final int[] auswahl;
+
+    // Räumlicher Index der ausgewählten Zentren, null = kein Mindestabstand zwischen Feldern
+    private final Rasterindex raster;
+
+    // Racing an den Auswahlgrenzen für verrauschte Zielfunktionen, null = eine Auswertung pro Stelle genügt
+    private final Nachmessung nachmessung;
+
+    // Beste Stellen aufgegebener Felder (höchstens r), damit sie im Ergebnis nicht verloren gehen
+    private final List<Stelle> aufgegeben = new ArrayList<>();
+
+    // Spätestens nach t Generationen, ggf. früher nach dem zusätzlichen Abbruchkriterium der Optionen
+    private final Abbruchkriterium abbruch;
+
+    private int generation; // Anzahl der bereits ausgeführten Schritte
+    private final long startNanos = System.nanoTime();
+    private double besterWert; // bester bisher gefundener Wert
+    private int stagnation; // Generationen seit der letzten Verbesserung von besterWert
+
+    // Messung für GenerationEreignis, nur während einer JFR-Aufzeichnung (sonst bleibt messen false)
+    private boolean messen;
+    private final LongAdder eliteNanos = new LongAdder();
+    private final LongAdder uebrigeNanos = new LongAdder();
+
+    // Startinitialisierung (1. Generation), n Bienen fliegen als Kundschafterinnen an zufällige Stellen
+    public Suchlauf(BAParameter parameter) {
+        this.parameter = parameter;
+        this.parallel = parameter.optionen().istParallel();
+        this.orientierung = Orientierung.erkenne(parameter.c());
+
+        Abbruchkriterium abbruch = Abbruchkriterium.generationen(parameter.t());
+        if (parameter.optionen().abbruch() != null)
+            abbruch = abbruch.oder(parameter.optionen().abbruch());
+        this.abbruch = abbruch;
+
+        final double[][] w = parameter.w();
+        final int dim = w.length;
+
+        this.domaenen = new Domaene[dim];
+        for (int d = 0; d < dim; d++)
+            domaenen[d] = parameter.domaene(d);
+        this.bewertung = new Bewertungskette(parameter, domaenen);
+        this.population = new Population(dim, parameter.n());
+
+        this.halbeBreiten = new double[dim];
+        for (int d = 0; d < dim; d++)
+            halbeBreiten[d] = (w[d][1] - w[d][0]) * parameter.s() / 2.0;
+
+        SplittableRandom wurzel = new SplittableRandom();
+
+        this.surrogat = parameter.optionen().surrogat();
+        this.modell = surrogat == null ? null : surrogat.modell(w);
+        this.teilraum = parameter.optionen().teilraum() < dim ? parameter.optionen().teilraum() : 0;
+
+        this.feldBereiche = new Arbeitsbereich[parameter.m()];
+        for (int i = 0; i < feldBereiche.length; i++) {
+            int batch = Math.min(BATCH, Math.max(1, i < parameter.e() ? parameter.p() : parameter.q()));
+            feldBereiche[i] = new Arbeitsbereich(wurzel.split(), dim, batch,
+                    modell == null ? null : modell.vorauswahl(batch, parameter.c()), teilraum);
+        }
+
+        // Puffer der Blöcke: ein Batch Kundschafterinnen, mit Surrogat samt allen ihren vorhergesagten Kandidaten
+        // (sonst begrenzte der Puffer die Vorauswahl, bei n <= bloecke fiele sie ganz weg)
+        int bloecke = parallel ? parameter.optionen().pool().getParallelism() * 4 : 1;
+        int proKundschafterin = surrogat == null ? 1 : surrogat.kandidatenProKundschafterin();
+        this.blockBereiche = new Arbeitsbereich[bloecke];
+        for (int b = 0; b < bloecke; b++) {
+            int batch = Math.min(BATCH, Math.max(1, (parameter.n() + bloecke - 1) / bloecke)) * proKundschafterin;
+            blockBereiche[b] = new Arbeitsbereich(wurzel.split(), dim, batch,
+                    modell == null ? null : modell.vorauswahl(batch, parameter.c()), 0);
+        }
+
+        this.auswahl = new int[parameter.m()];
+        double mindestabstand = parameter.optionen().mindestabstand();
+        this.raster = mindestabstand > 0.0 ? new Rasterindex(w, mindestabstand, parameter.m()) : null;
+
+        Rauschen rauschen = parameter.optionen().rauschen();
+        this.nachmessung = rauschen == null ? null
+                : new Nachmessung(rauschen, parameter, population, bewertung.gemessen());
+
+        Punktgenerator punktgenerator = parameter.optionen().punktgenerator();
+        this.folge = punktgenerator == null ? null : punktgenerator.folge(dim, wurzel.split());
+        this.einheitspunkte = folge == null ? null : new double[parameter.n() * dim];
+
+        // Warmstart: die ersten Plätze mit Stellen aus dem Archiv vorbelegen, der Rest sind Kundschafterinnen
+        final int vorbelegt = parameter.optionen().warmstart() > 0.0 ? warmstart(parameter.optionen().archiv()) : 0;
+        kundschafterinnen(vorbelegt, parameter.n());
+        population.tausche();
+        besterWert = population.wert(0);
+        aktualisiereBesten();
+    }
+
+    public int generation() {
+        return generation;
+    }
+
+    // Ein Schritt; wir wollen schrittweise bessere Stellen finden
+    public void schritt() {
+        final GenerationEreignis ereignis = new GenerationEreignis();
+        messen = ereignis.isEnabled();
+        if (!messen) {
+            durchlaufe(null);
+            return;
+        }
+
+        // Messung (nur während einer Aufzeichnung)
+        ereignis.begin();
+        final long bewertungenVorher = bewertung.anzahl();
+        final long allokiertVorher = GenerationEreignis.allokiertVomThread();
+        eliteNanos.reset();
+        uebrigeNanos.reset();
+
+        durchlaufe(ereignis);
+
+        ereignis.end();
+        if (ereignis.shouldCommit()) {
+            ereignis.generation = generation;
+            ereignis.bewertungenGesamt = bewertung.anzahl();
+            ereignis.bewertungen = ereignis.bewertungenGesamt - bewertungenVorher;
+            ereignis.besterWert = besterWert;
+            ereignis.lokaleSucheElite = eliteNanos.sum();
+            ereignis.lokaleSucheUebrige = uebrigeNanos.sum();
+            ereignis.allokiert = GenerationEreignis.allokiertVomThread() - allokiertVorher;
+            ereignis.commit();
+        }
+    }
+
+    // Die Phasen eines Schritts; ereignis erhält die Dauer von Auswahl und globaler Suche (null = keine Messung)
+    private void durchlaufe(GenerationEreignis ereignis) {
+        long zeit = ereignis == null ? 0L : System.nanoTime();
+
+        // bei verrauschter Zielfunktion zuerst die Ränge an den Auswahlgrenzen absichern
+        final int nachgemessen = nachmessung == null ? 0 : nachmessung.nachmessen(false);
+
+        // Zentren der (höchstens m) Felder auswählen
+        final int felder = raster == null ? waehleBeste() : waehleVerschiedene();
+        if (ereignis != null) {
+            long jetzt = System.nanoTime();
+            ereignis.felder = felder;
+            ereignis.nachmessungen = nachgemessen;
+            ereignis.auswahl = jetzt - zeit;
+            zeit = jetzt;
+        }
+
+        // lokale Suche auf die e besten Felder mit p bzw. die nächsten Felder mit q rekrutierten Bienen,
+        // die besten Ergebnisse kommen auf die Plätze 0..felder-1 der nächsten Generation
+        if (parallel)
+            IntStream.range(0, felder).parallel().forEach(this::lokaleSuche);
+        else
+            for (int platz = 0; platz < felder; platz++)
+                lokaleSuche(platz);
+        if (ereignis != null)
+            zeit = System.nanoTime();
+
+        // globale Suche auf neue zufällige Felder (Plätze felder..n-1)
+        kundschafterinnen(felder, parameter.n());
+        if (ereignis != null)
+            ereignis.kundschafterinnen = System.nanoTime() - zeit;
+
+        population.tausche();
+        generation++;
+        stagnation++;
+        aktualisiereBesten();
+    }
+
+    // Nur die m besten Stellen auswählen und sortieren (bestes Ergebnis vorne), der Rest ist nicht relevant
+    private int waehleBeste() {
+        population.waehle(parameter.m(), parameter.c(), orientierung);
+        for (int platz = 0; platz < parameter.m(); platz++)
+            auswahl[platz] = population.index(platz);
+        return parameter.m();
+    }
+
+    // Die m besten Stellen mit Mindestabstand zueinander auswählen: eine Stelle nahe einer besseren ausgewählten
+    // Stelle (meist dasselbe Optimum) wird übersprungen, die nächste verschiedene Stelle rückt nach.
+    // Gibt es weniger als m verschiedene Stellen, gehen die übrigen Plätze an Kundschafterinnen.
+    private int waehleVerschiedene() {
+        // alle Stellen sortieren, da auch Stellen hinter Rang m nachrücken können
+        population.waehle(parameter.n(), parameter.c(), orientierung);
+        raster.leere();
+
+        int felder = 0;
+        for (int platz = 0; platz < parameter.n() && felder < parameter.m(); platz++) {
+            int index = population.index(platz);
+            if (raster.hatNachbarn(population, index))
+                continue;
+            raster.fuegeEin(population, index);
+            auswahl[felder++] = index;
+        }
+        return felder;
+    }
+
+    // Belegt die ersten Plätze der nächsten Generation mit den besten, voneinander verschiedenen Stellen des Archivs
+    // (mindestens eine halbe Feldbreite auseinander) und gibt deren Anzahl zurück.
+    // Die Stellen werden neu ausgewertet, da sich f seit der Archivierung verändert haben kann; diese Auswertungen
+    // werden nicht erneut archiviert (die Stellen stehen ja schon im Archiv).
+    private int warmstart(Bewertungsarchiv archiv) {
+        final double[][] w = parameter.w();
+        final int dim = w.length;
+        final int gewuenscht = (int) Math.round(parameter.optionen().warmstart() * parameter.n());
+        final List<Stelle> start = archiv.beste(gewuenscht, parameter.c(), parameter.s() / 2.0, w);
+
+        final int anzahl = start.size();
+        final double[] punkte = new double[anzahl * dim];
+        final double[] werte = new double[anzahl];
+        for (int i = 0; i < anzahl; i++)
+            for (int d = 0; d < dim; d++) // auf den (ggf. geänderten) Suchbereich und Wertebereich beschränken
+                punkte[d * anzahl + i] = domaenen[d].naechster(start.get(i).args()[d], w[d][0], w[d][1]);
+        bewertung.ohneArchiv().werte(punkte, dim, anzahl, werte);
+
+        for (int i = 0; i < anzahl; i++) {
+            population.setzeAusBatch(i, punkte, i, anzahl, werte[i]);
+            population.setzeZustand(i, 1.0, 0);
+        }
+        return anzahl;
+    }
+
+    // Ist die Suche laut Abbruchkriterium beendet?
+    public boolean istBeendet() {
+        return abbruch.erreicht(suchstand());
+    }
+
+    // Aktueller Stand des Suchlaufs
+    public Suchstand suchstand() {
+        return new Suchstand(generation, bewertung.anzahl(), besterWert, stagnation, System.nanoTime() - startNanos);
+    }
+
+    // Halbe Breite des Feldes in Dimension d bei Feldgröße faktor; auf einem Gitter mindestens ein Schritt,
+    // damit auch ein stark geschrumpftes Feld noch die Nachbarpunkte des Zentrums enthält
+    private double halbeBreite(int d, double faktor) {
+        return Math.max(halbeBreiten[d] * faktor, domaenen[d].schritt());
+    }
+
+    // Übernimmt einen besseren Wert der aktuellen Generation als besten bisher gefundenen.
+    // Bei verrauschter Zielfunktion kann das eine einzelne, zufällig günstige Messung sein (siehe Rauschen)
+    private void aktualisiereBesten() {
+        for (int i = 0; i < population.groesse(); i++) {
+            if (istBesser(population.wert(i), besterWert)) {
+                besterWert = population.wert(i);
+                stagnation = 0;
+            }
+        }
+    }
+
+    // Ergebnis des Suchlaufs: wie beste(anzahl), bei verrauschter Zielfunktion werden aber zuvor die Ränge an den
+    // Grenzen des Ergebnisses abgesichert. Die Kundschafterinnen der letzten Generation sind sonst nur einmal
+    // gemessen, und eine Stelle mit zufällig günstigem Rauschen stünde vorne
+    public List<Stelle> ergebnis(int anzahl) {
+        if (nachmessung != null)
+            nachmessung.nachmessen(true);
+        return beste(anzahl);
+    }
+
+    // Die anzahl besten Stellen der aktuellen Generation und der aufgegebenen Felder (bestes vorne)
+    public List<Stelle> beste(int anzahl) {
+        population.waehle(anzahl, parameter.c(), orientierung);
+
+        int k = Math.min(anzahl, population.groesse());
+        List<Stelle> ergebnis = new ArrayList<>(k + aufgegeben.size());
+        for (int platz = 0; platz < k; platz++)
+            ergebnis.add(population.stelle(population.index(platz)));
+
+        synchronized (aufgegeben) {
+            ergebnis.addAll(aufgegeben);
+        }
+        ergebnis.sort(Funktionen.stellenComparator(parameter.c()));
+        return List.copyOf(ergebnis.subList(0, Math.min(anzahl, ergebnis.size())));
+    }
+
+    // Nimmt Stellen auf (z.B. Migranten einer anderen Insel), sie ersetzen die schlechtesten der aktuellen Generation.
+    // Stellen, die die Population schon enthält, werden übergangen (Migranten kommen z.B. über den Ring zum Absender
+    // zurück; Kopien würden mehrere Felder mit derselben Mitte belegen)
+    public void nimmAuf(List<Stelle> stellen) {
+        final int groesse = population.groesse();
+        population.waehle(groesse, parameter.c(), orientierung); // vollständig sortiert, schlechteste hinten
+
+        int ersetzt = 0;
+        for (int i = 0; i < stellen.size() && ersetzt < groesse; i++) {
+            Stelle stelle = stellen.get(i);
+            if (stelle.args().length != population.dim())
+                throw new IllegalArgumentException("Die aufgenommene Stelle hat nicht die Dimension des Suchbereichs!");
+            if (!population.enthaelt(stelle.args()))
+                population.ersetze(population.index(groesse - 1 - ersetzt++), stelle.args(), stelle.wert());
+        }
+        aktualisiereBesten();
+    }
+
+    // Lokale Suche auf Platz platz, während einer Aufzeichnung mit Messung der Dauer
+    private void lokaleSuche(int platz) {
+        if (!messen) {
+            durchsucheFeld(platz);
+            return;
+        }
+        final long start = System.nanoTime();
+        durchsucheFeld(platz);
+        (platz < parameter.e() ? eliteNanos : uebrigeNanos).add(System.nanoTime() - start);
+    }
+
+    // Lokale Suche im Feld (flower patch) um die auf Platz platz ausgewählte Stelle
+    private void durchsucheFeld(int platz) {
+        final double[][] w = parameter.w();
+        final int dim = w.length;
+        final int zentrum = auswahl[platz];
+        final int anzahlBienen = platz < parameter.e() ? parameter.p() : parameter.q();
+        final Arbeitsbereich bereich = feldBereiche[platz];
+        final SplittableRandom zufall = bereich.zufall;
+
+        // Feldgröße dieser Stelle (< 1, falls das Feld bereits geschrumpft wurde)
+        final double faktor = population.faktor(zentrum);
+
+        // zurzeit beste (ursprüngliche Kundschafterin), rekrutierte Bienen suchen im ganzen Feld oder im Teilraum
+        population.uebernehme(zentrum, platz);
+        boolean verbessert = teilraum > 0
+                ? rekrutiereImTeilraum(platz, zentrum, anzahlBienen, faktor)
+                : rekrutiere(platz, zentrum, anzahlBienen, faktor);
+
+        // bei verrauschter Zielfunktion muss sich die Verbesserung gegen das Zentrum behaupten (Racing)
+        if (verbessert && nachmessung != null) // der Batch des Feldes wird hier nicht mehr gebraucht
+            verbessert = nachmessung.bestaetige(platz, zentrum, bereich.args, bereich.punkte);
+
+        // Verbesserung: Feld bleibt gleich groß
+        if (verbessert) {
+            population.setzeZustand(platz, faktor, 0);
+            return;
+        }
+
+        // Keine Verbesserung: Feld schrumpfen (neighbourhood shrinking)
+        final BAOptionen optionen = parameter.optionen();
+        final int stillstand = population.stillstand(zentrum) + 1;
+        population.setzeZustand(platz, faktor * optionen.schrumpfung(), stillstand);
+
+        // Zu lange keine Verbesserung: Feld aufgeben (site abandonment), die Stelle wird als Ergebnis gemerkt
+        // und der Platz an eine neue Kundschafterin an einer zufälligen Stelle vergeben
+        if (optionen.aufgabeNach() > 0 && stillstand >= optionen.aufgabeNach()) {
+            merkeAufgegebene(population.stelle(zentrum));
+
+            final double[] args = bereich.args;
+            for (int d = 0; d < dim; d++)
+                args[d] = domaenen[d].ziehe(zufall.nextDouble(), w[d][0], w[d][1]);
+            population.setze(platz, args, bewertung.global().wert(args));
+            population.setzeZustand(platz, 1.0, 0);
+        }
+    }
+
+    // Rekrutierte Bienen an zufälligen Stellen im Feld, in Batches erzeugt und ausgewertet; true bei Verbesserung
+    private boolean rekrutiere(int platz, int zentrum, int anzahlBienen, double faktor) {
+        final double[][] w = parameter.w();
+        final int dim = w.length;
+        final Arbeitsbereich bereich = feldBereiche[platz];
+        final SplittableRandom zufall = bereich.zufall;
+        double bester = population.wert(zentrum);
+        boolean verbessert = false;
+
+        // andere Kandidaten (rekrutierte Bienen), in Batches erzeugt und ausgewertet
+        for (int erledigt = 0; erledigt < anzahlBienen; erledigt += BATCH) {
+            final int kandidaten = Math.min(BATCH, anzahlBienen - erledigt);
+            final double[] punkte = bereich.punkte;
+            final double[] werte = bereich.werte;
+
+            for (int d = 0; d < dim; d++) {
+                // Feldgrenzen, auf den gesamten Suchbereich beschränkt
+                double x = population.koordinate(zentrum, d);
+                final Domaene domaene = domaenen[d];
+                double breite = halbeBreite(d, faktor);
+                double lo = Math.max(w[d][0], x - breite);
+                double hi = Math.min(w[d][1], x + breite);
+                for (int i = 0; i < kandidaten; i++)
+                    punkte[d * kandidaten + i] = domaene.ziehe(zufall.nextDouble(), lo, hi);
+            }
+
+            // mit Surrogat nur die vielversprechendsten Kandidaten auswerten
+            final int anzahl = modell != null && modell.bereit()
+                    ? bereich.vorauswahl.waehle(punkte, kandidaten, surrogat.auszuwerten(kandidaten))
+                    : kandidaten;
+            bewertung.lokal().werte(punkte, dim, anzahl, werte);
+            if (modell != null) {
+                modell.lerne(punkte, anzahl, werte);
+                surrogat.zaehle(anzahl, kandidaten - anzahl);
+            }
+
+            // nur eine echt bessere Stelle ersetzt die bisher beste
+            for (int i = 0; i < anzahl; i++) {
+                if (istBesser(werte[i], bester)) {
+                    population.setzeAusBatch(platz, punkte, i, anzahl, werte[i]);
+                    bester = werte[i];
+                    verbessert = true;
+                }
+            }
+        }
+        return verbessert;
+    }
+
+    // Rekrutierte Bienen ändern nur teilraum zufällig gewählte Koordinaten des Zentrums (Teilraum-Suche);
+    // ist f eine DeltaZielfunktion, kostet jeder Zug O(teilraum) statt O(dim) (Cache, Archiv und diskrete
+    // Wertebereiche schließt BAParameter dann aus, die Züge laufen direkt über f).
+    // Wie bei der gewöhnlichen lokalen Suche ersetzt der beste Zug das Zentrum; true bei Verbesserung
+    private boolean rekrutiereImTeilraum(int platz, int zentrum, int anzahlBienen, double faktor) {
+        final double[][] w = parameter.w();
+        final int dim = w.length;
+        final int k = teilraum;
+        final Arbeitsbereich bereich = feldBereiche[platz];
+        final SplittableRandom zufall = bereich.zufall;
+        final double[] args = bereich.args;
+        final int[] koordinaten = bereich.koordinaten;
+        final double[] neu = bereich.neu;
+        final double[] alt = bereich.alt;
+        final DeltaZielfunktion delta = parameter.f() instanceof DeltaZielfunktion df ? df : null;
+
+        population.leseKoordinaten(zentrum, args);
+        final double wertZentrum = population.wert(zentrum);
+        double bester = wertZentrum;
+        boolean verbessert = false;
+
+        for (int biene = 0; biene < anzahlBienen; biene++) {
+            // k verschiedene Koordinaten (teilweises Fisher-Yates, koordinaten bleibt eine Permutation)
+            for (int j = 0; j < k; j++) {
+                int r = j + zufall.nextInt(dim - j);
+                int d = koordinaten[r];
+                koordinaten[r] = koordinaten[j];
+                koordinaten[j] = d;
+
+                double x = args[d];
+                double breite = halbeBreite(d, faktor);
+                double lo = Math.max(w[d][0], x - breite);
+                double hi = Math.min(w[d][1], x + breite);
+                neu[j] = domaenen[d].ziehe(zufall.nextDouble(), lo, hi);
+            }
+
+            double wert;
+            if (delta != null) {
+                wert = delta.wertNachZug(args, wertZentrum, koordinaten, neu, k);
+            } else {
+                // Zug anwenden, vollständig auswerten, Zug zurücknehmen
+                for (int j = 0; j < k; j++) {
+                    alt[j] = args[koordinaten[j]];
+                    args[koordinaten[j]] = neu[j];
+                }
+                wert = bewertung.lokal().wert(args);
+                for (int j = 0; j < k; j++)
+                    args[koordinaten[j]] = alt[j];
+            }
+
+            if (istBesser(wert, bester)) {
+                System.arraycopy(koordinaten, 0, bereich.besteKoordinaten, 0, k);
+                System.arraycopy(neu, 0, bereich.besteNeu, 0, k);
+                bester = wert;
+                verbessert = true;
+            }
+        }
+        if (delta != null)
+            bewertung.zaehle(anzahlBienen);
+
+        if (verbessert) {
+            for (int j = 0; j < k; j++)
+                args[bereich.besteKoordinaten[j]] = bereich.besteNeu[j];
+            population.setze(platz, args, bester);
+        }
+        return verbessert;
+    }
+
+    // Ist kandidat echt besser als bisher? (über den Schlüssel, nur bei unbekannter Orientierung über c)
+    private boolean istBesser(double kandidat, double bisher) {
+        if (orientierung != Orientierung.UNBEKANNT)
+            return orientierung.besser(kandidat, bisher);
+        return Funktionen.vergleiche(parameter.c(), bisher, kandidat) > 0;
+    }
+
+    // Merkt eine aufgegebene Stelle, es werden nur die r besten behalten
+    private void merkeAufgegebene(Stelle stelle) {
+        synchronized (aufgegeben) {
+            aufgegeben.add(stelle);
+            aufgegeben.sort(Funktionen.stellenComparator(parameter.c()));
+            if (aufgegeben.size() > parameter.r())
+                aufgegeben.remove(aufgegeben.size() - 1);
+        }
+    }
+
+    // Kundschafterinnen an zufälligen Stellen (bzw. nach dem Punktgenerator) auf die Plätze von..bis-1
+    // der nächsten Generation, aufgeteilt auf Blöcke mit je eigenem Arbeitsbereich
+    private void kundschafterinnen(int von, int bis) {
+        if (folge != null)
+            folge.naechste(einheitspunkte, bis - von);
+
+        final int bloecke = blockBereiche.length;
+        if (parallel)
+            IntStream.range(0, bloecke).parallel().forEach(b -> kundschafterinnen(b, von, bis));
+        else
+            kundschafterinnen(0, von, bis);
+    }
+
+    // Block b übernimmt einen zusammenhängenden Abschnitt der Plätze von..bis-1, in Batches erzeugt und ausgewertet
+    private void kundschafterinnen(int b, int von, int bis) {
+        final double[][] w = parameter.w();
+        final int dim = w.length;
+        final int bloecke = blockBereiche.length;
+        final Arbeitsbereich bereich = blockBereiche[b];
+        final double[] punkte = bereich.punkte;
+        final double[] werte = bereich.werte;
+        final int batch = bereich.werte.length;
+
+        final int anfang = von + (int) ((long) (bis - von) * b / bloecke);
+        final int ende = von + (int) ((long) (bis - von) * (b + 1) / bloecke);
+
+        // mit Surrogat (und ohne Punktgenerator) werden pro Kundschafterin mehrere zufällige Kandidaten
+        // vorhergesagt und nur der beste ausgewertet
+        final int proKundschafterin = modell != null && folge == null && modell.bereit()
+                ? surrogat.kandidatenProKundschafterin() : 1;
+        final int schritt = Math.max(1, batch / proKundschafterin);
+
+        for (int platz = anfang; platz < ende; platz += schritt) {
+            final int anzahl = Math.min(schritt, ende - platz);
+            final int kandidaten = Math.min(batch, anzahl * proKundschafterin);
+            for (int d = 0; d < dim; d++) {
+                final Domaene domaene = domaenen[d];
+                double lo = w[d][0], hi = w[d][1];
+                if (folge == null) {
+                    for (int i = 0; i < kandidaten; i++)
+                        punkte[d * kandidaten + i] = domaene.ziehe(bereich.zufall.nextDouble(), lo, hi);
+                } else {
+                    // Punkt platz + i liegt an Position platz + i - von der abgefragten Punkte
+                    final int basis = d * (bis - von) + platz - von;
+                    for (int i = 0; i < anzahl; i++)
+                        punkte[d * anzahl + i] = domaene.ziehe(einheitspunkte[basis + i], lo, hi);
+                }
+            }
+            if (kandidaten > anzahl)
+                bereich.vorauswahl.waehle(punkte, kandidaten, anzahl);
+            bewertung.global().werte(punkte, dim, anzahl, werte);
+            if (modell != null) {
+                modell.lerne(punkte, anzahl, werte);
+                surrogat.zaehle(anzahl, 0);
+            }
+
+            for (int i = 0; i < anzahl; i++) {
+                population.setzeAusBatch(platz + i, punkte, i, anzahl, werte[i]);
+                population.setzeZustand(platz + i, 1.0, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+// Gemeinsamer Stand der populationsbasierten Suchverfahren (CmaEs, Differentialevolution).
+// Zählt Generationen und Auswertungen, prüft das Abbruchkriterium wie der Suchlauf des BeesAlgorithm
+// (spätestens nach t Generationen, ggf. früher nach dem Kriterium der Optionen) und merkt sich die r besten
+// ausgewerteten Stellen. Ausgewertet wird sequentiell als ein Batch (Zielfunktion.werte), im parallelen Modus
+// stellenweise parallel; mit einem Archiv in den Optionen wird jede Auswertung dort abgelegt.
+final class Suchprotokoll {
+
+    private final BAParameter parameter;
+    private final Zielfunktion f;
+    private final Abbruchkriterium abbruch;
+    private final Comparator<Stelle> vergleich;
+    private final boolean parallel;
+
+    private final List<Stelle> beste = new ArrayList<>(); // die r besten Stellen, bestes vorne
+    private double[] batch = new double[0]; // dimensionsweise abgelegte Stellen für Zielfunktion.werte
+
+    private final long startNanos = System.nanoTime();
+    private int generation;
+    private long bewertungen;
+    private double besterWert = Double.NaN;
+    private int stagnation;
+    private boolean verbessert; // in der laufenden Generation
+
+    Suchprotokoll(BAParameter parameter) {
+        this.parameter = parameter;
+        Bewertungsarchiv archiv = parameter.optionen().archiv();
+        if (archiv != null && archiv.dim() != parameter.w().length)
+            throw new IllegalArgumentException("Das Archiv passt nicht zur Dimension des Suchbereichs!");
+        this.f = archiv == null ? parameter.f() : archiv.umhuelle(parameter.f());
+
+        Abbruchkriterium abbruch = Abbruchkriterium.generationen(parameter.t());
+        if (parameter.optionen().abbruch() != null)
+            abbruch = abbruch.oder(parameter.optionen().abbruch());
+        this.abbruch = abbruch;
+        this.vergleich = Funktionen.stellenComparator(parameter.c());
+        this.parallel = parameter.optionen().istParallel();
+    }
+
+    // Führt verfahren mit einem neuen Protokoll aus (im parallelen Modus als Aufgabe im ForkJoinPool der Optionen,
+    // parallele Ströme darin verwenden dann diesen Pool) und gibt die r besten Stellen zurück; ist in den Optionen
+    // eine Verfeinerung gesetzt, werden sie im Anschluss an den Stand des Protokolls verfeinert
+    static List<Stelle> fuehreAus(BAParameter parameter, BiConsumer<BAParameter, Suchprotokoll> verfahren) {
+        final Suchprotokoll protokoll = new Suchprotokoll(parameter);
+        if (parameter.optionen().istParallel())
+            parameter.optionen().pool().invoke(ForkJoinTask.adapt(() -> verfahren.accept(parameter, protokoll)));
+        else
+            verfahren.accept(parameter, protokoll);
+        Verfeinerung verfeinerung = parameter.optionen().verfeinerung();
+        return verfeinerung == null ? protokoll.beste() : verfeinerung.verfeinere(protokoll.beste(), parameter, protokoll.stand());
+    }
+
+    // Wertet die ersten anzahl Stellen aus (Zeilen von stellen) und merkt sich die besten
+    void werte(double[][] stellen, int anzahl, double[] werte) {
+        final int dim = parameter.w().length;
+        if (parallel) {
+            IntStream.range(0, anzahl).parallel().forEach(i -> werte[i] = f.wert(stellen[i]));
+        } else {
+            if (batch.length < anzahl * dim)
+                batch = new double[anzahl * dim];
+            for (int i = 0; i < anzahl; i++)
+                for (int d = 0; d < dim; d++)
+                    batch[d * anzahl + i] = stellen[i][d];
+            f.werte(batch, dim, anzahl, werte);
+        }
+        bewertungen += anzahl;
+        for (int i = 0; i < anzahl; i++)
+            merke(stellen[i], werte[i]);
+    }
+
+    // Beschränkt x auf die Grenzen w und setzt diskrete Argumente auf den nächsten Punkt ihres Wertebereichs
+    void beschraenke(double[] x) {
+        final double[][] w = parameter.w();
+        for (int d = 0; d < x.length; d++)
+            x[d] = parameter.domaene(d).naechster(x[d], w[d][0], w[d][1]);
+    }
+
+    // Sortiert die Indizes 0..anzahl-1 nach den Werten (bestes vorne, stabil, über c)
+    Integer[] rangfolge(double[] werte, int anzahl) {
+        Integer[] rang = new Integer[anzahl];
+        for (int i = 0; i < anzahl; i++)
+            rang[i] = i;
+        // gleiche Werte ausdrücklich als gleich (vergleiche bevorzugt sonst immer den ersten)
+        Arrays.sort(rang, (a, b) -> werte[a] == werte[b] ? 0 : Funktionen.vergleiche(parameter.c(), werte[a], werte[b]));
+        return rang;
+    }
+
+    // Schließt eine Generation ab
+    void naechsteGeneration() {
+        generation++;
+        stagnation = verbessert ? 0 : stagnation + 1;
+        verbessert = false;
+    }
+
+    // Ist die Suche laut Abbruchkriterium beendet? (nie vor der ersten Auswertung, vorher gibt es keinen besten Wert)
+    boolean istBeendet() {
+        return bewertungen > 0 && abbruch.erreicht(stand());
+    }
+
+    // Aktueller Stand der Suche
+    Suchstand stand() {
+        return new Suchstand(generation, bewertungen, besterWert, stagnation, System.nanoTime() - startNanos);
+    }
+
+    // Die r besten ausgewerteten Stellen (bestes vorne)
+    List<Stelle> beste() {
+        return List.copyOf(beste);
+    }
+
+    // Ist a echt besser als b? (bei gleichen Werten wählt c den ersten, also b)
+    boolean istBesser(double a, double b) {
+        return Funktionen.vergleiche(parameter.c(), b, a) > 0;
+    }
+
+    private void merke(double[] x, double wert) {
+        // nur echt bessere Werte zählen als Verbesserung bzw. verdrängen eine gemerkte Stelle
+        if (Double.isNaN(besterWert) || istBesser(wert, besterWert)) {
+            besterWert = wert;
+            verbessert = true;
+        }
+        if (beste.size() == parameter.r()
+                && !istBesser(wert, beste.get(beste.size() - 1).wert()))
+            return;
+
+        Stelle stelle = new Stelle(x.clone(), wert);
+        int position = Collections.binarySearch(beste, stelle, vergleich);
+        beste.add(position < 0 ? -position - 1 : position + 1, stelle);
+        if (beste.size() > parameter.r())
+            beste.remove(beste.size() - 1);
+    }
+}
@@ -0,0 +1,7 @@
+// Momentaufnahme eines Suchlaufs nach einer Generation (Grundlage für Abbruchkriterien)
+public record Suchstand(int generation, // Anzahl der bereits ausgeführten Schritte
+                        long bewertungen, // Anzahl der bisherigen Auswertungen von f
+                        double besterWert, // bester bisher gefundener Wert
+                        int stagnation, // Anzahl der Generationen seit der letzten Verbesserung von besterWert
+                        long laufzeitNanos) { // seit Start des Suchlaufs vergangene Zeit
+}
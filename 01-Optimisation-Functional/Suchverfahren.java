@@ -0,0 +1,16 @@
+import java.util.List;
+
+// Ein Optimierungsverfahren über die Schnittstelle des BeesAlgorithm: dieselben BAParameter (Zielfunktion f,
+// Grenzen w, Vergleichsfunktion c, Anzahl r der Ergebnisse, Optionen) und als Ergebnis die r besten Stellen.
+// Damit lässt sich das Verfahren pro Aufgabe wählen, ohne die Aufgabe umzuschreiben, z.B.
+//   Suchverfahren verfahren = glatt ? CmaEs.STANDARD : Suchverfahren.BIENEN;
+//   List<Stelle> ergebnis = verfahren.search(parameter);
+@FunctionalInterface
+public interface Suchverfahren {
+
+    // Führt das Verfahren aus und gibt die r besten gefundenen Stellen zurück (bestes vorne)
+    List<Stelle> search(BAParameter parameter);
+
+    // Der BeesAlgorithm selbst
+    Suchverfahren BIENEN = BeesAlgorithm::search;
+}
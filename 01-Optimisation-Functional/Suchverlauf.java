@@ -0,0 +1,113 @@
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Veröffentlicht den Verlauf einer Suche Generation für Generation als Flow.Publisher.
+// Jede Anmeldung (subscribe) startet einen eigenen Suchlauf ("kalter" Publisher).
+// Gegendruck (back-pressure): eine Generation wird erst berechnet, wenn der Abonnent einen Bericht angefordert hat;
+// es wird also nie auf Vorrat gerechnet. Nach cancel() wird keine weitere Generation mehr berechnet.
+// Die Suche endet mit onComplete, wenn das Abbruchkriterium erreicht ist (spätestens nach t Generationen).
+public final class Suchverlauf implements Flow.Publisher<Generationsbericht> {
+
+    private final BAParameter parameter;
+    private final Executor executor; // führt die Generationen aus
+
+    public Suchverlauf(BAParameter parameter, Executor executor) {
+        if (parameter == null)
+            throw new IllegalArgumentException("Die Parameter dürfen nicht null sein!");
+        if (executor == null)
+            throw new IllegalArgumentException("Der Executor darf nicht null sein!");
+        this.parameter = parameter;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Generationsbericht> abonnent) {
+        if (abonnent == null)
+            throw new NullPointerException("Der Abonnent darf nicht null sein!");
+        Abo abo = new Abo(abonnent);
+        abonnent.onSubscribe(abo);
+    }
+
+    // Die Verbindung zu einem Abonnenten mit eigenem Suchlauf
+    private final class Abo implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Generationsbericht> abonnent;
+        private final AtomicLong nachfrage = new AtomicLong(); // angeforderte, noch nicht gelieferte Berichte
+        private final AtomicInteger arbeit = new AtomicInteger(); // > 0, solange abarbeiten() läuft oder geplant ist
+        private final AtomicBoolean beendet = new AtomicBoolean(); // abgebrochen, fertig oder fehlgeschlagen
+
+        // wird nur in abarbeiten() verwendet, das nie gleichzeitig mehrfach läuft
+        private Suchlauf lauf;
+        private volatile IllegalArgumentException ungueltigeAnfrage;
+
+        Abo(Flow.Subscriber<? super Generationsbericht> abonnent) {
+            this.abonnent = abonnent;
+        }
+
+        @Override
+        public void request(long n) {
+            if (beendet.get())
+                return;
+            if (n <= 0)
+                ungueltigeAnfrage = new IllegalArgumentException("Es muss mindestens ein Bericht angefordert werden (n > 0)!");
+            else
+                nachfrage.getAndUpdate(alt -> alt + n < 0 ? Long.MAX_VALUE : alt + n); // Überlauf = unbegrenzt
+            planen();
+        }
+
+        @Override
+        public void cancel() {
+            beendet.set(true);
+        }
+
+        // Startet abarbeiten() im Executor, falls es nicht schon läuft
+        private void planen() {
+            if (arbeit.getAndIncrement() == 0)
+                executor.execute(this::abarbeiten);
+        }
+
+        // Berechnet so viele Generationen, wie angefordert wurden
+        private void abarbeiten() {
+            int fehlend = 1;
+            do {
+                try {
+                    while (!beendet.get()) {
+                        if (ungueltigeAnfrage != null) {
+                            fehler(ungueltigeAnfrage);
+                            break;
+                        }
+                        if (nachfrage.get() == 0)
+                            break;
+
+                        if (lauf == null)
+                            lauf = new Suchlauf(parameter); // Startinitialisierung erst bei der ersten Anfrage
+                        lauf.schritt();
+                        nachfrage.decrementAndGet();
+                        // der letzte Bericht enthält das Ergebnis (bei Rauschen abgesichert)
+                        List<Stelle> beste = lauf.istBeendet() ? lauf.ergebnis(parameter.r()) : lauf.beste(parameter.r());
+                        abonnent.onNext(new Generationsbericht(lauf.suchstand(), beste));
+
+                        if (lauf.istBeendet() && beendet.compareAndSet(false, true))
+                            abonnent.onComplete();
+                    }
+                } catch (Throwable ex) {
+                    // auch Errors (z.B. StackOverflowError aus f) beenden das Abo, sonst wartet der Abonnent ewig;
+                    // danach wird der Error weitergereicht (das Abo ist beendet, weitere Anfragen laufen ins Leere)
+                    fehler(ex);
+                    if (ex instanceof Error error)
+                        throw error;
+                }
+                fehlend = arbeit.addAndGet(-fehlend);
+            } while (fehlend != 0);
+        }
+
+        private void fehler(Throwable ex) {
+            if (beendet.compareAndSet(false, true))
+                abonnent.onError(ex);
+        }
+    }
+}
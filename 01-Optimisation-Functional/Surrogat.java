@@ -0,0 +1,86 @@
+import java.util.concurrent.atomic.LongAdder;
+
+// Vorauswahl über ein Ersatzmodell (Surrogat) für teure Zielfunktionen.
+// Jeder Suchlauf lernt ein k-Nächste-Nachbarn-Modell auf den bereits ausgewerteten Stellen (siehe Surrogatmodell),
+// das neue Kandidaten vorhersagt; nur der vielversprechendste Anteil wird tatsächlich mit f ausgewertet:
+// - lokale Suche: von den p bzw. q Kandidaten eines Feldes wird nur der Anteil anteil ausgewertet,
+//   der Rest der Auswertungen wird eingespart
+// - Kundschafterinnen: pro Kundschafterin werden 1 / anteil zufällige Kandidaten vorhergesagt und nur der beste
+//   ausgewertet (gleich viele Auswertungen, aber bessere Startpunkte; nicht mit einem Punktgenerator,
+//   dessen gleichmäßige Überdeckung dabei verloren ginge)
+// Solange das Modell weniger als nachbarn Stellen kennt, wird alles ausgewertet.
+// Die Statistik stellt die Kosten des Modells (Lernen, Vorhersage) den eingesparten Auswertungen gegenüber.
+public final class Surrogat {
+
+    // Statistik einer Surrogat-Nutzung (über alle Suchläufe mit diesem Surrogat)
+    public record Statistik(long ausgewertet, long eingespart, long lernNanos, long prognoseNanos) {
+        // Anteil der eingesparten an allen angefragten Auswertungen
+        public double einsparquote() {
+            long anfragen = ausgewertet + eingespart;
+            return anfragen == 0 ? 0.0 : (double) eingespart / anfragen;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Surrogat: %d ausgewertet, %d eingespart (%.1f %%), Lernen %.1f ms, Vorhersage %.1f ms",
+                    ausgewertet, eingespart, 100.0 * einsparquote(), lernNanos / 1e6, prognoseNanos / 1e6);
+        }
+    }
+
+    private final int nachbarn;
+    private final int kapazitaet;
+    private final double anteil;
+
+    private final LongAdder ausgewertet = new LongAdder();
+    private final LongAdder eingespart = new LongAdder();
+    private final LongAdder lernNanos = new LongAdder();
+    private final LongAdder prognoseNanos = new LongAdder();
+
+    // nachbarn: k der k-Nächste-Nachbarn-Regression, kapazitaet: Anzahl der gemerkten Stellen (die ältesten
+    // werden ersetzt), anteil: Anteil der Kandidaten, die tatsächlich ausgewertet werden (0 < anteil <= 1)
+    public Surrogat(int nachbarn, int kapazitaet, double anteil) {
+        if (nachbarn <= 0)
+            throw new IllegalArgumentException("Die Anzahl der Nachbarn des Surrogats muss größer 0 sein!");
+        if (kapazitaet < nachbarn)
+            throw new IllegalArgumentException("Die Kapazität des Surrogats muss mindestens die Anzahl der Nachbarn sein!");
+        if (!(anteil > 0.0 && anteil <= 1.0))
+            throw new IllegalArgumentException("Der ausgewertete Anteil des Surrogats muss größer 0 und <= 1 sein!");
+
+        this.nachbarn = nachbarn;
+        this.kapazitaet = kapazitaet;
+        this.anteil = anteil;
+    }
+
+    public int nachbarn() {
+        return nachbarn;
+    }
+
+    public double anteil() {
+        return anteil;
+    }
+
+    // Neues (leeres) Modell für einen Suchlauf im Suchbereich w
+    Surrogatmodell modell(double[][] w) {
+        return new Surrogatmodell(w, nachbarn, kapazitaet, lernNanos, prognoseNanos);
+    }
+
+    // Von anzahl Kandidaten werden so viele ausgewertet (mindestens 1)
+    int auszuwerten(int anzahl) {
+        return Math.max(1, (int) Math.ceil(anteil * anzahl));
+    }
+
+    // Kandidaten pro Kundschafterin
+    int kandidatenProKundschafterin() {
+        return (int) Math.ceil(1.0 / anteil);
+    }
+
+    void zaehle(long ausgewertet, long eingespart) {
+        this.ausgewertet.add(ausgewertet);
+        this.eingespart.add(eingespart);
+    }
+
+    // Momentaufnahme der Statistik
+    public Statistik statistik() {
+        return new Statistik(ausgewertet.sum(), eingespart.sum(), lernNanos.sum(), prognoseNanos.sum());
+    }
+}
@@ -0,0 +1,176 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// k-Nächste-Nachbarn-Regression über die ausgewerteten Stellen eines Suchlaufs.
+// Die Stellen liegen (auf den Einheitswürfel normiert) in einem Ringpuffer; jede Auswertung wird sofort
+// aufgenommen, das Modell lernt also inkrementell ohne erneutes Anpassen.
+// Vorhergesagt wird das mit 1 / Abstand² gewichtete Mittel der k nächsten Stellen.
+// Lesen (Vorhersage) und Schreiben (Lernen) sind über ein Lese-Schreib-Lock auch parallel möglich.
+final class Surrogatmodell {
+
+    private final double[] untergrenzen;
+    private final double[] kehrbreiten; // 1 / (w[d][1] - w[d][0])
+    private final int dim;
+    private final int nachbarn;
+    private final int kapazitaet;
+
+    private final double[] koordinaten; // normiert, Stelle j ab Index j * dim
+    private final double[] werte;
+    private int anzahl; // belegte Einträge
+    private int naechsterEintrag; // nächster zu überschreibender Eintrag
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder lernNanos;
+    private final LongAdder prognoseNanos;
+
+    Surrogatmodell(double[][] w, int nachbarn, int kapazitaet, LongAdder lernNanos, LongAdder prognoseNanos) {
+        this.dim = w.length;
+        this.untergrenzen = new double[dim];
+        this.kehrbreiten = new double[dim];
+        for (int d = 0; d < dim; d++) {
+            untergrenzen[d] = w[d][0];
+            kehrbreiten[d] = 1.0 / (w[d][1] - w[d][0]);
+        }
+        this.nachbarn = nachbarn;
+        this.kapazitaet = kapazitaet;
+        this.koordinaten = new double[kapazitaet * dim];
+        this.werte = new double[kapazitaet];
+        this.lernNanos = lernNanos;
+        this.prognoseNanos = prognoseNanos;
+    }
+
+    // Kennt das Modell genug Stellen für eine Vorhersage?
+    boolean bereit() {
+        lock.readLock().lock();
+        try {
+            return anzahl >= nachbarn;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Nimmt die ersten anzahl Stellen eines dimensionsweise abgelegten Batches (siehe Zielfunktion.werte) auf
+    void lerne(double[] punkte, int anzahl, double[] werte) {
+        final long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < anzahl; i++) {
+                if (Double.isNaN(werte[i]))
+                    continue;
+                int basis = naechsterEintrag * dim;
+                for (int d = 0; d < dim; d++)
+                    koordinaten[basis + d] = (punkte[d * anzahl + i] - untergrenzen[d]) * kehrbreiten[d];
+                this.werte[naechsterEintrag] = werte[i];
+                naechsterEintrag = (naechsterEintrag + 1) % kapazitaet;
+                this.anzahl = Math.min(this.anzahl + 1, kapazitaet);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lernNanos.add(System.nanoTime() - start);
+    }
+
+    // Sagt die Werte der anzahl Stellen eines dimensionsweise abgelegten Batches voraus
+    // (abstaende und nahe: Arbeitsspeicher mit mindestens nachbarn Einträgen)
+    private void prognose(double[] punkte, int anzahl, double[] prognosen, double[] abstaende, int[] nahe) {
+        final long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < anzahl; i++)
+                prognosen[i] = prognose(punkte, anzahl, i, abstaende, nahe);
+        } finally {
+            lock.readLock().unlock();
+        }
+        prognoseNanos.add(System.nanoTime() - start);
+    }
+
+    // Arbeitsspeicher der Vorauswahl für Batches von höchstens batch Stellen (je Thread ein eigener)
+    Vorauswahl vorauswahl(int batch, Vergleichsfunktion c) {
+        return new Vorauswahl(batch, c);
+    }
+
+    // Vorauswahl der vielversprechendsten Kandidaten eines Batches über die Vorhersagen des Modells
+    final class Vorauswahl {
+
+        private final Vergleichsfunktion c;
+        private final Orientierung orientierung;
+        private final double[] prognosen; // Vorhersagen des Batches
+        private final int[] reihenfolge;
+        private final double[] abstaende = new double[nachbarn]; // Arbeitsspeicher der Nachbarsuche
+        private final int[] nahe = new int[nachbarn];
+
+        private Vorauswahl(int batch, Vergleichsfunktion c) {
+            this.c = c;
+            this.orientierung = Orientierung.erkenne(c);
+            this.prognosen = new double[batch];
+            this.reihenfolge = new int[batch];
+        }
+
+        // Sagt die kandidaten Stellen des dimensionsweise abgelegten Batches vorher und behält die behalten
+        // besten: sie werden (weiterhin dimensionsweise abgelegt) an den Anfang von punkte verdichtet
+        int waehle(double[] punkte, int kandidaten, int behalten) {
+            prognose(punkte, kandidaten, prognosen, abstaende, nahe);
+
+            // die behalten besten Vorhersagen nach vorne (Auswahl, die Batches sind klein)
+            for (int i = 0; i < kandidaten; i++)
+                reihenfolge[i] = i;
+            for (int i = 0; i < behalten; i++) {
+                int beste = i;
+                for (int j = i + 1; j < kandidaten; j++)
+                    if (istBesser(prognosen[reihenfolge[j]], prognosen[reihenfolge[beste]]))
+                        beste = j;
+                int h = reihenfolge[i];
+                reihenfolge[i] = reihenfolge[beste];
+                reihenfolge[beste] = h;
+            }
+
+            // aufsteigend verdichten: das Ziel d * behalten + j liegt nie hinter einer noch zu lesenden Quelle
+            Arrays.sort(reihenfolge, 0, behalten);
+            for (int d = 0; d < dim; d++)
+                for (int j = 0; j < behalten; j++)
+                    punkte[d * behalten + j] = punkte[d * kandidaten + reihenfolge[j]];
+            return behalten;
+        }
+
+        private boolean istBesser(double kandidat, double bisher) {
+            if (orientierung != Orientierung.UNBEKANNT)
+                return orientierung.besser(kandidat, bisher);
+            return Funktionen.vergleiche(c, bisher, kandidat) > 0;
+        }
+    }
+
+    private double prognose(double[] punkte, int anzahl, int i, double[] abstaende, int[] nahe) {
+        // die k nächsten Stellen, nach Abstand sortiert (Einfügen, k ist klein)
+        int k = 0;
+        for (int j = 0; j < this.anzahl; j++) {
+            double abstand = 0.0;
+            int basis = j * dim;
+            for (int d = 0; d < dim; d++) {
+                double x = (punkte[d * anzahl + i] - untergrenzen[d]) * kehrbreiten[d] - koordinaten[basis + d];
+                abstand += x * x;
+            }
+            if (k == nachbarn && abstand >= abstaende[k - 1])
+                continue;
+            int pos = k < nachbarn ? k++ : k - 1;
+            while (pos > 0 && abstaende[pos - 1] > abstand) {
+                abstaende[pos] = abstaende[pos - 1];
+                nahe[pos] = nahe[pos - 1];
+                pos--;
+            }
+            abstaende[pos] = abstand;
+            nahe[pos] = j;
+        }
+
+        // gewichtetes Mittel, bei Abstand 0 der bekannte Wert
+        if (abstaende[0] == 0.0)
+            return werte[nahe[0]];
+        double summe = 0.0, gewichte = 0.0;
+        for (int j = 0; j < k; j++) {
+            double g = 1.0 / abstaende[j];
+            summe += g * werte[nahe[j]];
+            gewichte += g;
+        }
+        return summe / gewichte;
+    }
+}
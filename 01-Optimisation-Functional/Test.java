@@ -1,6 +1,17 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.BiFunction;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 /*
  * Test.java = prozedurale/imperative Hülle (Ausgabe + konkrete Testfälle).
@@ -13,8 +24,10 @@ import java.util.function.Function;
  *     sind IO-frei und sollen keine Seiteneffekte haben.
  *
  * Schnittstelle:
- *   - runTest(...) baut nur Parameter, ruft BeesAlgorithm.search(...) auf
+ *   - runTest(...) baut nur Parameter, ruft BeesAlgorithm.search(...) (bzw. ein anderes Suchverfahren) auf
  *     und übergibt das Ergebnis zur Ausgabe an printTest(...).
+ *
+ * Nach den drei Aufgaben folgt je ein kurzer Lauf pro Erweiterung (Optionen, weitere Suchverfahren, Inselmodell, ...).
  */
 public class Test {
 
@@ -44,9 +57,9 @@ public class Test {
     private static void runTest(
             String title,
             String description,
-            Function<double[], Double> f,
+            Zielfunktion f,
             double[][] w,
-            BiFunction<Double, Double, Double> c,
+            Vergleichsfunktion c,
             int t, int n, int m, int e, int p, int q,
             double s, int r
     ) {
@@ -58,6 +71,135 @@ public class Test {
         printTest(erg, title, description);
     }
 
+    // Wie oben, mit fertigen BAParameter (z.B. mit Optionen) und wählbarem Suchverfahren
+    private static void runTest(String title, String description, Suchverfahren verfahren, BAParameter parameter) {
+        printTest(verfahren.search(parameter), title, description);
+    }
+
+    // Rosenbrock: gekrümmtes Tal, Minimum 0 bei (1, ..., 1); als Summe benachbarter Terme auch inkrementell auswertbar
+    private static final class Rosenbrock implements DeltaZielfunktion {
+
+        @Override
+        public double wert(double[] x) {
+            double summe = 0.0;
+            for (int i = 0; i + 1 < x.length; i++)
+                summe += term(x[i], x[i + 1]);
+            return summe;
+        }
+
+        // Nur die Terme i - 1 und i jeder geänderten Koordinate i neu berechnen (jeden Term nur einmal)
+        @Override
+        public double wertNachZug(double[] x, double wert, int[] indizes, double[] neu, int anzahl) {
+            double summe = wert;
+            for (int a = 0; a < anzahl; a++)
+                for (int j = Math.max(0, indizes[a] - 1); j <= indizes[a] && j + 1 < x.length; j++)
+                    if (!schonBerechnet(j, indizes, a))
+                        summe += term(nach(x, j, indizes, neu, anzahl), nach(x, j + 1, indizes, neu, anzahl))
+                                - term(x[j], x[j + 1]);
+            return summe;
+        }
+
+        private static double term(double a, double b) {
+            return 100.0 * (b - a * a) * (b - a * a) + (1.0 - a) * (1.0 - a);
+        }
+
+        // Hängt Term j (Koordinaten j und j + 1) schon von einer der ersten a geänderten Koordinaten ab?
+        private static boolean schonBerechnet(int j, int[] indizes, int a) {
+            for (int b = 0; b < a; b++)
+                if (indizes[b] == j || indizes[b] == j + 1)
+                    return true;
+            return false;
+        }
+
+        // Koordinate d nach dem Zug
+        private static double nach(double[] x, int d, int[] indizes, double[] neu, int anzahl) {
+            for (int a = 0; a < anzahl; a++)
+                if (indizes[a] == d)
+                    return neu[a];
+            return x[d];
+        }
+    }
+
+    // Rastrigin: viele regelmäßig angeordnete lokale Minima, globales Minimum 0 im Ursprung.
+    // Wertet Batches direkt im dimensionsweisen Layout aus (siehe Zielfunktion.werte)
+    private static final Zielfunktion RASTRIGIN = new Zielfunktion() {
+        @Override
+        public double wert(double[] x) {
+            double summe = 10.0 * x.length;
+            for (double v : x)
+                summe += v * v - 10.0 * Math.cos(2.0 * Math.PI * v);
+            return summe;
+        }
+
+        @Override
+        public void werte(double[] punkte, int dim, int anzahl, double[] werte) {
+            Arrays.fill(werte, 0, anzahl, 10.0 * dim);
+            for (int d = 0; d < dim; d++)
+                for (int i = 0; i < anzahl; i++) {
+                    double v = punkte[d * anzahl + i];
+                    werte[i] += v * v - 10.0 * Math.cos(2.0 * Math.PI * v);
+                }
+        }
+    };
+
+    private static double[][] wuerfel(int dim, double von, double bis) {
+        double[][] w = new double[dim][];
+        for (int d = 0; d < dim; d++)
+            w[d] = new double[]{von, bis};
+        return w;
+    }
+
+    // Abonniert den Fortschritt der Suche und bricht ab, sobald der beste Wert mindestens so gut wie ziel ist;
+    // liefert den letzten Bericht
+    private static Generationsbericht verfolge(BAParameter parameter, double ziel) {
+        CompletableFuture<Generationsbericht> letzter = new CompletableFuture<>();
+        BeesAlgorithm.searchPublisher(parameter).subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription abo;
+            private Generationsbericht bericht;
+
+            @Override
+            public void onSubscribe(Flow.Subscription abo) {
+                this.abo = abo;
+                abo.request(1);
+            }
+
+            @Override
+            public void onNext(Generationsbericht bericht) {
+                this.bericht = bericht;
+                if (bericht.stand().besterWert() <= ziel) {
+                    abo.cancel();
+                    letzter.complete(bericht);
+                } else {
+                    abo.request(1);
+                }
+            }
+
+            @Override
+            public void onError(Throwable fehler) {
+                letzter.completeExceptionally(fehler);
+            }
+
+            @Override
+            public void onComplete() {
+                letzter.complete(bericht);
+            }
+        });
+        return letzter.join();
+    }
+
+    // Löscht das (flache) temporäre Verzeichnis samt Inhalt
+    private static void loesche(Path verzeichnis) {
+        if (verzeichnis == null)
+            return;
+        try (Stream<Path> dateien = Files.list(verzeichnis)) {
+            for (Path datei : dateien.toList())
+                Files.deleteIfExists(datei);
+            Files.deleteIfExists(verzeichnis);
+        } catch (IOException ex) {
+            System.out.println("Temporäres Verzeichnis " + verzeichnis + " konnte nicht gelöscht werden: " + ex.getMessage());
+        }
+    }
+
     public static void main(String[] args) {
 
         /*
@@ -73,7 +215,7 @@ public class Test {
         */
 
         // Vergleichsfunktion für Nullstellen
-        BiFunction<Double, Double, Double> nullstellen = (a, b) ->
+        Vergleichsfunktion nullstellen = (a, b) ->
                 Math.abs(a) <= Math.abs(b) ? a : b;
 
         /*
@@ -143,5 +285,161 @@ public class Test {
                 20, 50, 25, 10, 20, 15, 0.05, 10
         );
 
+
+        /*
+         * Erweiterungen: je ein kurzer Lauf pro Option bzw. Verfahren.
+         */
+
+        final Rosenbrock rosenbrock = new Rosenbrock();
+        final BAParameter rosenbrock3 = new BAParameter(rosenbrock, wuerfel(3, -5.0, 10.0), Vergleichsfunktion.MINIMUM,
+                200, 30, 10, 3, 30, 10, 0.05, 3);
+        final BAParameter rastrigin5 = new BAParameter(RASTRIGIN, wuerfel(5, -5.12, 5.12), Vergleichsfunktion.MINIMUM,
+                200, 60, 15, 5, 30, 10, 0.05, 3);
+
+        runTest("PARALLELER MODUS",
+                "Rosenbrock 3D im gemeinsamen ForkJoinPool (BAOptionen.parallel()), Minimum 0 bei (1, 1, 1)",
+                Suchverfahren.BIENEN, rosenbrock3.mit(BAOptionen.STANDARD.parallel()));
+
+        Bewertungscache cache = new Bewertungscache(1e-4, 100_000);
+        List<Stelle> mitCache = BeesAlgorithm.search(rosenbrock3.mit(BAOptionen.STANDARD.cache(cache).schrumpfung(0.5)));
+        printTest(mitCache, "BEWERTUNGSCACHE",
+                "Rosenbrock 3D, stark schrumpfende Felder werten über einen Cache (Toleranz 1e-4) aus: " + cache.statistik());
+
+        runTest("ABBRUCHKRITERIEN",
+                "Rastrigin 5D: Abbruch nach 20 000 Auswertungen, bei Wert < 1e-6 oder nach 2 Sekunden, " +
+                        "je nachdem was zuerst eintritt",
+                Suchverfahren.BIENEN, rastrigin5.mit(BAOptionen.STANDARD.abbruch(
+                        Abbruchkriterium.bewertungen(20_000)
+                                .oder(Abbruchkriterium.zielwert(1e-6, Vergleichsfunktion.MINIMUM))
+                                .oder(Abbruchkriterium.frist(Duration.ofSeconds(2))))));
+
+        runTest("SCHRUMPFUNG UND AUFGABE DER FELDER",
+                "Rastrigin 5D: Felder ohne Verbesserung schrumpfen um 20 %, nach 30 Generationen ohne Verbesserung " +
+                        "werden sie aufgegeben (Minimum 0 im Ursprung)",
+                Suchverfahren.BIENEN, rastrigin5.mit(BAOptionen.STANDARD.schrumpfung(0.8).aufgabe(30)));
+
+        runTest("BATCH-AUSWERTUNG",
+                "Rastrigin 5D, bis zu 256 Stellen je Aufruf von Zielfunktion.werte (dimensionsweise abgelegt), " +
+                        "Minimum 0 im Ursprung",
+                Suchverfahren.BIENEN, rastrigin5);
+
+        Generationsbericht bericht = verfolge(rosenbrock3, 0.1);
+        printTest(bericht.beste(), "FORTSCHRITT",
+                "Rosenbrock 3D als Strom von Generationsberichten, abgebrochen sobald der beste Wert <= 0.1 ist: " +
+                        bericht.stand().generation() + " Generationen, " + bericht.stand().bewertungen() + " Auswertungen");
+
+        runTest("INSELMODELL",
+                "Rastrigin 5D auf 4 Inseln im Ring, alle 10 Generationen wandern die 2 besten Stellen aus;\n" +
+                        "das Budget von 40 000 Auswertungen gilt für alle Inseln zusammen",
+                parameter -> BeesAlgorithm.search(parameter, new Inselparameter(4, 10, 2, Inselparameter.Topologie.RING)),
+                rastrigin5.mit(BAOptionen.STANDARD.abbruch(Abbruchkriterium.bewertungen(40_000))));
+
+        runTest("SOBOL-KUNDSCHAFTERINNEN",
+                "Sinus wie oben, Kundschafterinnen gleichmäßig nach einer Sobol-Folge verteilt",
+                Suchverfahren.BIENEN,
+                new BAParameter(x -> Math.sin(Math.toRadians(x[0])), new double[][]{{-1800.0, 1800.0}}, Vergleichsfunktion.MAXIMUM,
+                        30, 30, 15, 5, 10, 5, 0.1, 10, BAOptionen.STANDARD.punktgenerator(Punktgenerator.sobol())));
+
+        runTest("MINDESTABSTAND DER FELDER",
+                "Sinus wie oben, nahe Felder zusammengelegt: die 10 Ergebnisse sollten auf 10 verschiedenen Maxima liegen",
+                Suchverfahren.BIENEN,
+                new BAParameter(x -> Math.sin(Math.toRadians(x[0])), new double[][]{{-1800.0, 1800.0}}, Vergleichsfunktion.MAXIMUM,
+                        30, 30, 15, 5, 10, 5, 0.1, 10, BAOptionen.STANDARD.mindestabstand(0.01)));
+
+        Path aufzeichnung = null;
+        try (Recording recording = new Recording()) {
+            aufzeichnung = Files.createTempFile("ba-generationen", ".jfr");
+            recording.enable("BeesAlgorithm.Generation");
+            recording.start();
+            List<Stelle> aufgezeichnet = BeesAlgorithm.search(rosenbrock3);
+            recording.stop();
+            recording.dump(aufzeichnung);
+            List<RecordedEvent> ereignisse = RecordingFile.readAllEvents(aufzeichnung);
+            printTest(aufgezeichnet, "JFR-EREIGNISSE",
+                    "Rosenbrock 3D während einer Flight-Recorder-Aufzeichnung: " + ereignisse.size()
+                            + " Ereignisse BeesAlgorithm.Generation mit zusammen "
+                            + ereignisse.stream().mapToLong(ereignis -> ereignis.getLong("bewertungen")).sum()
+                            + " Auswertungen");
+        } catch (IOException ex) {
+            System.out.println("Aufzeichnung nicht verfügbar: " + ex.getMessage());
+        } finally {
+            try {
+                if (aufzeichnung != null)
+                    Files.deleteIfExists(aufzeichnung);
+            } catch (IOException ex) {
+                System.out.println("Aufzeichnung " + aufzeichnung + " konnte nicht gelöscht werden: " + ex.getMessage());
+            }
+        }
+
+        Surrogat surrogat = new Surrogat(8, 2000, 0.25);
+        List<Stelle> mitSurrogat = BeesAlgorithm.search(rastrigin5.mit(BAOptionen.STANDARD.surrogat(surrogat)));
+        printTest(mitSurrogat, "SURROGAT-VORAUSWAHL",
+                "Rastrigin 5D, nur das beste Viertel der Kandidaten (laut k-nächste-Nachbarn-Modell) wird ausgewertet: "
+                        + surrogat.statistik());
+
+        Path verzeichnis = null;
+        try {
+            verzeichnis = Files.createTempDirectory("ba-archiv");
+            try (Bewertungsarchiv archiv = Bewertungsarchiv.oeffne(verzeichnis, "rastrigin-5d", 5)) {
+                BAParameter kurz = new BAParameter(RASTRIGIN, wuerfel(5, -5.12, 5.12), Vergleichsfunktion.MINIMUM,
+                        20, 60, 15, 5, 30, 10, 0.05, 3);
+                BeesAlgorithm.search(kurz.mit(BAOptionen.STANDARD.archiv(archiv)));
+                long erster = archiv.anzahl();
+                runTest("ARCHIV UND WARMSTART",
+                        "Rastrigin 5D, 20 Generationen: ein erster Lauf füllt das Archiv (" + erster + " Stellen),\n" +
+                                "ein zweiter beginnt zu 30 % mit den besten, voneinander verschiedenen Stellen daraus",
+                        Suchverfahren.BIENEN, kurz.mit(BAOptionen.STANDARD.archiv(archiv, 0.3)));
+            }
+        } catch (IOException ex) {
+            System.out.println("Archiv nicht verfügbar: " + ex.getMessage());
+        } finally {
+            loesche(verzeichnis);
+        }
+
+        runTest("VERFEINERUNG (NELDER-MEAD)",
+                "Rosenbrock 3D nach nur 60 Generationen, Ergebnisse mit Nelder-Mead verfeinert (Minimum 0 bei (1, 1, 1))",
+                Suchverfahren.BIENEN, new BAParameter(rosenbrock, wuerfel(3, -5.0, 10.0), Vergleichsfunktion.MINIMUM,
+                        60, 30, 10, 3, 30, 10, 0.05, 3, BAOptionen.STANDARD.verfeinerung(Verfeinerung.nelderMead(2000, 1e-14))));
+
+        DualZielfunktion sinus = a -> a[0].mal(Math.PI / 180).sin();
+        runTest("VERFEINERUNG (GRADIENT)",
+                "Sinus wie oben, Ergebnisse mit exakten Gradienten (duale Zahlen) verfeinert: Maxima genau 1",
+                Suchverfahren.BIENEN, new BAParameter(sinus.zielfunktion(), new double[][]{{-1800.0, 1800.0}}, Vergleichsfunktion.MAXIMUM,
+                        30, 30, 15, 5, 10, 5, 0.1, 5,
+                        BAOptionen.STANDARD.verfeinerung(Verfeinerung.gradient(sinus, 200, 1e-12))));
+
+        runTest("TEILRAUM-SUCHE MIT INKREMENTELLER AUSWERTUNG",
+                "Rosenbrock 20D: jede rekrutierte Biene ändert 2 Koordinaten, bewertet über wertNachZug in O(2) statt O(20)",
+                Suchverfahren.BIENEN, new BAParameter(rosenbrock, wuerfel(20, -5.0, 10.0), Vergleichsfunktion.MINIMUM,
+                        2_000, 7, 6, 2, 100, 50, 0.5, 1, BAOptionen.STANDARD.teilraum(2).schrumpfung(0.95)));
+
+        runTest("VERRAUSCHTE ZIELFUNKTION",
+                "Kugel 3D mit normalverteiltem Rauschen (Standardabweichung 0.1), Nachmessen an den Auswahlgrenzen:\n" +
+                        "die Werte sind Mittelwerte mehrerer Messungen, das Minimum liegt bei 0 im Ursprung",
+                Suchverfahren.BIENEN, new BAParameter(x -> x[0] * x[0] + x[1] * x[1] + x[2] * x[2]
+                        + 0.1 * ThreadLocalRandom.current().nextGaussian(), wuerfel(3, -5.0, 5.0), Vergleichsfunktion.MINIMUM,
+                        60, 30, 10, 3, 20, 10, 0.1, 3, BAOptionen.STANDARD.rauschen(new Rauschen(2.0, 20, 40))));
+
+        runTest("GANZZAHLIGE ARGUMENTE",
+                "Ganzzahlige Lösungen von x^2 + y^2 = 25 (Minimum von (x^2 + y^2 - 25)^2 auf dem Gitter):\n" +
+                        "12 gleich gute Lösungen (+-3, +-4), (+-4, +-3), (+-5, 0), (0, +-5)",
+                Suchverfahren.BIENEN, new BAParameter(x -> Math.pow(x[0] * x[0] + x[1] * x[1] - 25.0, 2),
+                        wuerfel(2, -10.0, 10.0), Vergleichsfunktion.MINIMUM, 40, 30, 15, 5, 10, 5, 0.2, 12,
+                        BAOptionen.STANDARD.mindestabstand(0.01)).mit(Domaene.ganzzahlig(), Domaene.ganzzahlig()));
+
+        runTest("CMA-ES",
+                "Rosenbrock 3D mit CMA-ES über dieselben Parameter (Minimum 0 bei (1, 1, 1))",
+                CmaEs.STANDARD, rosenbrock3);
+
+        runTest("DIFFERENTIALEVOLUTION",
+                "Rosenbrock 3D mit Differentialevolution über dieselben Parameter (Minimum 0 bei (1, 1, 1))",
+                Differentialevolution.STANDARD, rosenbrock3);
+
+        Abbruchkriterium budget = Abbruchkriterium.bewertungen(5_000);
+        BAKonfiguration konfiguration = Abstimmung.abstimme(rastrigin5, budget, 8, Abbruchkriterium.bewertungen(60_000));
+        runTest("ABSTIMMUNG DER STEUERGRÖSSEN",
+                "Rastrigin 5D mit 5 000 Auswertungen, Steuergrößen vorher unter demselben Budget abgestimmt\n" +
+                        "(Runden mit 1 250, 2 500 und 5 000 Auswertungen, insgesamt höchstens 60 000): " + konfiguration,
+                Suchverfahren.BIENEN, rastrigin5.mit(konfiguration).mit(BAOptionen.STANDARD.abbruch(budget)));
     }
 }
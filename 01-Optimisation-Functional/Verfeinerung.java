@@ -0,0 +1,116 @@
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Abschließende lokale Verfeinerung der besten gefundenen Stellen.
+// Die zufällige lokale Suche der Bienen konvergiert im Einzugsbereich eines Optimums nur langsam; für hohe
+// Genauigkeit werden die r Ergebnisse daher deterministisch nachpoliert:
+// - Nelder-Mead (ohne Ableitungen, für jede Zielfunktion)
+// - Quasi-Newton (BFGS) mit Gradienten aus der automatischen Differentiation (für eine DualZielfunktion)
+// Beide bleiben im Suchbereich w und starten mit der Feldgröße s als Schrittweite.
+// Bei einer Vergleichsfunktion unbekannter Orientierung (nicht Vergleichsfunktion.MINIMUM, MAXIMUM oder BETRAG)
+// gibt es kein Gradientenziel, dann wird Nelder-Mead verwendet.
+public record Verfeinerung(int bewertungen, // Höchstanzahl an Auswertungen pro Stelle
+                           double toleranz, // Abbruch, sobald Schritt bzw. Gradient relativ kleiner sind
+                           DualZielfunktion gradient) { // Zielfunktion mit Ableitungen, null = Nelder-Mead
+
+    // Validierung
+    public Verfeinerung {
+        if (bewertungen <= 0)
+            throw new IllegalArgumentException("Die Anzahl der Auswertungen der Verfeinerung muss größer 0 sein!");
+        if (!(toleranz >= 0.0) || Double.isInfinite(toleranz))
+            throw new IllegalArgumentException("Die Toleranz der Verfeinerung muss >= 0 und endlich sein!");
+    }
+
+    // Verfeinerung mit Nelder-Mead
+    public static Verfeinerung nelderMead(int bewertungen, double toleranz) {
+        return new Verfeinerung(bewertungen, toleranz, null);
+    }
+
+    // Verfeinerung mit Gradientenschritten; f muss dieselbe Funktion wie BAParameter.f beschreiben
+    public static Verfeinerung gradient(DualZielfunktion f, int bewertungen, double toleranz) {
+        if (f == null)
+            throw new IllegalArgumentException("Die Zielfunktion mit Ableitungen darf nicht null sein!");
+        return new Verfeinerung(bewertungen, toleranz, f);
+    }
+
+    // Verfeinert alle Stellen (im parallelen Modus parallel) und sortiert das Ergebnis neu (bestes vorne)
+    public List<Stelle> verfeinere(List<Stelle> stellen, BAParameter parameter) {
+        return verfeinere(stellen, parameter, new Suchstand(0, 0L, Double.NaN, 0, 0L));
+    }
+
+    // Wie oben, im Anschluss an eine Suche, die im Stand stand endete: die Auswertungen laufen wie in der Suche
+    // über das Archiv der Optionen und werden weitergezählt; die Verfeinerung endet vorzeitig, sobald das
+    // Abbruchkriterium der Optionen (z.B. Budget oder Frist) auf dem fortgeschriebenen Stand erreicht ist
+    List<Stelle> verfeinere(List<Stelle> stellen, BAParameter parameter, Suchstand stand) {
+        final VerfeinerungEreignis ereignis = new VerfeinerungEreignis();
+        ereignis.begin();
+
+        final Orientierung orientierung = Orientierung.erkenne(parameter.c());
+        final boolean mitGradient = gradient != null && orientierung != Orientierung.UNBEKANNT;
+        final Auswertung auswertung = new Auswertung(parameter, stand);
+        final double[] schrittweiten = new double[parameter.w().length];
+        for (int d = 0; d < schrittweiten.length; d++)
+            schrittweiten[d] = (parameter.w()[d][1] - parameter.w()[d][0]) * parameter.s() / 2.0;
+
+        List<Stelle> ergebnis = (parameter.optionen().istParallel() ? stellen.parallelStream() : stellen.stream())
+                .map(stelle -> mitGradient
+                        ? Gradientenverfahren.verfeinere(gradient, auswertung, stelle, parameter.w(), orientierung,
+                                schrittweiten, bewertungen, toleranz)
+                        : NelderMead.verfeinere(auswertung, stelle, parameter.w(), parameter.c(),
+                                schrittweiten, bewertungen, toleranz))
+                .sorted(Funktionen.stellenComparator(parameter.c()))
+                .collect(Collectors.toUnmodifiableList());
+
+        if (ereignis.shouldCommit()) {
+            ereignis.verfahren = mitGradient ? "Gradient" : "Nelder-Mead";
+            ereignis.stellen = stellen.size();
+            ereignis.bewertungen = auswertung.bewertungen.sum();
+            ereignis.bewertungenGesamt = stand.bewertungen() + ereignis.bewertungen;
+            ereignis.besterWert = ergebnis.isEmpty() ? Double.NaN : ergebnis.get(0).wert();
+            ereignis.commit();
+        }
+        return ergebnis;
+    }
+
+    // Auswertungen der Verfeinerung: über das Archiv der Optionen, gezählt und gegen deren Abbruchkriterium geprüft.
+    // Geprüft wird vor jedem Schritt der Verfahren, ein begonnener Schritt wird noch ausgewertet (wie die laufende
+    // Generation der Suche). Die Stagnation der Suche zählt dabei nicht, die Verfeinerung beginnt ja gerade erst
+    static final class Auswertung {
+        private final Zielfunktion f;
+        private final Bewertungsarchiv archiv;
+        private final Abbruchkriterium abbruch; // null = nur die Höchstanzahl pro Stelle
+        private final Suchstand stand;
+        private final long startNanos = System.nanoTime();
+        private final LongAdder bewertungen = new LongAdder(); // auch im parallelen Modus
+
+        private Auswertung(BAParameter parameter, Suchstand stand) {
+            this.archiv = parameter.optionen().archiv();
+            this.f = archiv == null ? parameter.f() : archiv.umhuelle(parameter.f());
+            this.abbruch = parameter.optionen().abbruch();
+            this.stand = stand;
+        }
+
+        // Wert von f an der Stelle x
+        double wert(double[] x) {
+            bewertungen.increment();
+            return f.wert(x);
+        }
+
+        // Wert von g an der Stelle x, die partiellen Ableitungen kommen nach gradient
+        double wert(DualZielfunktion g, double[] x, double[] gradient) {
+            double wert = g.wert(x, gradient);
+            if (archiv != null)
+                archiv.fuegeHinzu(x, 1, new double[]{wert});
+            bewertungen.increment();
+            return wert;
+        }
+
+        // Ist das Abbruchkriterium der Optionen mit den Auswertungen und der Laufzeit der Verfeinerung erreicht?
+        boolean erschoepft() {
+            return abbruch != null && abbruch.erreicht(new Suchstand(stand.generation(),
+                    stand.bewertungen() + bewertungen.sum(), stand.besterWert(), 0,
+                    stand.laufzeitNanos() + System.nanoTime() - startNanos));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JDK-Flight-Recorder-Ereignis für die abschließende Verfeinerung eines Suchlaufs (Dauer = gesamte Verfeinerung).
+// Ergänzt die Ereignisse der Generationen um die Auswertungen nach der Suche.
+@Name("BeesAlgorithm.Verfeinerung")
+@Label("Verfeinerung")
+@Category("BeesAlgorithm")
+@Description("Abschließende lokale Verfeinerung der besten Stellen mit Auswertungen und bestem Wert")
+@StackTrace(false)
+final class VerfeinerungEreignis extends Event {
+
+    @Label("Verfahren")
+    String verfahren;
+
+    @Label("Stellen")
+    @Description("Anzahl der verfeinerten Stellen")
+    int stellen;
+
+    @Label("Auswertungen")
+    @Description("Auswertungen der Zielfunktion während der Verfeinerung")
+    long bewertungen;
+
+    @Label("Auswertungen gesamt")
+    @Description("Auswertungen der Suche und der Verfeinerung zusammen")
+    long bewertungenGesamt;
+
+    @Label("Bester Wert")
+    @Description("Bester Wert nach der Verfeinerung")
+    double besterWert;
+}
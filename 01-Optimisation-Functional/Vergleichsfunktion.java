@@ -0,0 +1,35 @@
+import java.util.function.BiFunction;
+
+// Primitive Vergleichsfunktion ("besser von zwei"), z.B. Math::min oder Math::max
+// Im Gegensatz zu BiFunction<Double, Double, Double> wird pro Vergleich kein Double erzeugt (kein Boxing).
+@FunctionalInterface
+public interface Vergleichsfunktion {
+
+    // Gibt den besseren der beiden Werte zurück
+    double besser(double a, double b);
+
+    // Vergleichsfunktionen bekannter Orientierung (siehe Orientierung): mit ihnen vergleicht die Suche über
+    // Schlüssel statt über Aufrufe von c; Rauschen und die Gradienten-Verfeinerung setzen sie voraus.
+    // NaN ist wie überall in der Suche (Funktionen.vergleiche) der schlechtere Wert
+    Vergleichsfunktion MINIMUM = (a, b) -> a != a ? b : b != b ? a : Math.min(a, b);
+    Vergleichsfunktion MAXIMUM = (a, b) -> a != a ? b : b != b ? a : Math.max(a, b);
+    Vergleichsfunktion BETRAG = (a, b) -> a != a ? b : b != b ? a : Math.abs(a) <= Math.abs(b) ? a : b; // näher an 0
+
+    // Gibt MINIMUM, MAXIMUM bzw. BETRAG zurück, falls c auf allen Testwerten (siehe Orientierung.ausProben)
+    // denselben Wert wählt, sonst c selbst. Nur verwenden, wenn c sich auch außerhalb der Testwerte so verhält
+    // (z.B. für Math::min); eine Vergleichsfunktion mit Toleranz, Stufen oder einem Ziel ungleich 0 würde sonst
+    // stillschweigend durch eine andere ersetzt
+    static Vergleichsfunktion erkenne(Vergleichsfunktion c) {
+        if (c == null)
+            throw new IllegalArgumentException("Die Vergleichsfunktion darf nicht null sein!");
+        Orientierung orientierung = Orientierung.ausProben(c);
+        return orientierung == Orientierung.UNBEKANNT ? c : orientierung.vergleichsfunktion();
+    }
+
+    // Adapter für die alte, geboxte Signatur BiFunction<Double, Double, Double>
+    static Vergleichsfunktion von(BiFunction<Double, Double, Double> c) {
+        if (c == null)
+            throw new IllegalArgumentException("Die Vergleichsfunktion darf nicht null sein!");
+        return (a, b) -> c.apply(a, b);
+    }
+}
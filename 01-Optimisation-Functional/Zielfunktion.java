@@ -0,0 +1,31 @@
+import java.util.function.Function;
+
+// Primitive Zielfunktion (double[] -> double)
+// Im Gegensatz zu Function<double[], Double> wird pro Auswertung kein Double erzeugt (kein Boxing).
+@FunctionalInterface
+public interface Zielfunktion {
+
+    // Wert der Funktion an der Stelle args
+    double wert(double[] args);
+
+    // Wertet anzahl Stellen in einem Aufruf aus (Batch).
+    // Die Koordinaten liegen dimensionsweise hintereinander (structure-of-arrays):
+    // Koordinate d der Stelle i steht an punkte[d * anzahl + i], der Wert der Stelle i kommt nach werte[i].
+    // Standardmäßig wird jede Stelle einzeln mit wert(...) ausgewertet; Implementierungen für billige Funktionen
+    // können die Methode überschreiben und so den Aufwand pro Aufruf sparen (z.B. mit SIMD, siehe simd/).
+    default void werte(double[] punkte, int dim, int anzahl, double[] werte) {
+        double[] args = new double[dim];
+        for (int i = 0; i < anzahl; i++) {
+            for (int d = 0; d < dim; d++)
+                args[d] = punkte[d * anzahl + i];
+            werte[i] = wert(args);
+        }
+    }
+
+    // Adapter für die alte, geboxte Signatur Function<double[], Double>
+    static Zielfunktion von(Function<double[], Double> f) {
+        if (f == null)
+            throw new IllegalArgumentException("Die zu untersuchende Funktion darf nicht null sein!");
+        return args -> f.apply(args);
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.SplittableRandom;
+import jdk.incubator.vector.DoubleVector;
+
+// Vergleicht die Batch-Auswertung der Testfunktionen: skalar (Standard-Implementierung von Zielfunktion.werte,
+// eine Auswertung pro Stelle) gegen SIMD (VektorFunktionen), einmal isoliert und einmal in einer ganzen Suche.
+public class VektorBenchmark {
+
+    private static final int BATCH = 256;
+    private static final int WIEDERHOLUNGEN = 20_000;
+
+    // Misst die Zeit für WIEDERHOLUNGEN Batch-Auswertungen
+    private static double messeBatch(Zielfunktion f, int dim, double[] punkte, double[] werte) {
+        double summe = 0.0; // verhindert, dass die JIT die Auswertung wegoptimiert
+        long start = System.nanoTime();
+        for (int k = 0; k < WIEDERHOLUNGEN; k++) {
+            f.werte(punkte, dim, BATCH, werte);
+            summe += werte[k % BATCH];
+        }
+        long ende = System.nanoTime();
+        if (summe == 42.4242)
+            System.out.println(summe);
+        return (ende - start) / 1e6;
+    }
+
+    // Misst die Zeit einer Suche
+    private static double messeSuche(BAParameter parameter) {
+        long start = System.nanoTime();
+        BeesAlgorithm.search(parameter);
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static void vergleiche(String name, Zielfunktion vektor, Zielfunktion skalar, double[][] w,
+                                   Vergleichsfunktion c) {
+        int dim = w.length;
+        SplittableRandom zufall = new SplittableRandom(1);
+        double[] punkte = new double[BATCH * dim];
+        for (int d = 0; d < dim; d++)
+            for (int i = 0; i < BATCH; i++)
+                punkte[d * BATCH + i] = zufall.nextDouble(w[d][0], w[d][1]);
+        double[] werte = new double[BATCH];
+
+        // Aufwärmen (JIT)
+        for (int k = 0; k < 5; k++) {
+            messeBatch(skalar, dim, punkte, werte);
+            messeBatch(vektor, dim, punkte, werte);
+        }
+        double tSkalar = messeBatch(skalar, dim, punkte, werte);
+        double tVektor = messeBatch(vektor, dim, punkte, werte);
+
+        // ganze Suche mit vielen Bienen pro Feld (große Batches)
+        BAParameter sucheSkalar = new BAParameter(skalar, w, c, 200, 4000, 200, 20, 400, 200, 0.05, 1);
+        BAParameter sucheVektor = new BAParameter(vektor, w, c, 200, 4000, 200, 20, 400, 200, 0.05, 1);
+        messeSuche(sucheSkalar); // Aufwärmen
+        messeSuche(sucheVektor);
+        double sSkalar = messeSuche(sucheSkalar);
+        double sVektor = messeSuche(sucheVektor);
+
+        System.out.printf("%-16s Batch: skalar %8.1f ms, SIMD %8.1f ms (x%.1f) | Suche: skalar %8.1f ms, SIMD %8.1f ms (x%.1f)%n",
+                name, tSkalar, tVektor, tSkalar / tVektor, sSkalar, sVektor, sSkalar / sVektor);
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Vektorbreite: " + DoubleVector.SPECIES_PREFERRED.length() + " doubles");
+
+        // Die skalaren Varianten sind die Lambdas aus Test (Standard-Batch = Einzelauswertungen)
+        vergleiche("Sinus (Grad)", VektorFunktionen.SINUS_GRAD,
+                x -> Math.sin(Math.toRadians(x[0])),
+                new double[][]{{-1800.0, 1800.0}}, Math::max);
+        vergleiche("(x-y)^2+(y-z)^2", VektorFunktionen.QUADRATISCH,
+                x -> (x[0] - x[1]) * (x[0] - x[1]) + (x[1] - x[2]) * (x[1] - x[2]),
+                new double[][]{{-10, 10}, {-10, 10}, {-10, 10}}, Math::min);
+        vergleiche("x^2-y^2", VektorFunktionen.SATTEL,
+                x -> x[0] * x[0] - x[1] * x[1],
+                new double[][]{{-50.0, 50.0}, {-50.0, 50.0}}, (a, b) -> Math.abs(a) <= Math.abs(b) ? a : b);
+    }
+}
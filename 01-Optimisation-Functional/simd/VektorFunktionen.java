@@ -0,0 +1,82 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Zielfunktionen aus Test mit SIMD-Batch-Auswertung über die Vector API (jdk.incubator.vector).
+// Kompilieren/Ausführen nur mit --add-modules jdk.incubator.vector (siehe README).
+// wert(...) rechnet wie die Lambdas in Test skalar, werte(...) verarbeitet pro Schleifendurchlauf
+// SPECIES.length() Stellen gleichzeitig. Der Rest (weniger als eine Vektorbreite) wird skalar berechnet.
+public final class VektorFunktionen {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VektorFunktionen() {}
+
+    // sin(x) im Gradmaß
+    public static final Zielfunktion SINUS_GRAD = new Zielfunktion() {
+        @Override
+        public double wert(double[] args) {
+            return Math.sin(Math.toRadians(args[0]));
+        }
+
+        @Override
+        public void werte(double[] punkte, int dim, int anzahl, double[] werte) {
+            final double bogenmass = Math.PI / 180.0;
+            int i = 0;
+            for (int grenze = SPECIES.loopBound(anzahl); i < grenze; i += SPECIES.length()) {
+                DoubleVector x = DoubleVector.fromArray(SPECIES, punkte, i);
+                x.mul(bogenmass).lanewise(VectorOperators.SIN).intoArray(werte, i);
+            }
+            for (; i < anzahl; i++)
+                werte[i] = Math.sin(Math.toRadians(punkte[i]));
+        }
+    };
+
+    // f(x,y,z) = (x − y)^2 + (y − z)^2
+    public static final Zielfunktion QUADRATISCH = new Zielfunktion() {
+        @Override
+        public double wert(double[] args) {
+            double x = args[0], y = args[1], z = args[2];
+            return (x - y) * (x - y) + (y - z) * (y - z);
+        }
+
+        @Override
+        public void werte(double[] punkte, int dim, int anzahl, double[] werte) {
+            int i = 0;
+            for (int grenze = SPECIES.loopBound(anzahl); i < grenze; i += SPECIES.length()) {
+                DoubleVector x = DoubleVector.fromArray(SPECIES, punkte, i);
+                DoubleVector y = DoubleVector.fromArray(SPECIES, punkte, anzahl + i);
+                DoubleVector z = DoubleVector.fromArray(SPECIES, punkte, 2 * anzahl + i);
+                DoubleVector a = x.sub(y);
+                DoubleVector b = y.sub(z);
+                a.mul(a).add(b.mul(b)).intoArray(werte, i);
+            }
+            for (; i < anzahl; i++) {
+                double x = punkte[i], y = punkte[anzahl + i], z = punkte[2 * anzahl + i];
+                werte[i] = (x - y) * (x - y) + (y - z) * (y - z);
+            }
+        }
+    };
+
+    // f(x,y) = x^2 − y^2
+    public static final Zielfunktion SATTEL = new Zielfunktion() {
+        @Override
+        public double wert(double[] args) {
+            return args[0] * args[0] - args[1] * args[1];
+        }
+
+        @Override
+        public void werte(double[] punkte, int dim, int anzahl, double[] werte) {
+            int i = 0;
+            for (int grenze = SPECIES.loopBound(anzahl); i < grenze; i += SPECIES.length()) {
+                DoubleVector x = DoubleVector.fromArray(SPECIES, punkte, i);
+                DoubleVector y = DoubleVector.fromArray(SPECIES, punkte, anzahl + i);
+                x.mul(x).sub(y.mul(y)).intoArray(werte, i);
+            }
+            for (; i < anzahl; i++) {
+                double x = punkte[i], y = punkte[anzahl + i];
+                werte[i] = x * x - y * y;
+            }
+        }
+    };
+}
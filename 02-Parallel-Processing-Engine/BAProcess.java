@@ -1,10 +1,13 @@
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.SplittableRandom;
+import java.util.concurrent.Phaser;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 
 // Ein Worker-Prozess, der einen Teil des Wertebereichs für den BeesAlgorithm abarbeitet.
 public class BAProcess {
@@ -12,18 +15,16 @@ public class BAProcess {
     // ---------- PIPELINE METHODEN ----------
 
     // Liest übergebene BAParameter ein
-    private static BAParameter readBAParams() throws IOException, ClassNotFoundException {
-        try (ObjectInputStream ois = new ObjectInputStream(System.in)) {
-            return (BAParameter) ois.readObject();
-        } // try schließt danach die Pipeline automatisch
+    private static BAParameter readBAParams(BinaryChannel channel) throws IOException {
+        BinaryChannel.Type type = channel.read();
+        if (type != BinaryChannel.Type.SEARCH)
+            throw new IOException("Suchauftrag erwartet, aber " + type + " erhalten!");
+        return channel.readSearch();
     }
 
-    // Sendet Ergebnisliste des Algorithmus
-    private static void sendResult(CustomList result) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(System.out)) {
-            oos.writeObject(result);
-            oos.flush();
-        } // try schließt danach die Pipeline automatisch
+    // Sendet Ergebnisliste des Algorithmus (Stellen als gepackte doubles)
+    private static void sendResult(BinaryChannel channel, CustomList result) throws IOException {
+        channel.writeResult(result);
     }
 
     // ---------- LOG für DEBUG ----------
@@ -133,119 +134,298 @@ public class BAProcess {
 
     // ---------- BEES ALGORITHM ----------
 
+    // Aufruf: java BAProcess <Prozessindex> [pool | shared <Datei>]
+    // Ohne "pool" bearbeitet der Prozess genau einen Auftrag (ExecuteBA.search ohne Pool),
+    // mit "pool" beliebig viele Aufträge über dieselbe Pipeline (WorkerPool).
+    // Mit "shared" tauscht der Prozess während der Suche über den gemeinsamen Bereich in <Datei> (SharedRegion)
+    // pro Iteration seine besten Stellen gegen Migranten der anderen Prozesse (ExecuteBA.search mit Migration).
     public static void main(String[] args) throws Exception {
         //int procIndex = Integer.parseInt(args[0]); // Prozessindex // für LOG für TEST/DEBUG anschalten
 
-        // Parameter einlesen
-        BAParameter params = readBAParams();
+        BinaryChannel channel = new BinaryChannel(System.in, System.out);
+        if (args.length > 1 && args[1].equals("pool")) {
+            serve(channel);
+            return;
+        }
+
+        // Parameter einlesen, suchen, Ergebnis zurückgeben
+        try (SharedRegion shared = args.length > 2 && args[1].equals("shared") ? SharedRegion.open(Path.of(args[2])) : null) {
+            sendResult(channel, search(readBAParams(channel), true, shared));
+        }
+    }
+
+    // ---------- POOL-MODUS ----------
 
-        //log( // LOG für TEST/DEBUG anschalten
-        //        "Prozess " + procIndex + "\n" +
-        //                "Wertebereiche: " + Arrays.deepToString(params.w()) + "\n" +
-        //                "Anzahl Bienen n = " + params.n() + "\n" +
-        //                "Anzahl Threads pro Prozess = " + params.k() + "\n" +
-        //                "Bienen pro Block = " + params.b() + "\n" +
-        //                "e = " + params.e() + " exzellente Felder\n" +
-        //                "p = " + params.p() + " -> " + (params.p() / params.b()) + " Bloecke pro exzellentem Feld\n" +
-        //                "m-e = " + (params.m() - params.e()) + " gute Felder\n" +
-        //                "q = " + params.q() + " -> " + (params.q() / params.b()) + " Bloecke pro gutem Feld"
-        //);
+    // Bearbeitet Aufträge, bis SHUTDOWN kommt oder der Hauptprozess die Pipeline schließt.
+    // Die Verbindung bleibt für alle Nachrichten offen; das erste PING wird erst nach dem Aufwärmen beantwortet.
+    private static void serve(BinaryChannel channel) throws IOException, InterruptedException {
+        warmUp();
 
-        // Comparator für Sortierung der Stellen
-        Comparator<Stelle> vergleich = ExecuteBA.stellenComparator(params.c());
+        while (true) {
+            BinaryChannel.Type type;
+            try {
+                type = channel.read();
+            } catch (EOFException eof) {
+                return; // Hauptprozess beendet
+            }
+
+            switch (type) {
+                case SHUTDOWN -> {
+                    return;
+                }
+                case PING -> channel.writePing();
+                case SEARCH -> {
+                    // Fehler eines Auftrags an den Hauptprozess melden, der Worker bleibt verwendbar
+                    CustomList result;
+                    try {
+                        result = search(channel.readSearch());
+                    } catch (RuntimeException | IOException ex) {
+                        channel.writeError(ex);
+                        continue;
+                    }
+                    channel.writeResult(result);
+                }
+                default -> throw new IOException("Unerwartete Nachricht " + type + "!");
+            }
+        }
+    }
 
-        // Ergebnisliste
-        CustomList results = new CustomList();
+    // Wärmt den Suchcode mit einer kleinen Suche auf, damit der JIT ihn vor dem ersten Auftrag übersetzt
+    private static void warmUp() throws InterruptedException {
+        BAParameter params = new BAParameter(x -> x[0] * x[0] + x[1] * x[1], new double[][]{{-1.0, 1.0}, {-1.0, 1.0}},
+                Math::min, 10, 1, 50, 200, 20, 10, 40, 20, 0.1, 1);
+        for (int i = 0; i < 20; i++)
+            search(params);
+    }
 
-        // Anzahl Threads
-        int k = params.k();
-        Thread[] threads = new Thread[k];
+    // ---------- SUCHE ----------
 
-        // Pro Thread ein Random
-        SplittableRandom[] randoms = new SplittableRandom[k];
-        for (int thr = 0; thr < k; thr++)
-            randoms[thr] = new SplittableRandom();
+    // Führt den BeesAlgorithm mit den übergebenen Parametern aus und gibt die r besten Ergebnisse zurück
+    static CustomList search(BAParameter params) throws InterruptedException {
+        return search(params, true);
+    }
 
-        // --- BeesAlgorithm, mit mehreren Threads ---
+    // Wie oben; persistentThreads wählt, wie die k Threads über die t Iterationen koordiniert werden:
+    // true = k Threads für die ganze Suche, Phasen über einen Phaser (Standard),
+    // false = k neue Threads pro Iteration, Warten per join (ursprüngliche Variante, für ThreadBenchmark)
+    static CustomList search(BAParameter params, boolean persistentThreads) throws InterruptedException {
+        return search(params, persistentThreads, null);
+    }
 
-            //log(
-            //        """
-            //                ===================================
-            //                              START             \s
-            //                ==================================="""
-            //);
-            //log("STARTE GLOBALE SUCHE: " + params.n() / params.b() + " Bloecke"); // LOG für TEST/DEBUG anschalten
-
-        // --- START: Parallele globale Suche mit n Kundschafterinnen, mit k Threads & je Blockgröße b ---
-
-        final AtomicInteger blocksGlobal = new AtomicInteger(params.n() / params.b()); // Anzahl Blöcke
-        // Array mit Ergebnissen aller Threads der ersten globalen Suche (pro Block eine Liste)
-        CustomList[] globalresultsStart =  new CustomList[blocksGlobal.get()];
-        for (int i = 0; i < globalresultsStart.length; i++) {
-            globalresultsStart[i] = new CustomList();
-        }
+    // Wie oben; ist shared nicht null, werden nach jeder Iteration die besten Stellen veröffentlicht und
+    // neue Migranten übernommen (siehe Search.exchange)
+    static CustomList search(BAParameter params, boolean persistentThreads, SharedRegion shared) throws InterruptedException {
+        Search search = new Search(params, shared);
+        if (persistentThreads)
+            search.runPersistent();
+        else
+            search.runThreadPerIteration();
+        return search.topR();
+    }
 
-        // k Threads
-        for (int thr = 0; thr < params.k(); thr++) {
+    // Gemeinsamer Zustand einer Suche: Ergebnislisten, Block-Counter und die Arbeit der Threads pro Phase
+    private static final class Search {
 
-            final int thrID = thr;
-            threads[thr] = new Thread(() -> {
+        private final BAParameter params;
+        private final Comparator<Stelle> vergleich; // Comparator für Sortierung der Stellen
+        private final CustomList results = new CustomList(); // Ergebnisliste
+        private final SplittableRandom[] randoms; // Pro Thread ein Random
 
-                //String thrName = Thread.currentThread().getName(); // für Identifikation Thread in Log
-                //log("Starte Thread " + thrName); // LOG für TEST/DEBUG anschalten
+        // Erste globale Suche mit n Kundschafterinnen: Anzahl Blöcke, Ergebnisse (pro Block eine Liste)
+        private final AtomicInteger blocksGlobal;
+        private final CustomList[] globalresultsStart;
 
-                // globale Suche
-                int block;
-                while ((block = blocksGlobal.getAndDecrement()) > 0) {
+        // Iterationen: Anzahl der Blöcke pro Phase
+        private final int blocksGlobalInitial;
+        private final int blocksExcellentInitial;
+        private final int blocksGoodInitial;
 
-                    //log("Thread " + thrName + " - Block " + (block)); // LOG für TEST/DEBUG anschalten
+        // Synchronisation: gemeinsame Counter & Ergebnis-Collections für alle Threads
+        private final AtomicInteger blocksLocalExcellent = new AtomicInteger(0); // Anzahl Blöcke für e beste (exzellente) Felder gesamt
+        private final int blocksPerExcellentField; // Anzahl Blöcke pro exzellentem Feld
+        private final AtomicInteger blocksLocalGood = new AtomicInteger(0); // Anzahl Blöcke für m-e nächstbeste (gute) Felder gesamt
+        private final int blocksPerGoodField; // Anzahl Blöcke pro gutem Feld
+        private final Stelle[] localExcellentResults; // Bestes Ergebnis pro exzellentem Feld
+        private final Stelle[] localGoodResults; // Bestes Ergebnis pro gutem Feld
+        private final CustomList[] globalResults; // Ergebnisse globale Suche
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>(); // erster Fehler eines Threads
+
+        // Austausch mit dem Hauptprozess (null = keiner): Sequenznummer der zuletzt übernommenen Migranten
+        private final SharedRegion shared;
+        private long imported;
+
+        Search(BAParameter params, SharedRegion shared) {
+            this.params = params;
+            this.shared = shared;
+            this.vergleich = ExecuteBA.stellenComparator(params.c());
+
+            this.randoms = new SplittableRandom[params.k()];
+            for (int thr = 0; thr < params.k(); thr++)
+                randoms[thr] = new SplittableRandom();
+
+            this.blocksGlobal = new AtomicInteger(params.n() / params.b());
+            this.globalresultsStart = new CustomList[blocksGlobal.get()];
+            for (int i = 0; i < globalresultsStart.length; i++) {
+                globalresultsStart[i] = new CustomList();
+            }
 
-                    globalSearch(params.f(), params.w(), params.b(), globalresultsStart[block-1], randoms[thrID]);
+            this.blocksGlobalInitial = (params.n() - params.m()) / params.b();
+            this.blocksExcellentInitial = params.p() / params.b() * params.e();
+            this.blocksGoodInitial = params.q() / params.b() * (params.m() - params.e());
+            this.blocksPerExcellentField = params.p() / params.b();
+            this.blocksPerGoodField = params.q() / params.b();
+            this.localExcellentResults = new Stelle[params.e()];
+            this.localGoodResults = new Stelle[params.m() - params.e()];
+            this.globalResults = new CustomList[blocksGlobalInitial];
+            for (int i = 0; i < globalResults.length; i++) {
+                globalResults[i] = new CustomList();
+            }
+        }
+
+        // --- PERSISTENTE THREADS ---
+
+        // Die k Threads laufen über die ganze Suche. Phase 0 ist die erste globale Suche, Phase 1..t die Iterationen.
+        // Am Ende jeder Phase treffen sich alle Threads am Phaser; der zuletzt ankommende Thread führt in onAdvance
+        // den sequentiellen Teil aus (Ergebnisse zusammenfassen, Rekrutierung der nächsten Iteration), erst danach
+        // geht es für alle weiter. Der Phaser stellt dabei die Sichtbarkeit der Ergebnisse zwischen den Phasen sicher
+        // (happens-before) und wartet zunächst kurz aktiv, bevor er die Threads schlafen legt (spin-then-park).
+        // ANMERKUNG: Ein früherer Versuch mit einem zusätzlichen recrutor-Thread und wait/notify war langsamer als
+        // das Neu-Erzeugen der Threads (siehe runThreadPerIteration): pro Iteration zwei Übergaben über einen Monitor.
+        // Hier entfällt der zusätzliche Thread, der sequentielle Teil läuft ohne Übergabe im letzten Worker-Thread.
+        void runPersistent() throws InterruptedException {
+            final int t = params.t();
+            final Phaser phaser = new Phaser(params.k()) {
+                @Override
+                protected boolean onAdvance(int phase, int registeredParties) {
+                    if (phase == 0)
+                        mergeInitial();
+                    else
+                        merge();
+                    exchange(phase);
+                    if (phase == t)
+                        return true; // Phaser beenden, alle Threads verlassen ihre Schleife
+                    recruit();
+                    return false;
                 }
-            });
-            threads[thr].start();
+            };
+
+            Thread[] threads = new Thread[params.k()];
+            for (int thr = 0; thr < params.k(); thr++) {
+                final int thrID = thr;
+                threads[thr] = new Thread(() -> {
+                    int phase = 0;
+                    try {
+                        do {
+                            if (phase == 0)
+                                searchInitial(thrID);
+                            else
+                                searchIteration(thrID);
+                            phase = phaser.arriveAndAwaitAdvance(); // < 0, sobald der Phaser beendet ist
+                        } while (phase >= 0);
+                    } catch (Throwable ex) {
+                        // Fehler in f oder im sequentiellen Teil (auch Errors wie StackOverflowError): ohne diesen
+                        // Thread kann keine Phase mehr enden, also den Phaser beenden, damit die anderen nicht ewig warten
+                        fail(ex);
+                        phaser.forceTermination();
+                    }
+                });
+                threads[thr].start();
+            }
+
+            // Warten bis alle Threads fertig sind
+            for (Thread thr : threads)
+                thr.join();
+            rethrowFailure();
+        }
+
+        // --- THREADS PRO ITERATION (ursprüngliche Variante) ---
+
+        void runThreadPerIteration() throws InterruptedException {
+            // --- START: Parallele globale Suche mit n Kundschafterinnen, mit k Threads & je Blockgröße b ---
+            runThreads(this::searchInitial);
+            mergeInitial();
+            exchange(0);
+
+            // t Iterationen
+            for (int durchlauf = 1; durchlauf <= params.t(); durchlauf++) {
+                recruit();
+
+                // PARALLELE LOKALE UND GLOBALE SUCHEN
+                // k Threads
+                // ANMERKUNG: Die Threads werden in jeder Iteration neu erzeugt.
+                // Eine alternative Implementierung ohne ständiges Neu-Erzeugen beinhaltet einen zusätzlichen recrutor-Thread,
+                // der die sequentielle Rekrutierungsphase ausführt und je danach die Worker-Threads aufweckt.
+                // Die Worker-Threads signalisieren dann wieder dem recrutor-Thread, wenn sie fertig sind.
+                // Allerdings erwies sich der Overhead durch Synchronisation (warten & aufwecken, Monitor-Synchro)
+                // als ineffizient. (Die persistenten Threads in runPersistent kommen ohne recrutor-Thread aus.)
+                runThreads(this::searchIteration);
+                merge();
+                exchange(durchlauf);
+            }
+        }
+
+        // Startet k Threads mit der übergebenen Arbeit und wartet, bis alle fertig sind
+        private void runThreads(IntConsumer work) throws InterruptedException {
+            Thread[] threads = new Thread[params.k()];
+            for (int thr = 0; thr < params.k(); thr++) {
+                final int thrID = thr;
+                threads[thr] = new Thread(() -> {
+                    try {
+                        work.accept(thrID);
+                    } catch (Throwable ex) {
+                        fail(ex);
+                    }
+                });
+                threads[thr].start();
+            }
+
+            // Warten bis alle Threads fertig sind
+            for (Thread thr : threads)
+                thr.join();
+            rethrowFailure();
         }
 
-        // Warten bis alle Threads fertig sind
-        for (Thread t : threads)
-            t.join();
+        // Merkt sich den ersten Fehler eines Threads (Errors verpackt, damit ihn der Pool-Modus als ERROR meldet)
+        private void fail(Throwable ex) {
+            failure.compareAndSet(null, ex instanceof RuntimeException re ? re : new RuntimeException(ex));
+        }
 
-        // Ergebnisse aller Threads zusammenfassen
-        for (CustomList globalResult : globalresultsStart) {
-            results.addAll(globalResult);
+        // Gibt den ersten Fehler eines Threads an den Aufrufer weiter (statt ein unvollständiges Ergebnis zu liefern)
+        private void rethrowFailure() {
+            RuntimeException ex = failure.get();
+            if (ex != null)
+                throw ex;
         }
-        results.sort(vergleich);
 
-        //log("--> Anzahl Ergebnisse: " + results.size()); // LOG für TEST/DEBUG anschalten
+        // --- PHASEN ---
 
-        // --- ITERATIONEN LOKALE & GLOBALE SUCHEN
+        // Arbeit eines Threads in der ersten globalen Suche
+        private void searchInitial(int thrID) {
+            //String thrName = Thread.currentThread().getName(); // für Identifikation Thread in Log
+            //log("Starte Thread " + thrName); // LOG für TEST/DEBUG anschalten
 
-        final int blocksGlobalInitial = (params.n() - params.m()) / params.b();
-        final int blocksExcellentInitial = params.p() / params.b() * params.e();
-        final int blocksGoodInitial = params.q() / params.b() * (params.m() - params.e());
+            // globale Suche
+            int block;
+            while ((block = blocksGlobal.getAndDecrement()) > 0) {
 
-        // Synchronisation: gemeinsame Counter & Ergebnis-Collections für alle Threads
-        AtomicInteger blocksLocalExcellent = new AtomicInteger(0); // Anzahl Blöcke für e beste (exzellente) Felder gesamt
-        final int blocksPerExcellentField = params.p() / params.b(); // Anzahl Blöcke pro exzellentem Feld
-        AtomicInteger blocksLocalGood = new AtomicInteger(0); // Anzahl Blöcke für m-e nächstbeste (gute) Felder gesamt
-        final int blocksPerGoodField = params.q() / params.b(); // Anzahl Blöcke pro gutem Feld
-        Stelle[] localExcellentResults = new Stelle[params.e()]; // Bestes Ergebnis pro exzellentem Feld
-        Stelle[] localGoodResults = new Stelle[params.m() - params.e()]; // Bestes Ergebnis pro gutem Feld
-        final CustomList[] globalResults = new CustomList[blocksGlobalInitial]; // Ergebnisse globale Suche
-        for (int i = 0; i < globalResults.length; i++) {
-            globalResults[i] = new CustomList();
+                //log("Thread " + thrName + " - Block " + (block)); // LOG für TEST/DEBUG anschalten
+
+                globalSearch(params.f(), params.w(), params.b(), globalresultsStart[block-1], randoms[thrID]);
+            }
         }
 
-        // t Iterationen
-        for (int durchlauf = 1; durchlauf <= params.t(); durchlauf++) {
+        // Ergebnisse aller Threads der ersten globalen Suche zusammenfassen (sequentiell)
+        private void mergeInitial() {
+            for (CustomList globalResult : globalresultsStart) {
+                results.addAll(globalResult);
+            }
+            results.sort(vergleich);
 
-            //log(
-            //        "===================================\n" +
-            //        "         DURCHLAUF: " + durchlauf + "\n" +
-            //        "==================================="
-            //); // LOG für TEST/DEBUG anschalten
+            //log("--> Anzahl Ergebnisse: " + results.size()); // LOG für TEST/DEBUG anschalten
+        }
 
-            // REKRUTIERUNGSPHASE: Anlegen Blöcke
+        // REKRUTIERUNGSPHASE: Anlegen Blöcke (sequentiell)
+        private void recruit() {
             blocksGlobal.set(blocksGlobalInitial); // n-m lokale Suchen, je Blockgröße b
             blocksLocalExcellent.set(blocksExcellentInitial); // Pro exzellentem Feld Suche mit p Bienen, je Blockgröße b
             blocksLocalGood.set(blocksGoodInitial); // Pro gutem Feld Suche mit q Bienen, je Blockgröße b
@@ -262,84 +442,68 @@ public class BAProcess {
             for (CustomList res : globalResults) {
                 res.clear();
             }
+        }
 
-            // PARALLELE LOKALE UND GLOBALE SUCHEN
-            // k Threads
-            // ANMERKUNG: Die Threads werden in jeder Iteration neu erzeugt.
-            // Eine alternative Implementierung ohne ständiges Neu-Erzeugen beinhaltet einen zusätzlichen recrutor-Thread,
-            // der die sequentielle Rekrutierungsphase ausführt und je danach die Worker-Threads aufweckt.
-            // Die Worker-Threads signalisieren dann wieder dem recrutor-Thread, wenn sie fertig sind.
-            // Allerdings erwies sich der Overhead durch Synchronisation (warten & aufwecken, Monitor-Synchro)
-            // als ineffizient.
-            for (int thr = 0; thr < params.k(); thr++) {
-
-                final int thrID = thr;
-                threads[thr] = new Thread(() -> {
-
-                    //String thrName = Thread.currentThread().getName(); // für Identifikation Thread in Log
-                    //log("Starte Thread " + thrName); // LOG für TEST/DEBUG anschalten
-
-                    // LOKALE SUCHE AUF E BESTE (EXZELLENTE) FELDER
-                    int block = blocksLocalExcellent.getAndDecrement(); // nächsten Block schnappen
-
-                    // Solange noch Blöcke da sind: bearbeiten
-                    while (block > 0) {
+        // Arbeit eines Threads in einer Iteration: lokale Suchen auf den exzellenten und guten Feldern, globale Suche
+        private void searchIteration(int thrID) {
+            //String thrName = Thread.currentThread().getName(); // für Identifikation Thread in Log
 
-                        int taskId = block - 1; // idx ist null-indiziert, daher - 1
-                        int idxField = taskId / blocksPerExcellentField; // Zu welchem der exzellenten Felder gehört dieser Block
-                        Stelle stelle = results.get(idxField); // Feld holen
+            // LOKALE SUCHE AUF E BESTE (EXZELLENTE) FELDER
+            int block = blocksLocalExcellent.getAndDecrement(); // nächsten Block schnappen
 
-                        //int blockInField = (taskId % blocksPerExcellentField) + 1; // Für log Nummer des Blocks pro Feld
-                        //log("Thread " + thrName + ": Feld " + (idxField + 1) + " - Block " + blockInField); // LOG für TEST/DEBUG anschalten
+            // Solange noch Blöcke da sind: bearbeiten
+            while (block > 0) {
 
-                        // Lokale Suche
-                        localSearch(params.f(), params.w(), params.s(), vergleich, stelle, params.b(), localExcellentResults, idxField, randoms[thrID]);
+                int taskId = block - 1; // idx ist null-indiziert, daher - 1
+                int idxField = taskId / blocksPerExcellentField; // Zu welchem der exzellenten Felder gehört dieser Block
+                Stelle stelle = results.get(idxField); // Feld holen
 
-                        block = blocksLocalExcellent.getAndDecrement(); // nächsten Block schnappen
-                    }
+                //int blockInField = (taskId % blocksPerExcellentField) + 1; // Für log Nummer des Blocks pro Feld
+                //log("Thread " + thrName + ": Feld " + (idxField + 1) + " - Block " + blockInField); // LOG für TEST/DEBUG anschalten
 
-                    //log("Thread " + thrName + ": Fertig mit e beste Felder, jetzt m naechstbeste"); // LOG für TEST/DEBUG anschalten
+                // Lokale Suche
+                localSearch(params.f(), params.w(), params.s(), vergleich, stelle, params.b(), localExcellentResults, idxField, randoms[thrID]);
 
-                    // LOKALE SUCHE AUF NÄCHSTBESTE (GUTE) M-E FELDER
-                    block = blocksLocalGood.getAndDecrement(); // nächsten Block schnappen
+                block = blocksLocalExcellent.getAndDecrement(); // nächsten Block schnappen
+            }
 
-                    // Solange noch Blöcke da sind: bearbeiten
-                    while (block > 0) {
-                        int taskId = block - 1; // idx ist null-indiziert, daher - 1
-                        int idxField = taskId / blocksPerGoodField; // Zu welchem der guten Felder gehört dieser Block
-                        Stelle stelle = results.get(params.e() + idxField); // Feld holen
+            //log("Thread " + thrName + ": Fertig mit e beste Felder, jetzt m naechstbeste"); // LOG für TEST/DEBUG anschalten
 
-                        //int blockInField = (taskId % blocksPerGoodField) + 1; // Für log Nummer des Blocks pro Feld
-                        //log("Thread " + thrName + ": Feld " + (params.e() + idxField + 1) + " - Block " + blockInField); // LOG für TEST/DEBUG anschalten
+            // LOKALE SUCHE AUF NÄCHSTBESTE (GUTE) M-E FELDER
+            block = blocksLocalGood.getAndDecrement(); // nächsten Block schnappen
 
-                        // Lokale Suche
-                        localSearch(params.f(), params.w(), params.s(), vergleich, stelle, params.b(), localGoodResults, idxField, randoms[thrID]);
+            // Solange noch Blöcke da sind: bearbeiten
+            while (block > 0) {
+                int taskId = block - 1; // idx ist null-indiziert, daher - 1
+                int idxField = taskId / blocksPerGoodField; // Zu welchem der guten Felder gehört dieser Block
+                Stelle stelle = results.get(params.e() + idxField); // Feld holen
 
-                        block = blocksLocalGood.getAndDecrement(); // nächsten Block schnappen
-                    }
+                //int blockInField = (taskId % blocksPerGoodField) + 1; // Für log Nummer des Blocks pro Feld
+                //log("Thread " + thrName + ": Feld " + (params.e() + idxField + 1) + " - Block " + blockInField); // LOG für TEST/DEBUG anschalten
 
-                    //log("Thread " + thrName + ": Fertig mit m naechstbeste Felder, jetzt globale Suche"); // LOG für TEST/DEBUG anschalten
+                // Lokale Suche
+                localSearch(params.f(), params.w(), params.s(), vergleich, stelle, params.b(), localGoodResults, idxField, randoms[thrID]);
 
-                    // GLOBALE SUCHE
-                    // Solange noch Blöcke da sind: bearbeiten
-                    while ((block = blocksGlobal.getAndDecrement()) > 0) { // nächsten Block schnappen
+                block = blocksLocalGood.getAndDecrement(); // nächsten Block schnappen
+            }
 
-                        //log("Thread " + thrName + " - Block " + block); // LOG für TEST/DEBUG anschalten
+            //log("Thread " + thrName + ": Fertig mit m naechstbeste Felder, jetzt globale Suche"); // LOG für TEST/DEBUG anschalten
 
-                        // Globale Suche
-                        globalSearch(params.f(), params.w(), params.b(), globalResults[block-1], randoms[thrID]);
-                    }
+            // GLOBALE SUCHE
+            // Solange noch Blöcke da sind: bearbeiten
+            while ((block = blocksGlobal.getAndDecrement()) > 0) { // nächsten Block schnappen
 
-                    //log("Thread " + thrName + ": Fertig mit globaler Suche"); // LOG für TEST/DEBUG anschalten
+                //log("Thread " + thrName + " - Block " + block); // LOG für TEST/DEBUG anschalten
 
-                });
-                threads[thr].start();
+                // Globale Suche
+                globalSearch(params.f(), params.w(), params.b(), globalResults[block-1], randoms[thrID]);
             }
 
-            // Warten bis alle Threads fertig sind
-            for (Thread t : threads)
-                t.join();
+            //log("Thread " + thrName + ": Fertig mit globaler Suche"); // LOG für TEST/DEBUG anschalten
+        }
 
+        // Ergebnisse einer Iteration zusammenfassen (sequentiell)
+        private void merge() {
             //log(
             //"Local excellent: " + Arrays.toString(localExcellentResults) + "\n" +
             //                "Local good     : " + Arrays.toString(localGoodResults) + "\n" +
@@ -347,7 +511,6 @@ public class BAProcess {
             //                "--> good       : " + localGoodResults.length + "\n" +
             //); // LOG für TEST/DEBUG anschalten
 
-            // Ergebnisse zusammenfassen
             results.clear();
             for (CustomList res : globalResults)
                 results.addAll(res);
@@ -356,12 +519,59 @@ public class BAProcess {
             results.sort(vergleich);
 
             //log("--> Anzahl Ergebnisse: " + results.size()); // LOG für TEST/DEBUG anschalten
+        }
 
+        // AUSTAUSCH ÜBER DEN GEMEINSAMEN BEREICH (sequentiell, nach dem Zusammenfassen einer Phase):
+        // die r besten Stellen als Fortschritt veröffentlichen, neue Migranten anderer Prozesse übernehmen.
+        // Migranten außerhalb des eigenen Wertebereichs werden verworfen (die Felder müssen in w liegen);
+        // übernommene Migranten können in der nächsten Rekrutierung zu Feldern werden. Nach der letzten Iteration
+        // gibt es keine Rekrutierung mehr: Migranten würden dann nur noch als Kopien im Ergebnis landen.
+        private void exchange(int generation) {
+            if (shared == null)
+                return;
+            shared.publish(SharedRegion.TO_MAIN, generation, results.subList(0, Math.min(params.r(), results.size())));
+
+            if (generation == params.t() || shared.sequence(SharedRegion.TO_WORKER) <= imported)
+                return; // letzte Iteration oder keine neuen Migranten
+            SharedRegion.Entry migranten = shared.latest(SharedRegion.TO_WORKER);
+            imported = migranten.sequence();
+            boolean neu = false;
+            for (Stelle stelle : migranten.sites()) {
+                if (inside(stelle.args()) && !known(stelle.args())) {
+                    results.add(stelle);
+                    neu = true;
+                }
+            }
+            if (neu)
+                results.sort(vergleich);
+        }
+
+        // Ist die Stelle schon in der Ergebnisliste? (Migranten kommen über den Ring auch zum Absender zurück;
+        // Kopien würden mehrere Felder mit derselben Mitte belegen)
+        private boolean known(double[] args) {
+            for (Stelle stelle : results) {
+                if (Arrays.equals(stelle.args(), args))
+                    return true;
+            }
+            return false;
         }
 
-        // Ergebnisliste mit besten r Ergebnissen zurückgeben
-        results.sort(vergleich); // sichergehen, dass es sortiert ist
-        CustomList topR = new CustomList(results.subList(0, Math.min(params.r(), results.size())));
-        sendResult(topR);
+        // Liegt die Stelle im Wertebereich dieses Prozesses?
+        private boolean inside(double[] args) {
+            double[][] w = params.w();
+            if (args.length != w.length)
+                return false;
+            for (int d = 0; d < w.length; d++) {
+                if (args[d] < w[d][0] || args[d] > w[d][1])
+                    return false;
+            }
+            return true;
+        }
+
+        // Ergebnisliste mit besten r Ergebnissen
+        CustomList topR() {
+            results.sort(vergleich); // sichergehen, dass es sortiert ist
+            return new CustomList(results.subList(0, Math.min(params.r(), results.size())));
+        }
     }
 }
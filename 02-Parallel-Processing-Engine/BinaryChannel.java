@@ -0,0 +1,266 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+// Binäres Protokoll zwischen ExecuteBA/WorkerPool und BAProcess (beide Richtungen über dieselbe Verbindung).
+// Jede Nachricht ist ein Rahmen: int Länge (ohne diese 4 Bytes) | byte Typ | Nutzdaten, alle Zahlen big-endian.
+// Beliebig viele Nachrichten pro Verbindung; Rahmen werden in einem wiederverwendeten ByteBuffer aufgebaut und
+// mit einem einzigen write gesendet bzw. mit einem readFully gelesen.
+//
+//   PING, SHUTDOWN, RESET  keine Nutzdaten
+//   DEFINE   int id | serialisiertes Objekt (Funktion f oder Vergleichsfunktion c)
+//   SEARCH   int id(f) | int id(c) | int dim | dim x (double lo, double hi) | int b, k, t, n, m, e, p, q | double s | int r
+//   RESULT   int anzahl | int dim | anzahl x (dim x double args, double wert)  (Stellen als gepackte doubles)
+//   ERROR    Fehlermeldung als UTF-8 (Rest des Rahmens, höchstens MAX_ERROR Zeichen)
+//
+// Lambdas lassen sich nicht als Zahlen darstellen: f und c werden daher einmal pro Verbindung per Java-Serialisierung
+// als DEFINE gesendet und danach nur noch über ihre id referenziert (gleiche Instanz = gleiche id; nicht
+// erfassende Lambdas sind bei jedem Aufruf dieselbe Instanz). Nach MAX_DEFINITIONS Definitionen vergessen beide
+// Seiten alle Definitionen (RESET), damit die Tabellen bei immer neuen (erfassenden) Lambdas nicht wachsen.
+public final class BinaryChannel {
+
+    // Nachrichtentypen (als Byte: ordinal)
+    public enum Type { PING, SHUTDOWN, RESET, DEFINE, SEARCH, RESULT, ERROR }
+
+    private static final int MAX_FRAME = 1 << 28; // 256 MiB, größere Längen gelten als Protokollfehler
+    private static final int MAX_DEFINITIONS = 256;
+    private static final int MAX_ERROR = 1 << 16; // längere Fehlermeldungen werden abgeschnitten
+    private static final Type[] TYPES = Type.values();
+
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    private ByteBuffer frame = ByteBuffer.allocate(1024); // Sendepuffer
+    private byte[] received = new byte[1024]; // Empfangspuffer
+    private ByteBuffer payload; // Nutzdaten des zuletzt gelesenen Rahmens
+
+    private final Map<Object, Integer> sent = new IdentityHashMap<>(); // gesendete Definitionen -> id
+    private final Map<Integer, Object> defined = new HashMap<>(); // empfangene Definitionen
+
+    public BinaryChannel(InputStream in, OutputStream out) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    // ---------- SENDEN ----------
+
+    public void writePing() throws IOException {
+        begin(Type.PING);
+        send();
+    }
+
+    public void writeShutdown() throws IOException {
+        begin(Type.SHUTDOWN);
+        send();
+    }
+
+    // Sendet einen Suchauftrag (vorher ggf. die Definitionen von f und c)
+    public void writeSearch(BAParameter params) throws IOException {
+        // ein RESET nur vor der ersten Definition: sonst verlöre eine schon vergebene id (f) ihre Gültigkeit
+        if (sent.size() + 2 > MAX_DEFINITIONS && !(sent.containsKey(params.f()) && sent.containsKey(params.c())))
+            reset();
+        int f = define(params.f());
+        int c = define(params.c());
+        double[][] w = params.w();
+
+        begin(Type.SEARCH);
+        reserve(3 * Integer.BYTES + 2 * w.length * Double.BYTES + 9 * Integer.BYTES + Double.BYTES);
+        frame.putInt(f).putInt(c).putInt(w.length);
+        for (double[] bereich : w)
+            frame.putDouble(bereich[0]).putDouble(bereich[1]);
+        frame.putInt(params.b()).putInt(params.k()).putInt(params.t()).putInt(params.n()).putInt(params.m())
+                .putInt(params.e()).putInt(params.p()).putInt(params.q()).putDouble(params.s()).putInt(params.r());
+        send();
+    }
+
+    // Sendet eine Ergebnisliste (alle Stellen haben dieselbe Dimension)
+    public void writeResult(CustomList result) throws IOException {
+        int dim = result.isEmpty() ? 0 : result.get(0).args().length;
+        begin(Type.RESULT);
+        reserve(2 * Integer.BYTES + result.size() * (dim + 1) * Double.BYTES);
+        frame.putInt(result.size()).putInt(dim);
+        for (Stelle stelle : result) {
+            for (double x : stelle.args())
+                frame.putDouble(x);
+            frame.putDouble(stelle.wert());
+        }
+        send();
+    }
+
+    // Sendet eine Fehlermeldung (beliebig lang, siehe MAX_ERROR)
+    public void writeError(Throwable error) throws IOException {
+        String message = String.valueOf(error);
+        if (message.length() > MAX_ERROR)
+            message = message.substring(0, MAX_ERROR) + " ...";
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        begin(Type.ERROR);
+        reserve(bytes.length);
+        frame.put(bytes);
+        send();
+    }
+
+    // id von definition; beim ersten Mal wird sie als DEFINE gesendet (Platz dafür schafft writeSearch).
+    // Lässt sich definition nicht serialisieren, wird nichts gesendet (SerializationException)
+    private int define(Object definition) throws IOException {
+        Integer id = sent.get(definition);
+        if (id != null)
+            return id;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(definition);
+        } catch (IOException ex) { // in den Speicher geschrieben: nur Serialisierungsfehler (z.B. NotSerializable)
+            throw new SerializationException("Definition kann nicht serialisiert werden: " + ex, ex);
+        }
+        id = sent.size();
+        sent.put(definition, id);
+
+        begin(Type.DEFINE);
+        reserve(Integer.BYTES + bytes.size());
+        frame.putInt(id).put(bytes.toByteArray());
+        send();
+        return id;
+    }
+
+    // Beide Seiten vergessen alle Definitionen
+    private void reset() throws IOException {
+        sent.clear();
+        begin(Type.RESET);
+        send();
+    }
+
+    private void begin(Type type) {
+        frame.clear();
+        frame.position(Integer.BYTES); // Platz für die Länge
+        frame.put((byte) type.ordinal());
+    }
+
+    // Vergrößert den Sendepuffer, sodass noch bytes Bytes hineinpassen
+    private void reserve(int bytes) {
+        if (frame.remaining() < bytes) {
+            ByteBuffer groesser = ByteBuffer.allocate(Math.max(frame.capacity() * 2, frame.position() + bytes));
+            frame.flip();
+            groesser.put(frame);
+            frame = groesser;
+        }
+    }
+
+    private void send() throws IOException {
+        frame.putInt(0, frame.position() - Integer.BYTES);
+        out.write(frame.array(), 0, frame.position());
+        out.flush();
+    }
+
+    // ---------- EMPFANGEN ----------
+
+    // Liest den nächsten Rahmen und gibt seinen Typ zurück; DEFINE und RESET werden dabei direkt verarbeitet.
+    // Die Nutzdaten von SEARCH, RESULT und ERROR werden danach mit readSearch, readResult bzw. readError gelesen.
+    // Am Ende der Verbindung: EOFException
+    public Type read() throws IOException {
+        while (true) {
+            int length = in.readInt();
+            if (length < 1 || length > MAX_FRAME)
+                throw new IOException("Ungültige Rahmenlänge " + length + "!");
+            if (received.length < length)
+                received = new byte[Math.max(length, received.length * 2)];
+            in.readFully(received, 0, length);
+            payload = ByteBuffer.wrap(received, 1, length - 1);
+
+            int code = received[0];
+            if (code < 0 || code >= TYPES.length)
+                throw new IOException("Unbekannter Nachrichtentyp " + code + "!");
+            Type type = TYPES[code];
+            if (type == Type.DEFINE) {
+                int id = payload.getInt();
+                try (ObjectInputStream ois = new ObjectInputStream(
+                        new ByteArrayInputStream(received, payload.position(), payload.remaining()))) {
+                    defined.put(id, ois.readObject());
+                } catch (ClassNotFoundException ex) {
+                    throw new IOException("Definition " + id + " kann nicht geladen werden.", ex);
+                }
+            } else if (type == Type.RESET) {
+                defined.clear();
+            } else {
+                return type;
+            }
+        }
+    }
+
+    // Wartet auf die Antwort auf einen Suchauftrag: RESULT liefert die Stellen, ERROR wirft eine RemoteException
+    public CustomList awaitResult() throws IOException {
+        Type type = read();
+        if (type == Type.ERROR)
+            throw new RemoteException(readError());
+        if (type != Type.RESULT)
+            throw new IOException("Ergebnis erwartet, aber " + type + " erhalten!");
+        return readResult();
+    }
+
+    // Nutzdaten eines SEARCH-Rahmens
+    @SuppressWarnings("unchecked")
+    public BAParameter readSearch() throws IOException {
+        Object f = defined.get(payload.getInt());
+        Object c = defined.get(payload.getInt());
+        if (f == null || c == null)
+            throw new IOException("Suchauftrag verweist auf eine unbekannte Definition!");
+        double[][] w = new double[payload.getInt()][2];
+        for (double[] bereich : w) {
+            bereich[0] = payload.getDouble();
+            bereich[1] = payload.getDouble();
+        }
+        return new BAParameter((SerializableFunction<double[], Double>) f, w,
+                (SerializableBiFunction<Double, Double, Double>) c,
+                payload.getInt(), payload.getInt(), payload.getInt(), payload.getInt(), payload.getInt(),
+                payload.getInt(), payload.getInt(), payload.getInt(), payload.getDouble(), payload.getInt());
+    }
+
+    // Nutzdaten eines RESULT-Rahmens
+    public CustomList readResult() {
+        int count = payload.getInt();
+        int dim = payload.getInt();
+        CustomList result = new CustomList();
+        for (int i = 0; i < count; i++) {
+            double[] args = new double[dim];
+            for (int d = 0; d < dim; d++)
+                args[d] = payload.getDouble();
+            result.add(new Stelle(args, payload.getDouble()));
+        }
+        return result;
+    }
+
+    // Nutzdaten eines ERROR-Rahmens
+    public String readError() {
+        return new String(received, payload.position(), payload.remaining(), StandardCharsets.UTF_8);
+    }
+
+    // Ein Auftrag ist im Worker fehlgeschlagen (die Verbindung selbst ist in Ordnung)
+    public static final class RemoteException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public RemoteException(String message) {
+            super(message);
+        }
+    }
+
+    // f oder c eines Auftrags lässt sich nicht serialisieren; es wurde nichts gesendet (die Verbindung ist in Ordnung)
+    public static final class SerializationException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public SerializationException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
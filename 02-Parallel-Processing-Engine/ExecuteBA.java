@@ -1,27 +1,32 @@
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.BiFunction;
 
 // Klasse zur Ausführung des BeesAlgorithm.
 public class ExecuteBA {
 
+    private static final int REGION_CAPACITY = 8; // Einträge pro Ringpuffer eines gemeinsamen Bereichs
+    private static final long RELAY_PAUSE_NS = 200_000; // Pause des Migrations-Threads, wenn kein Prozess Neues meldet
+
     // ---------- PIPELINE METHODEN ----------
 
-    // Sendet ein BAParameter-Objekt
-    private static void sendBAParams(OutputStream out, BAParameter params) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
-            oos.writeObject(params);
-            oos.flush();
-        } // try schließt danach die Pipeline automatisch
+    // Sendet ein BAParameter-Objekt (binär, siehe BinaryChannel)
+    private static void sendBAParams(BinaryChannel channel, BAParameter params) throws IOException {
+        channel.writeSearch(params);
     }
 
     // Liest übergebene Ergebnisse ein
-    private static CustomList readResult(InputStream in) throws IOException, ClassNotFoundException {
-        try (ObjectInputStream ois = new ObjectInputStream(in)) {
-            return (CustomList) ois.readObject();
-        } // try schließt danach die Pipeline automatisch
+    private static CustomList readResult(BinaryChannel channel) throws IOException {
+        return channel.awaitResult();
     }
 
     // ---------- HILFSFUNKTIONEN --------
@@ -79,120 +84,235 @@ public class ExecuteBA {
      * @param description Beschreibung der Suche
      */
     public static void search(SerializableFunction<double[],Double> f, double[][][] w, SerializableBiFunction<Double, Double, Double> c,
-                              int b, int k, int t, int n, int m, int e, int p, int q, double s, int r, String title, String description) throws IOException, InterruptedException, ClassNotFoundException {
+                              int b, int k, int t, int n, int m, int e, int p, int q, double s, int r, String title, String description) throws IOException, InterruptedException {
+        search(f, w, c, b, k, t, n, m, e, p, q, s, r, title, description, false);
+    }
+
+    /*
+     * Wie oben; mit migration tauschen die Prozesse während der Suche ihre besten Stellen aus (Inselmodell).
+     * Jeder Prozess teilt mit dem Hauptprozess einen gemeinsamen Speicherbereich (SharedRegion, memory-mapped Datei)
+     * und veröffentlicht dort nach jeder Iteration seine r besten Stellen; ein Thread des Hauptprozesses reicht sie
+     * als Migranten an den nächsten Prozess weiter (Ring 0 -> 1 -> ... -> 0). Der Austausch kommt ohne Pipeline,
+     * Systemaufruf und Serialisierung aus und bremst die Suche daher auch bei vielen kurzen Iterationen nicht.
+     * Sinnvoll bei sich überlappenden Wertebereichen: Migranten außerhalb des eigenen Bereichs verwirft ein Prozess.
+     * @param migration true = Stellen zwischen den Prozessen austauschen (ab 2 Prozessen)
+     * (weitere Parameter wie oben)
+     */
+    public static void search(SerializableFunction<double[],Double> f, double[][][] w, SerializableBiFunction<Double, Double, Double> c,
+                              int b, int k, int t, int n, int m, int e, int p, int q, double s, int r, String title, String description,
+                              boolean migration) throws IOException, InterruptedException {
 
         // --- Aufteilung Wertebereiche auf die Prozesse ---
 
         int anzProzesse = w.length;
 
-        // Liste mit allen Prozessen
+        // Liste mit allen Prozessen und ihren Verbindungen
         List<Process> prozesse = new ArrayList<>(anzProzesse);
+        List<BinaryChannel> verbindungen = new ArrayList<>(anzProzesse);
+
+        // Gemeinsame Bereiche für die Migration (eine Datei pro Prozess in einem temporären Verzeichnis)
+        boolean shared = migration && anzProzesse > 1;
+        Path verzeichnis = shared ? Files.createTempDirectory("ba-shared") : null;
+        List<SharedRegion> bereiche = new ArrayList<>(anzProzesse);
+        Thread relay = null;
+
+        try {
+            // Prozesse erzeugen
+            for (int i = 0; i < anzProzesse; i++) {
+                // Fehlermeldungen in eigener Datei ablegen (für Debugging)
+                File errFile = new File("worker-" + i + ".err");
+
+                List<String> befehl = new ArrayList<>(List.of(
+                        "java", // neue JVM starten
+                        "BAProcess", // Klasse BAProcess laden
+                        Integer.toString(i) // Prozess-Index
+                ));
+                if (shared) {
+                    Path datei = verzeichnis.resolve("worker-" + i + ".shm");
+                    bereiche.add(SharedRegion.create(datei, REGION_CAPACITY, r, w[i].length));
+                    befehl.addAll(List.of("shared", datei.toString())); // gemeinsamer Bereich des Prozesses
+                }
+                ProcessBuilder pb = new ProcessBuilder(befehl);
 
-        // Prozesse erzeugen
-        for (int i = 0; i < anzProzesse; i++) {
-            // Fehlermeldungen in eigener Datei ablegen (für Debugging)
-            File errFile = new File("worker-" + i + ".err");
-
-            ProcessBuilder pb = new ProcessBuilder(
-                    "java", // neue JVM starten
-                    "BAProcess", // Klasse BAProcess laden
-                    Integer.toString(i) // Prozess-Index
-            );
+                pb.redirectError(errFile); // Fehlermeldungen in eigener Datei ablegen (für Debugging)
+                Process proc = pb.start(); // Prozess starten
+                prozesse.add(proc); // Prozess merken
 
-            pb.redirectError(errFile); // Fehlermeldungen in eigener Datei ablegen (für Debugging)
-            Process proc = pb.start(); // Prozess starten
-            prozesse.add(proc); // Prozess merken
+                BinaryChannel channel = new BinaryChannel(proc.getInputStream(), proc.getOutputStream());
+                verbindungen.add(channel);
 
-            // Parameter serialisieren (BAParameter implementiert Serializable)
-            BAParameter params = new BAParameter(
-                    f, w[i],   // nur w[i] senden (Argumentbereiche für den i-ten Prozess)
-                    c, b, k, t, n, m, e, p, q, s, r
-            );
+                // Parameter binär senden (f und c als serialisierte Definitionen)
+                BAParameter params = new BAParameter(
+                        f, w[i],   // nur w[i] senden (Argumentbereiche für den i-ten Prozess)
+                        c, b, k, t, n, m, e, p, q, s, r
+                );
 
-            sendBAParams(proc.getOutputStream(), params); // Parameter über Pipeline senden
-        }
-
-        // --- Sammeln der Ergebnisse ---
+                sendBAParams(channel, params); // Parameter über Pipeline senden
+            }
+            if (shared)
+                relay = startRelay(bereiche);
 
-        // Ergebnisliste
-        CustomList results = new CustomList();
+            // --- Sammeln der Ergebnisse ---
 
-        for (Process proc : prozesse) {
-            // Ergebnisse vom BAProzess lesen & in Ergebnisliste zusammenfassen
-            CustomList res = readResult(proc.getInputStream());
-            results.addAll(res);
+            // Ergebnisliste
+            CustomList results = new CustomList();
 
-            // Warten bis Prozess beendet ist
-            try {
-                int exit = proc.waitFor();
-                if (exit != 0) {
-                    throw new IOException("Worker-Prozess endete mit Exit-Code " + exit);
-                }
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-                throw new IOException("Warten auf Worker unterbrochen.", ie);
-            }
+            for (int i = 0; i < anzProzesse; i++) {
+                Process proc = prozesse.get(i);
 
-        }
+                // Ergebnisse vom BAProzess lesen & in Ergebnisliste zusammenfassen
+                CustomList res = readResult(verbindungen.get(i));
+                results.addAll(res);
 
-        // ANMERKUNG:
-        // Die obere Variante sammelt die Prozesse sequentiell ein.
-        // Die unten auskommentierte Variante "lauscht" parallel auf alle Prozesse.
-        // Allerdings bringt dies in unseren Anwendungsfällen keinen Laufzeitvorteil.
-        // Die untere Variante verhindert außerdem ein Blockieren der Pipelines durch zu große Datenmengen,
-        // falls nicht rasch genug gelesen wird.
-        // Da unsere Prozesse in jedem Fall nur eine Liste mit den r besten Ergebnissen zurückgeben und
-        // r typischerweise klein ist, ist der Overhead durch Buffer-Absicherung in diesem Fall nicht nötig.
-        // Wir lassen die alternative Implementierung trotzdem auskommentiert stehen, sodass sie bei Bedarf
-        // (z.B. Änderung der Anwendungsfälle) eingesetzt werden kann.
-        /*
-        // Per Collector-Threads alle Prozesse parallel verwalten (verhindert blockierende Buffer)
-        List<Thread> collectors = new ArrayList<>(); // Collector-Threads
-
-        // Synchronisierte Ergebnisliste
-        List<Stelle> results = Collections.synchronizedList(new ArrayList<>());
-
-        // Ein Thread pro Prozess, der ständig liest
-        for (Process proc : prozesse) {
-            Thread thr = new Thread(() -> {
+                // Warten bis Prozess beendet ist
                 try {
-                    // Lesen, damit stdout-Buffer nicht blockiert
-                    CustomList res = readResult(proc.getInputStream());
-
-                    // Warten, bis Prozess beendet ist
                     int exit = proc.waitFor();
                     if (exit != 0) {
                         throw new IOException("Worker-Prozess endete mit Exit-Code " + exit);
                     }
-
-                    results.addAll(res); // synchronizedList synchronisiert Einfügen
-
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
-                    throw new RuntimeException("Collector-Thread unterbrochen", ie);
-                } catch (IOException | ClassNotFoundException ex) {
-                    throw new RuntimeException("Fehler beim Einsammeln von Prozess " + proc, ex);
+                    throw new IOException("Warten auf Worker unterbrochen.", ie);
+                }
+
+            }
+
+            // ANMERKUNG:
+            // Die obere Variante sammelt die Prozesse sequentiell ein.
+            // Die unten auskommentierte Variante "lauscht" parallel auf alle Prozesse.
+            // Allerdings bringt dies in unseren Anwendungsfällen keinen Laufzeitvorteil.
+            // Die untere Variante verhindert außerdem ein Blockieren der Pipelines durch zu große Datenmengen,
+            // falls nicht rasch genug gelesen wird.
+            // Da unsere Prozesse in jedem Fall nur eine Liste mit den r besten Ergebnissen zurückgeben und
+            // r typischerweise klein ist, ist der Overhead durch Buffer-Absicherung in diesem Fall nicht nötig.
+            // Wir lassen die alternative Implementierung trotzdem auskommentiert stehen, sodass sie bei Bedarf
+            // (z.B. Änderung der Anwendungsfälle) eingesetzt werden kann.
+            /*
+            // Per Collector-Threads alle Prozesse parallel verwalten (verhindert blockierende Buffer)
+            List<Thread> collectors = new ArrayList<>(); // Collector-Threads
+
+            // Synchronisierte Ergebnisliste
+            List<Stelle> results = Collections.synchronizedList(new ArrayList<>());
+
+            // Ein Thread pro Prozess, der ständig liest
+            for (Process proc : prozesse) {
+                Thread thr = new Thread(() -> {
+                    try {
+                        // Lesen, damit stdout-Buffer nicht blockiert
+                        CustomList res = readResult(verbindungen.get(prozesse.indexOf(proc)));
+
+                        // Warten, bis Prozess beendet ist
+                        int exit = proc.waitFor();
+                        if (exit != 0) {
+                            throw new IOException("Worker-Prozess endete mit Exit-Code " + exit);
+                        }
+
+                        results.addAll(res); // synchronizedList synchronisiert Einfügen
+
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException("Collector-Thread unterbrochen", ie);
+                    } catch (IOException ex) {
+                        throw new RuntimeException("Fehler beim Einsammeln von Prozess " + proc, ex);
+                    }
+                });
+                thr.start();
+                collectors.add(thr);
+            }
+
+            for (Thread thr : collectors) {
+                thr.join();
+            }
+            */
+
+            // --- Ergebnisse zusammenfassen, Ausgabe ---
+            printErgebnisse(topResults(results, c, r), title, description);
+        } finally {
+            for (Process proc : prozesse)
+                proc.destroyForcibly(); // nur bei Fehlern noch laufend (sonst bereits beendet)
+            if (relay != null) {
+                relay.interrupt();
+                relay.join();
+            }
+            for (SharedRegion bereich : bereiche)
+                bereich.close();
+            if (verzeichnis != null) {
+                for (int i = 0; i < bereiche.size(); i++)
+                    Files.deleteIfExists(verzeichnis.resolve("worker-" + i + ".shm"));
+                Files.deleteIfExists(verzeichnis);
+            }
+        }
+    }
+
+    // Startet den Thread, der neue Einträge jedes Prozesses (TO_MAIN) an den nächsten Prozess weiterreicht (TO_WORKER).
+    // Gelesen wird nur der neueste Eintrag; hat ein Prozess seit dem letzten Blick mehrere Iterationen veröffentlicht,
+    // zählen nur seine aktuellen besten Stellen.
+    private static Thread startRelay(List<SharedRegion> bereiche) {
+        Thread relay = new Thread(() -> {
+            long[] gesehen = new long[bereiche.size()];
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean neu = false;
+                for (int i = 0; i < bereiche.size(); i++) {
+                    SharedRegion von = bereiche.get(i);
+                    if (von.sequence(SharedRegion.TO_MAIN) <= gesehen[i])
+                        continue;
+                    SharedRegion.Entry eintrag = von.latest(SharedRegion.TO_MAIN);
+                    gesehen[i] = eintrag.sequence();
+                    bereiche.get((i + 1) % bereiche.size()).publish(SharedRegion.TO_WORKER, eintrag.generation(), eintrag.sites());
+                    neu = true;
                 }
-            });
-            thr.start();
-            collectors.add(thr);
+                if (!neu)
+                    LockSupport.parkNanos(RELAY_PAUSE_NS);
+            }
+        }, "migration-relay");
+        relay.setDaemon(true);
+        relay.start();
+        return relay;
+    }
+
+    /*
+     * Wie oben, die Wertebereiche werden aber von den bereits laufenden Worker-Prozessen des Pools bearbeitet
+     * (keine neue JVM pro Aufruf). Gibt es mehr Wertebereiche als Worker, warten die übrigen auf einen freien Worker.
+     * @param pool Die Worker-Prozesse
+     * (weitere Parameter wie oben)
+     */
+    public static void search(WorkerPool pool, SerializableFunction<double[],Double> f, double[][][] w, SerializableBiFunction<Double, Double, Double> c,
+                              int b, int k, int t, int n, int m, int e, int p, int q, double s, int r, String title, String description) throws IOException, InterruptedException {
+
+        // Alle Aufträge abschicken (laufen parallel auf den freien Workern)
+        List<Future<CustomList>> auftraege = new ArrayList<>(w.length);
+        for (double[][] bereich : w) {
+            auftraege.add(pool.submit(new BAParameter(f, bereich, c, b, k, t, n, m, e, p, q, s, r)));
         }
 
-        for (Thread thr : collectors) {
-            thr.join();
+        // Ergebnisse einsammeln
+        CustomList results = new CustomList();
+        for (Future<CustomList> auftrag : auftraege) {
+            try {
+                results.addAll(auftrag.get());
+            } catch (ExecutionException ex) {
+                throw new IOException("Suche im Worker-Pool fehlgeschlagen.", ex.getCause());
+            }
         }
-        */
 
-        // --- Ergebnisse zusammenfassen ---
+        printErgebnisse(topResults(results, c, r), title, description);
+    }
 
+    // Sortiert die Ergebnisse aller Prozesse und gibt die besten r verschiedenen zurück
+    // (bei Migration kann dieselbe Stelle im Ergebnis mehrerer Prozesse stehen)
+    private static CustomList topResults(CustomList results, BiFunction<Double, Double, Double> c, int r) {
         // Ergebnisse sortieren
         results.sort(stellenComparator(c));
 
-        // Beste r Ergebnisse
-        CustomList topResults = new CustomList (results.subList(0, Math.min(r, results.size())));
-
-        // --- Ausgabe / Rückgabe ---
-        printErgebnisse(topResults, title, description);
+        // Beste r Ergebnisse ohne Kopien
+        CustomList beste = new CustomList();
+        for (Stelle stelle : results) {
+            if (beste.size() == r)
+                break;
+            if (beste.stream().noneMatch(b -> Arrays.equals(b.args(), stelle.args())))
+                beste.add(stelle);
+        }
+        return beste;
     }
 
     // Gibt ein Ergebnis schön in der Konsole aus.
@@ -0,0 +1,206 @@
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+// Gemeinsamer Speicherbereich (memory-mapped Datei) zwischen ExecuteBA und einem BAProcess.
+// Zwei Ringpuffer mit je genau einem Schreiber und einem Leser: TO_MAIN (Worker -> Hauptprozess, z.B. die besten
+// Stellen jeder Generation als Fortschritt) und TO_WORKER (Hauptprozess -> Worker, z.B. Migranten anderer Prozesse).
+// Austausch ohne Systemaufruf und ohne Serialisierung: Stellen werden als doubles direkt in den Bereich geschrieben.
+//
+// Aufbau: Kopf (MAGIC, VERSION, capacity, entryBytes), dann pro Ring eine eigene Cache-Line mit der Sequenznummer
+// und capacity Einträge zu je entryBytes Bytes:
+//   long generation | int count | int dim | count x (dim x double args, double wert)
+// Eintrag j liegt in Platz j % capacity. Der Schreiber füllt den Eintrag und veröffentlicht danach die Sequenznummer
+// j + 1 (setRelease); der Leser liest sie mit getAcquire und sieht damit den vollständigen Eintrag. Gelesen wird
+// immer der neueste Eintrag; hat der Schreiber den Platz währenddessen erneut belegt, liest der Leser noch einmal.
+public final class SharedRegion implements AutoCloseable {
+
+    public static final int TO_MAIN = 0;
+    public static final int TO_WORKER = 1;
+
+    private static final int MAGIC = 0x42415348; // "BASH"
+    private static final int VERSION = 1;
+    private static final int HEADER = 64; // Bytes, eine Cache-Line
+    private static final int ENTRY_HEADER = 16; // generation, count, dim
+
+    // Zugriff mit Speicherordnung auf die Sequenznummern im Bereich (direkter Puffer, auf 8 Bytes ausgerichtet)
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    // Neuester Eintrag eines Rings: Sequenznummer (Anzahl bisher veröffentlichter Einträge), Generation und Stellen
+    public record Entry(long sequence, long generation, CustomList sites) {
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int entryBytes;
+
+    private SharedRegion(FileChannel channel, MappedByteBuffer buffer, int capacity, int entryBytes) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.entryBytes = entryBytes;
+    }
+
+    // Legt den Bereich an (Hauptprozess): capacity Einträge pro Ring, je höchstens maxSites Stellen mit dim Argumenten.
+    // Mindestens 2 Einträge: bei einem einzigen belegt der Schreiber mit jedem Eintrag den Platz, den der Leser gerade
+    // liest, und latest käme nie zu einem gültigen Ergebnis
+    public static SharedRegion create(Path file, int capacity, int maxSites, int dim) throws IOException {
+        if (capacity < 2)
+            throw new IllegalArgumentException("Die Kapazität des Bereichs muss mindestens 2 sein!");
+        if (maxSites <= 0 || dim <= 0)
+            throw new IllegalArgumentException("Anzahl Stellen und Dimension des Bereichs müssen größer 0 sein!");
+        int entryBytes = align(ENTRY_HEADER + maxSites * (dim + 1) * Double.BYTES);
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size(capacity, entryBytes));
+            buffer.order(ByteOrder.nativeOrder());
+            buffer.putInt(8, capacity).putInt(12, entryBytes).putInt(4, VERSION);
+            buffer.putInt(0, MAGIC); // zuletzt: erst jetzt ist der Kopf gültig
+            return new SharedRegion(channel, buffer, capacity, entryBytes);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    // Öffnet einen vom Hauptprozess angelegten Bereich (Worker)
+    public static SharedRegion open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+            header.order(ByteOrder.nativeOrder());
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+                throw new IOException(file + " ist kein gemeinsamer Bereich (Version " + VERSION + ")!");
+            int capacity = header.getInt(8), entryBytes = header.getInt(12);
+            if (capacity < 2 || entryBytes < ENTRY_HEADER)
+                throw new IOException(file + " hat einen ungültigen Kopf (Kapazität " + capacity + ")!");
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size(capacity, entryBytes));
+            buffer.order(ByteOrder.nativeOrder());
+            return new SharedRegion(channel, buffer, capacity, entryBytes);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    // Größte Anzahl an Stellen pro Eintrag bei dim Argumenten
+    public int maxSites(int dim) {
+        return (entryBytes - ENTRY_HEADER) / ((dim + 1) * Double.BYTES);
+    }
+
+    // Veröffentlicht die (höchstens maxSites) ersten Stellen als neuen Eintrag im Ring (nur ein Schreiber pro Ring)
+    public void publish(int ring, long generation, List<Stelle> sites) {
+        long sequence = (long) LONGS.getAcquire(buffer, sequenceOffset(ring));
+        int position = entryOffset(ring, sequence);
+        int dim = sites.isEmpty() ? 0 : sites.get(0).args().length;
+        int count = dim == 0 ? 0 : Math.min(sites.size(), maxSites(dim));
+
+        buffer.putLong(position, generation).putInt(position + 8, count).putInt(position + 12, dim);
+        int index = position + ENTRY_HEADER;
+        for (int i = 0; i < count; i++) {
+            Stelle stelle = sites.get(i);
+            for (double x : stelle.args()) {
+                buffer.putDouble(index, x);
+                index += Double.BYTES;
+            }
+            buffer.putDouble(index, stelle.wert());
+            index += Double.BYTES;
+        }
+        LONGS.setRelease(buffer, sequenceOffset(ring), sequence + 1); // Eintrag sichtbar machen
+    }
+
+    // Anzahl der bisher im Ring veröffentlichten Einträge
+    public long sequence(int ring) {
+        return (long) LONGS.getAcquire(buffer, sequenceOffset(ring));
+    }
+
+    // Neuester Eintrag des Rings, null solange noch keiner veröffentlicht wurde
+    public Entry latest(int ring) {
+        while (true) {
+            long sequence = sequence(ring);
+            if (sequence == 0)
+                return null;
+            int position = entryOffset(ring, sequence - 1);
+            long generation = buffer.getLong(position);
+            int count = buffer.getInt(position + 8);
+            int dim = buffer.getInt(position + 12);
+            if (!fits(count, dim)) {
+                // Kopf halb überschrieben: neu lesen; ohne Schreibzugriff dazwischen ist der Bereich beschädigt
+                if (sequence(ring) == sequence)
+                    throw new IllegalStateException("Ungültiger Eintrag im gemeinsamen Bereich!");
+                continue;
+            }
+
+            CustomList sites = new CustomList();
+            int index = position + ENTRY_HEADER;
+            for (int i = 0; i < count; i++) {
+                double[] args = new double[dim];
+                for (int d = 0; d < dim; d++) {
+                    args[d] = buffer.getDouble(index);
+                    index += Double.BYTES;
+                }
+                sites.add(new Stelle(args, buffer.getDouble(index)));
+                index += Double.BYTES;
+            }
+
+            // Platz inzwischen neu beschrieben? (der Schreiber beginnt Eintrag sequence - 1 + capacity erst,
+            // wenn die Sequenznummer diesen Wert erreicht hat)
+            VarHandle.acquireFence();
+            if (sequence(ring) < sequence - 1 + capacity)
+                return new Entry(sequence, generation, sites);
+        }
+    }
+
+    // Passen count Stellen mit dim Argumenten in einen Eintrag? (schützt latest vor überschriebenen Köpfen)
+    private boolean fits(int count, int dim) {
+        if (count == 0)
+            return dim >= 0;
+        return count > 0 && dim > 0 && dim < (entryBytes - ENTRY_HEADER) / Double.BYTES && count <= maxSites(dim);
+    }
+
+    // Wartet, bis der Ring mehr als after Einträge hat, und gibt die neue Sequenznummer zurück.
+    // Zuerst aktives Warten, dann yield, dann kurzes Schlafen (auch bei weniger Kernen als Prozessen)
+    public long await(int ring, long after) {
+        for (int round = 0; ; round++) {
+            long sequence = sequence(ring);
+            if (sequence > after)
+                return sequence;
+            if (round < 200)
+                Thread.onSpinWait();
+            else if (round < 2_000)
+                Thread.yield();
+            else
+                LockSupport.parkNanos(20_000);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close(); // die Abbildung selbst endet mit dem Puffer (Garbage Collection)
+    }
+
+    private int sequenceOffset(int ring) {
+        return HEADER + ring * (HEADER + capacity * entryBytes);
+    }
+
+    private int entryOffset(int ring, long entry) {
+        return sequenceOffset(ring) + HEADER + (int) (entry % capacity) * entryBytes;
+    }
+
+    private static long size(int capacity, int entryBytes) {
+        return HEADER + 2L * (HEADER + (long) capacity * entryBytes);
+    }
+
+    private static int align(int bytes) {
+        return (bytes + HEADER - 1) / HEADER * HEADER;
+    }
+}
@@ -259,6 +259,66 @@ public class Test {
         System.out.printf("Laufzeit: %.3f s%n", seconds);
         */
 
+        // TEST 6: kurze Sinus-Suche (t=5, n=200, 2 Wertebereiche), einmal mit neuen JVMs und dreimal über den
+        // Worker-Pool (2 aufgewärmte Prozesse). Bei so kurzen Suchen bestimmen JVM-Start und Aufwärmen die Laufzeit;
+        // über den Pool dauert ein Aufruf nur noch Millisekunden.
+        SerializableFunction<double[], Double> sinus = x -> Math.sin(Math.toRadians(x[0])); // Sinusfunktion im Gradmaß
+        double[][][] sinusBereiche = {
+                { { -1800.0, -200.0 } }, // ungleich große Wertebereiche
+                { { -200.0, 1800.0 } }
+        };
+        start = System.nanoTime();
+        ExecuteBA.search(sinus, sinusBereiche, Math::max,
+                10, 3, 5, 200, 30, 20, 20, 10, 0.1, 10, "TEST MAXIMALWERTE SINUS (KURZ, NEUE JVMs)",
+                "Kurze Suche, pro Aufruf und Wertebereich eine neue JVM.");
+        end = System.nanoTime();
+        System.out.printf("Laufzeit: %.3f s%n", (end - start) / 1_000_000_000.0);
+
+        start = System.nanoTime();
+        try (WorkerPool pool = new WorkerPool(2)) {
+            end = System.nanoTime();
+            System.out.printf("%nStart Worker-Pool (2 Prozesse): %.3f s%n", (end - start) / 1_000_000_000.0);
+
+            for (int lauf = 1; lauf <= 3; lauf++) {
+                start = System.nanoTime();
+                ExecuteBA.search(pool, sinus, sinusBereiche, Math::max,
+                        10, 3, 5, 200, 30, 20, 20, 10, 0.1, 10, "TEST MAXIMALWERTE SINUS (KURZ, WORKER-POOL, Lauf " + lauf + ")",
+                        "Wie oben, aber auf den bereits laufenden Prozessen des Worker-Pools.");
+                end = System.nanoTime();
+                System.out.printf("Laufzeit: %.3f ms%n", (end - start) / 1_000_000.0);
+            }
+        }
+
+        // TEST 7: Rosenbrock wie TEST 1, die Prozesse tauschen aber nach jeder Iteration ihre besten Stellen aus
+        // (Migration über gemeinsame Speicherbereiche, Ring P0 -> P1 -> P2 -> P3 -> P0).
+        // Migranten außerhalb des eigenen Wertebereichs werden verworfen, profitieren können daher die
+        // überlappenden Bereiche (P0 und P1, P3 -> P0).
+        start = System.nanoTime();
+        ExecuteBA.search(
+                x -> {
+                    double res = 0.0;
+                    for (int i = 0; i < x.length - 1; i++) {
+                        double a = 1.0 - x[i];
+                        double b = x[i + 1] - x[i] * x[i];
+                        res += a * a + 100.0 * b * b;
+                    }
+                    return res;
+                },
+                new double[][][]{
+                        { { 0.50, 1.50 }, { 0.50, 1.50 }, { 0.50, 1.50 }, { 0.50, 1.50 } }, // P0: breit um 1
+                        { { 0.80, 1.20 }, { 0.80, 1.20 }, { 0.80, 1.20 }, { 0.80, 1.20 } }, // P1: eng um 1
+                        { { -5.0, -1.0 }, { -2.0, 2.0 }, { -2.0, 2.0 }, { -2.0, 2.0 } }, // P2
+                        { {  1.0,  5.0 }, { -2.0, 2.0 }, { -2.0, 2.0 }, { -2.0, 2.0 } }  // P3
+                },
+                Math::min,
+                40, 1, 80, 4000, 160, 120, 400, 200, 0.12, 5,
+                "ROSENBROCK 4D MIT MIGRATION (4 Prozesse, k=1)",
+                "Wie TEST 1, mit Austausch der besten Stellen zwischen den Prozessen nach jeder Iteration.",
+                true
+        );
+        end = System.nanoTime();
+        System.out.printf("Laufzeit: %.3f s%n", (end - start) / 1_000_000_000.0);
+
         // DEBUG/TEST: max. 20Sek
         long testTimeEnd = System.nanoTime();
         double testTime = (testTimeEnd - testTimeStart) / 1_000_000_000.0;
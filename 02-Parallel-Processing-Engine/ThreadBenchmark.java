@@ -0,0 +1,52 @@
+import java.util.Arrays;
+
+/*
+ * Vergleicht die Koordination der k Threads in BAProcess.search:
+ *   - k neue Threads pro Iteration, Warten per join (ursprüngliche Variante)
+ *   - k persistente Threads, Phasen über einen Phaser (Standard)
+ * Die Suche läuft direkt in diesem Prozess (ohne Pipeline), mit einer billigen Funktion und kleinen Blöcken,
+ * damit der Koordinationsaufwand pro Iteration sichtbar wird. Ausgabe: Median aus WIEDERHOLUNGEN Läufen.
+ *
+ * Aufruf: java ThreadBenchmark
+ */
+public class ThreadBenchmark {
+
+    private static final int WIEDERHOLUNGEN = 7;
+    private static final int[] THREADS = {1, 2, 4, 8, 16};
+    private static final int[] ITERATIONEN = {10, 100, 1000};
+
+    public static void main(String[] args) throws InterruptedException {
+        // Kugel-Funktion in 2D; n=200, m=20, e=10, p=40, q=20, Blöcke zu je b=10 Bienen (60 Blöcke pro Iteration)
+        SerializableFunction<double[], Double> f = x -> x[0] * x[0] + x[1] * x[1];
+        double[][] w = {{-5.0, 5.0}, {-5.0, 5.0}};
+
+        // Aufwärmen (JIT) beider Varianten
+        for (int i = 0; i < 20; i++) {
+            BAParameter params = new BAParameter(f, w, Math::min, 10, 4, 100, 200, 20, 10, 40, 20, 0.1, 1);
+            BAProcess.search(params, false);
+            BAProcess.search(params, true);
+        }
+
+        System.out.printf("%4s %6s %22s %22s %8s%n", "k", "t", "Thread pro Iteration", "Phaser (persistent)", "Faktor");
+        for (int t : ITERATIONEN) {
+            for (int k : THREADS) {
+                BAParameter params = new BAParameter(f, w, Math::min, 10, k, t, 200, 20, 10, 40, 20, 0.1, 1);
+                double neu = median(params, false);
+                double persistent = median(params, true);
+                System.out.printf("%4d %6d %19.2f ms %19.2f ms %7.1fx%n", k, t, neu, persistent, neu / persistent);
+            }
+        }
+    }
+
+    // Median der Laufzeit in ms
+    private static double median(BAParameter params, boolean persistentThreads) throws InterruptedException {
+        double[] ms = new double[WIEDERHOLUNGEN];
+        for (int i = 0; i < WIEDERHOLUNGEN; i++) {
+            long start = System.nanoTime();
+            BAProcess.search(params, persistentThreads);
+            ms[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(ms);
+        return ms[WIEDERHOLUNGEN / 2];
+    }
+}
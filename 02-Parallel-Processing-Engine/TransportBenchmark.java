@@ -0,0 +1,131 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+// Vergleicht den Austausch von Stellen zwischen Hauptprozess und Worker-Prozess über die Pipeline (BinaryChannel,
+// RESULT-Rahmen über stdin/stdout) und über einen gemeinsamen Speicherbereich (SharedRegion).
+// Gemessen wird ein Hin und Zurück pro "Generation": der Hauptprozess sendet r Stellen, der Kind-Prozess
+// (java TransportBenchmark echo ...) schickt sie unverändert zurück. Senden = Aufwand des Senders allein
+// (write + flush bzw. publish), Hin und Zurück = bis die Antwort gelesen ist.
+// Aufruf: java TransportBenchmark (aus dem Verzeichnis mit den übersetzten Klassen)
+public class TransportBenchmark {
+
+    private static final int WARMUP = 5_000;
+    private static final int ROUNDS = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("echo")) {
+            echo(args);
+            return;
+        }
+
+        System.out.println("Austausch von r Stellen pro Generation, Mittel über " + ROUNDS + " Hin und Zurück");
+        System.out.printf("%-4s %-4s %-8s %14s %18s%n", "dim", "r", "Weg", "Senden [µs]", "Hin+Zurück [µs]");
+        for (int[] fall : new int[][]{{1, 10}, {4, 10}, {10, 50}}) {
+            CustomList sites = sites(fall[0], fall[1]);
+            print(fall, "Pipeline", pipe(sites));
+            print(fall, "Speicher", shared(sites, fall[0]));
+        }
+    }
+
+    private static void print(int[] fall, String weg, double[] zeiten) {
+        System.out.printf("%-4d %-4d %-8s %14.2f %18.2f%n", fall[0], fall[1], weg, zeiten[0], zeiten[1]);
+    }
+
+    // --- PIPELINE ---
+
+    private static double[] pipe(CustomList sites) throws IOException, InterruptedException {
+        Process proc = start("pipe");
+        BinaryChannel channel = new BinaryChannel(proc.getInputStream(), proc.getOutputStream());
+        long senden = 0, gesamt = 0;
+        for (int i = -WARMUP; i < ROUNDS; i++) {
+            long t0 = System.nanoTime();
+            channel.writeResult(sites);
+            long t1 = System.nanoTime();
+            channel.awaitResult();
+            long t2 = System.nanoTime();
+            if (i >= 0) {
+                senden += t1 - t0;
+                gesamt += t2 - t0;
+            }
+        }
+        channel.writeShutdown();
+        proc.waitFor();
+        return new double[]{senden / 1e3 / ROUNDS, gesamt / 1e3 / ROUNDS};
+    }
+
+    // --- GEMEINSAMER SPEICHER ---
+
+    private static double[] shared(CustomList sites, int dim) throws IOException, InterruptedException {
+        Path datei = Files.createTempFile("ba-benchmark", ".shm");
+        try (SharedRegion region = SharedRegion.create(datei, 8, sites.size(), dim)) {
+            Process proc = start("shared", datei.toString());
+            long senden = 0, gesamt = 0, gelesen = 0;
+            for (int i = -WARMUP; i < ROUNDS; i++) {
+                long t0 = System.nanoTime();
+                region.publish(SharedRegion.TO_WORKER, i + WARMUP, sites);
+                long t1 = System.nanoTime();
+                gelesen = region.await(SharedRegion.TO_MAIN, gelesen);
+                region.latest(SharedRegion.TO_MAIN);
+                long t2 = System.nanoTime();
+                if (i >= 0) {
+                    senden += t1 - t0;
+                    gesamt += t2 - t0;
+                }
+            }
+            region.publish(SharedRegion.TO_WORKER, -1, sites); // Generation -1: Ende
+            proc.waitFor();
+            return new double[]{senden / 1e3 / ROUNDS, gesamt / 1e3 / ROUNDS};
+        } finally {
+            Files.deleteIfExists(datei);
+        }
+    }
+
+    // --- KIND-PROZESS ---
+
+    private static Process start(String... weg) throws IOException {
+        String[] befehl = new String[3 + weg.length];
+        befehl[0] = "java";
+        befehl[1] = "TransportBenchmark";
+        befehl[2] = "echo";
+        System.arraycopy(weg, 0, befehl, 3, weg.length);
+        ProcessBuilder pb = new ProcessBuilder(befehl);
+        pb.redirectError(new File("benchmark.err"));
+        return pb.start();
+    }
+
+    // Schickt jede empfangene Liste unverändert zurück, bis SHUTDOWN bzw. Generation -1 kommt
+    private static void echo(String[] args) throws IOException {
+        if (args[1].equals("pipe")) {
+            BinaryChannel channel = new BinaryChannel(System.in, System.out);
+            while (channel.read() == BinaryChannel.Type.RESULT)
+                channel.writeResult(channel.readResult());
+            return;
+        }
+        try (SharedRegion region = SharedRegion.open(Path.of(args[2]))) {
+            long gelesen = 0;
+            while (true) {
+                gelesen = region.await(SharedRegion.TO_WORKER, gelesen);
+                SharedRegion.Entry eintrag = region.latest(SharedRegion.TO_WORKER);
+                if (eintrag.generation() < 0)
+                    return;
+                region.publish(SharedRegion.TO_MAIN, eintrag.generation(), eintrag.sites());
+            }
+        }
+    }
+
+    // r zufällige Stellen mit dim Argumenten
+    private static CustomList sites(int dim, int r) {
+        SplittableRandom rnd = new SplittableRandom(1);
+        CustomList sites = new CustomList();
+        for (int i = 0; i < r; i++) {
+            double[] args = new double[dim];
+            for (int d = 0; d < dim; d++)
+                args[d] = rnd.nextDouble(-5.0, 5.0);
+            sites.add(new Stelle(args, rnd.nextDouble()));
+        }
+        return sites;
+    }
+}
@@ -0,0 +1,276 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Pool langlebiger, aufgewärmter Worker-Prozesse (java BAProcess <i> pool), Protokoll siehe BinaryChannel.
+// ExecuteBA.search ohne Pool startet pro Aufruf und Wertebereich eine neue JVM; Start, Laden der Klassen und
+// JIT-Aufwärmen kosten dabei meist mehr als die Suche selbst. Die Worker des Pools bleiben dagegen bestehen und
+// bearbeiten beliebig viele Aufträge über dieselbe Pipeline (ein Auftrag pro Worker gleichzeitig).
+//
+// Gesundheitsprüfung: vor jedem Auftrag wird geprüft, ob der Prozess noch lebt; healthCheck() schickt zusätzlich
+// allen freien Workern ein PING und ersetzt jene, die nicht rechtzeitig antworten. Bricht ein Worker während eines
+// Auftrags ab, wird er ersetzt und der Auftrag einmal auf dem neuen Worker wiederholt (Suchen sind wiederholbar).
+// Beschäftigte Worker überwacht die Zeitbegrenzung pro Auftrag: wer nicht rechtzeitig antwortet, wird beendet und
+// ersetzt, der Auftrag endet mit einer TimeoutException (ohne Wiederholung, er bliebe vermutlich wieder hängen).
+// Lassen sich f oder c nicht serialisieren, scheitert der Auftrag lokal (SerializationException); der Worker bleibt.
+public class WorkerPool implements AutoCloseable {
+
+    private static final long PING_TIMEOUT_MS = 5_000; // Wartezeit auf die Antwort eines PING
+    private static final long SHUTDOWN_TIMEOUT_MS = 2_000; // Wartezeit auf das Ende eines Workers beim Schließen
+    private static final long JOB_TIMEOUT_MS = 600_000; // Standard-Zeitbegrenzung eines Auftrags
+
+    // Ein Worker-Prozess mit seinen (offen bleibenden) Streams
+    private static final class Worker {
+        final int index;
+        final Process proc;
+        final BinaryChannel channel;
+
+        Worker(int index) throws IOException {
+            this.index = index;
+            ProcessBuilder pb = new ProcessBuilder(
+                    "java", // neue JVM starten
+                    "BAProcess", // Klasse BAProcess laden
+                    Integer.toString(index), // Prozess-Index
+                    "pool" // Pool-Modus: viele Aufträge über dieselbe Pipeline
+            );
+            // Fehlermeldungen in eigener Datei ablegen (für Debugging), ersetzte Worker hängen an
+            pb.redirectError(ProcessBuilder.Redirect.appendTo(new File("worker-" + index + ".err")));
+            this.proc = pb.start();
+            this.channel = new BinaryChannel(proc.getInputStream(), proc.getOutputStream());
+            try {
+                channel.writePing();
+                if (channel.read() != BinaryChannel.Type.PING) // beantwortet erst nach dem Aufwärmen
+                    throw new IOException("Worker " + index + " antwortet nicht auf PING.");
+            } catch (IOException ex) {
+                proc.destroyForcibly();
+                throw ex;
+            }
+        }
+
+        // Sendet einen Suchauftrag und wartet auf das Ergebnis
+        CustomList search(BAParameter params) throws IOException {
+            channel.writeSearch(params);
+            return channel.awaitResult();
+        }
+
+        // Antwortet der Worker innerhalb von timeoutMs auf ein PING?
+        boolean ping(long timeoutMs) {
+            if (!proc.isAlive())
+                return false;
+            FutureTask<BinaryChannel.Type> antwort = new FutureTask<>(() -> {
+                channel.writePing();
+                return channel.read();
+            });
+            Thread thr = new Thread(antwort, "ping-worker-" + index);
+            thr.setDaemon(true);
+            thr.start();
+            try {
+                return antwort.get(timeoutMs, TimeUnit.MILLISECONDS) == BinaryChannel.Type.PING;
+            } catch (TimeoutException | ExecutionException ex) {
+                return false;
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        void destroy() {
+            proc.destroyForcibly();
+        }
+    }
+
+    private final int size;
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>(); // freie Worker
+    private final ExecutorService dispatcher; // ein Thread pro Worker, wartet auf dessen Antwort
+    private final ScheduledExecutorService watchdog; // beendet Worker, die die Zeitbegrenzung überschreiten
+    private final long jobTimeoutMs;
+    private volatile boolean closed;
+
+    // Startet size Worker-Prozesse (parallel) und wartet, bis alle bereit sind (Zeitbegrenzung 10 Minuten pro Auftrag)
+    public WorkerPool(int size) throws IOException {
+        this(size, JOB_TIMEOUT_MS);
+    }
+
+    // Wie oben, ein Auftrag darf aber höchstens jobTimeoutMs Millisekunden dauern
+    public WorkerPool(int size, long jobTimeoutMs) throws IOException {
+        if (size <= 0)
+            throw new IllegalArgumentException("Die Größe des Worker-Pools muss größer 0 sein!");
+        if (jobTimeoutMs <= 0)
+            throw new IllegalArgumentException("Die Zeitbegrenzung eines Auftrags muss größer 0 sein!");
+        this.size = size;
+        this.jobTimeoutMs = jobTimeoutMs;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thr = new Thread(r, "worker-pool-watchdog");
+            thr.setDaemon(true);
+            return thr;
+        });
+        this.dispatcher = Executors.newFixedThreadPool(size, r -> {
+            Thread thr = new Thread(r, "worker-pool-dispatcher");
+            thr.setDaemon(true);
+            return thr;
+        });
+
+        List<Future<Worker>> starts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int index = i;
+            starts.add(dispatcher.submit(() -> new Worker(index)));
+        }
+        // Alle Starts abwarten, auch nach einem Fehler: erfolgreich gestartete Worker beendet dann close()
+        IOException fehler = null;
+        boolean unterbrochen = false;
+        for (Future<Worker> start : starts) {
+            while (true) {
+                try {
+                    idle.add(start.get());
+                    break;
+                } catch (ExecutionException ex) {
+                    if (fehler == null)
+                        fehler = new IOException("Worker-Pool konnte nicht gestartet werden.", ex.getCause());
+                    break;
+                } catch (InterruptedException ie) {
+                    unterbrochen = true; // weiter warten, sonst blieben gestartete Prozesse übrig
+                }
+            }
+        }
+        if (unterbrochen) {
+            Thread.currentThread().interrupt();
+            if (fehler == null)
+                fehler = new IOException("Start des Worker-Pools unterbrochen.");
+        }
+        if (fehler != null) {
+            close();
+            throw fehler;
+        }
+    }
+
+    // Anzahl der Worker-Prozesse
+    public int size() {
+        return size;
+    }
+
+    // Übergibt einen Suchauftrag an den nächsten freien Worker; das Ergebnis sind die r besten Stellen
+    public Future<CustomList> submit(BAParameter params) {
+        if (closed)
+            throw new IllegalStateException("Der Worker-Pool ist bereits geschlossen!");
+        return dispatcher.submit(() -> run(params));
+    }
+
+    // Schickt allen gerade freien Workern ein PING und ersetzt jene, die nicht (rechtzeitig) antworten.
+    // Gibt die Anzahl der ersetzten Worker zurück. (Beschäftigte Worker überwacht die Zeitbegrenzung der Aufträge.)
+    public int healthCheck() throws IOException {
+        List<Worker> checked = new ArrayList<>(size);
+        idle.drainTo(checked);
+        int replaced = 0;
+        try {
+            for (int i = 0; i < checked.size(); i++) {
+                if (!checked.get(i).ping(PING_TIMEOUT_MS)) {
+                    checked.set(i, replace(checked.get(i)));
+                    replaced++;
+                }
+            }
+        } finally {
+            idle.addAll(checked);
+        }
+        return replaced;
+    }
+
+    // Beendet alle Worker (SHUTDOWN, nach kurzer Wartezeit gewaltsam)
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.shutdown();
+        try {
+            dispatcher.awaitTermination(1, TimeUnit.DAYS); // laufende Aufträge fertig rechnen lassen (zeitbegrenzt)
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        watchdog.shutdownNow();
+        List<Worker> workers = new ArrayList<>(size);
+        idle.drainTo(workers);
+        for (Worker worker : workers) {
+            try {
+                worker.channel.writeShutdown();
+                if (!worker.proc.waitFor(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+                    worker.destroy();
+            } catch (IOException ex) {
+                worker.destroy();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                worker.destroy();
+            }
+        }
+    }
+
+    // Bearbeitet einen Auftrag auf einem freien Worker (läuft im dispatcher)
+    private CustomList run(BAParameter params) throws Exception {
+        Worker worker = idle.take();
+        try {
+            // schlägt das Ersetzen fehl, kommt der alte Eintrag zurück in idle und wird beim nächsten Mal ersetzt
+            if (!worker.proc.isAlive())
+                worker = replace(worker);
+            try {
+                return search(worker, params);
+            } catch (BinaryChannel.RemoteException | BinaryChannel.SerializationException ex) {
+                throw ex; // Auftrag fehlgeschlagen, Worker und Verbindung sind in Ordnung
+            } catch (IOException ex) {
+                // Worker abgestürzt (Verbindung unbrauchbar): ersetzen und Auftrag einmal wiederholen
+                worker = replace(worker);
+                return search(worker, params);
+            }
+        } catch (BinaryChannel.RemoteException ex) {
+            throw new IOException("Auftrag in Worker " + worker.index + " fehlgeschlagen: " + ex.getMessage(), ex);
+        } catch (BinaryChannel.SerializationException ex) {
+            throw ex; // schon beim Senden gescheitert, der Worker hat nichts davon erhalten
+        } catch (IOException | TimeoutException ex) {
+            try {
+                worker = replace(worker);
+            } catch (IOException ersatz) {
+                ex.addSuppressed(ersatz); // alter Eintrag bleibt, siehe oben
+            }
+            throw ex;
+        } finally {
+            idle.put(worker);
+        }
+    }
+
+    // Sendet den Auftrag und wartet höchstens jobTimeoutMs auf das Ergebnis. Danach beendet der watchdog den Prozess,
+    // das blockierte Lesen endet dadurch mit EOF und wird als TimeoutException gemeldet
+    private CustomList search(Worker worker, BAParameter params) throws IOException, TimeoutException {
+        AtomicBoolean abgelaufen = new AtomicBoolean();
+        ScheduledFuture<?> wache = watchdog.schedule(() -> {
+            abgelaufen.set(true);
+            worker.destroy();
+        }, jobTimeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            return worker.search(params);
+        } catch (IOException ex) {
+            if (!abgelaufen.get())
+                throw ex;
+            TimeoutException timeout = new TimeoutException(
+                    "Worker " + worker.index + " hat den Auftrag nicht innerhalb von " + jobTimeoutMs + " ms beendet.");
+            timeout.initCause(ex);
+            throw timeout;
+        } finally {
+            wache.cancel(false);
+        }
+    }
+
+    // Beendet einen Worker und startet an seiner Stelle einen neuen
+    private Worker replace(Worker worker) throws IOException {
+        worker.destroy();
+        return new Worker(worker.index);
+    }
+}